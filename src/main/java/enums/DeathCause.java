@@ -0,0 +1,5 @@
+package enums;
+
+public enum DeathCause {
+    PREDATION, HUNGER, OLD_AGE
+}
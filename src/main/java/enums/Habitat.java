@@ -1,5 +1,12 @@
 package enums;
 
 public enum Habitat {
-    LAND, WATER, AIR
+    LAND, WATER, AIR;
+
+    public boolean canHunt(Habitat preyHabitat) {
+        return switch (this) {
+            case LAND, WATER -> preyHabitat == this;
+            case AIR -> preyHabitat == AIR || preyHabitat == LAND;
+        };
+    }
 }
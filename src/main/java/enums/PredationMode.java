@@ -0,0 +1,5 @@
+package enums;
+
+public enum PredationMode {
+    EXACT, TAU_LEAPING
+}
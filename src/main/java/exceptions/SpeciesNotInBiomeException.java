@@ -0,0 +1,7 @@
+package exceptions;
+
+public class SpeciesNotInBiomeException extends RuntimeException {
+    public SpeciesNotInBiomeException(String message) {
+        super(message);
+    }
+}
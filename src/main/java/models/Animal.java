@@ -13,23 +13,29 @@ import java.util.Set;
  * biological states (age, life status), physical attributes, habitats,
  * social grouping, and reproductive capabilities. Concrete subclasses must
  * implement species-specific breeding logic.
- *
+ * <p>
+ * With an age clock set, the animal stores the tick it was born at instead of its age,
+ * and the age is derived from the clock, so animals need not be updated to grow older.
  */
 public abstract class Animal {
-    private static long nextId = 0;
+    public static final long UNASSIGNED_ID = -1;
     private final int maxAge;
-    private final int weight;
+    private int weight;
     private final int reproductiveRate;
     private final Habitat mainHabitat;
     private final AnimalType animalType;
     private final LivingType livingType;
     private final Set<Biome> biomes;
     private final String animalKind;
-    private final String groupName;
-    private final long id;
+    private String groupName;
+    private long id = UNASSIGNED_ID;
     private int currentAge;
+    private SimulationClock ageClock;
+    private int birthTick;
     private boolean isAlive;
     private final boolean isInGroup;
+    private PopulationStorage storage;
+    private int storageIndex;
 
     protected Animal(Set<Biome> biomes,
                   int currentAge,
@@ -44,8 +50,7 @@ public abstract class Animal {
                   boolean isInGroup,
                   String groupName) {
 
-        this.id = nextId++;
-        this.biomes = biomes;
+        this.biomes = Set.copyOf(biomes);
         this.currentAge = currentAge;
         this.isAlive = isAlive;
         this.maxAge = maxAge;
@@ -67,14 +72,140 @@ public abstract class Animal {
      */
     public abstract Animal breed(Animal animal);
 
+    /**
+     * Brings a dead animal back as a newborn offspring of the given parent, so its object
+     * can be reused instead of allocating a new one. The animal loses its id until it is
+     * added to the ecosystem again, hence references to it by its old id no longer find it,
+     * and gets the weight of the parent, like a newborn bred by the parent.
+     *
+     * @param parent the parent of the same kind
+     * @see AnimalPool
+     */
+    protected void reincarnate(Animal parent) {
+        detachFromStorage();
+        this.id = UNASSIGNED_ID;
+        setCurrentAge(0);
+        this.isAlive = true;
+        this.weight = parent.getWeight();
+        this.groupName = parent.getGroupName();
+    }
+
+    /**
+     * Prepares the animal to leave its ecosystem for another one: its age stops following the
+     * clock and the population storage of the ecosystem, and it loses its id until the
+     * destination assigns a new one, so the entries the ecosystem still holds for it under
+     * its old id are dropped instead of aging, breeding or starving it.
+     *
+     * @see Ecosystem#emigrate(Animal, Ecosystem)
+     */
+    protected void detachFromEcosystem() {
+        setAgeClock(null);
+        detachFromStorage();
+        this.id = UNASSIGNED_ID;
+    }
+
+    /**
+     * Lets the age and the alive status be read from and written to a slot of a population storage
+     * instead of the fields of this animal. The slot must already hold the current values.
+     *
+     * @param storage      the storage of the ecosystem
+     * @param storageIndex the index of the slot of this animal
+     * @see Ecosystem#setPopulationStorage(java.util.function.Supplier)
+     */
+    void attachToStorage(PopulationStorage storage, int storageIndex) {
+        this.storage = storage;
+        this.storageIndex = storageIndex;
+    }
+
+    /**
+     * Copies the values of the storage slot back into the fields of this animal and marks the slot
+     * as dead, so ticks of the storage no longer age the animal.
+     */
+    protected void detachFromStorage() {
+        if (storage == null) return;
+        int age = getCurrentAge();
+        boolean alive = isAlive();
+        storage.setAlive(storageIndex, false);
+        storage = null;
+        this.currentAge = age;
+        this.isAlive = alive;
+    }
+
+    protected PopulationStorage getStorage() {
+        return storage;
+    }
+
+    protected int getStorageIndex() {
+        return storageIndex;
+    }
+
+    /**
+     * Gives the animal the id it has in the ecosystem it joins.
+     *
+     * @param id the id assigned by the ecosystem
+     * @see Ecosystem#addAnimalToEcosystem(Animal)
+     */
+    void assignId(long id) {
+        this.id = id;
+    }
+
     /**
      * Increases the animal's age by one unit
      */
     public void growUp(int currentAge) {
         System.out.println("Growing up " + getAnimalKind() + " animal!");
-        this.currentAge = ++currentAge;
+        setCurrentAge(++currentAge);
     }
 
+    /**
+     * Derives the age from the ticks of the given clock instead of from {@link #growUp(int)} calls.
+     * The current age is kept.
+     *
+     * @param ageClock the clock, or {@code null} to stop deriving the age from a clock
+     */
+    public void setAgeClock(SimulationClock ageClock) {
+        int age = getCurrentAge();
+        this.ageClock = ageClock;
+        setCurrentAge(age);
+    }
+
+    public SimulationClock getAgeClock() {
+        return ageClock;
+    }
+
+    /**
+     * Predicts the tick of the age clock in which this animal reaches its max age and dies of old age.
+     *
+     * @return the tick of the death, at least the next tick
+     * @throws IllegalStateException if no age clock is set
+     */
+    public int getOldAgeTick() {
+        if (ageClock == null) {
+            throw new IllegalStateException("Animal " + id + " has no age clock");
+        }
+        return Math.max(ageClock.getTicks() + 1, birthTick + maxAge);
+    }
+
+    /**
+     * Checks if this animal has died of old age. Sets alive status to false
+     * if the current age reaches the max age.
+     *
+     * @return true if animal died of old age, false otherwise
+     */
+    public boolean hasDiedFromOldAge() {
+        if (isAlive() && getCurrentAge() >= maxAge) {
+            System.out.println(getAnimalKind() + " died of old age!");
+            setAlive(false);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the id of the animal in its ecosystem.
+     *
+     * @return the id, or {@link #UNASSIGNED_ID} if the animal is in no ecosystem
+     */
     public long getId() {
         return id;
     }
@@ -107,11 +238,34 @@ public abstract class Animal {
         return Set.copyOf(biomes);
     }
 
+    /**
+     * Returns the current age, read from the population storage or derived from the age clock if one is set.
+     *
+     * @return the current age
+     */
     public int getCurrentAge() {
-        return currentAge;
+        if (storage != null) return storage.getAge(storageIndex);
+        if (ageClock == null) return currentAge;
+        return ageClock.getTicks() - birthTick;
+    }
+
+    /**
+     * Sets the current age, in the population storage or as the birth tick if an age clock is set.
+     *
+     * @param age the current age
+     */
+    private void setCurrentAge(int age) {
+        if (storage != null) {
+            storage.setAge(storageIndex, age);
+        } else if (ageClock == null) {
+            this.currentAge = age;
+        } else {
+            this.birthTick = ageClock.getTicks() - age;
+        }
     }
 
     public boolean isAlive() {
+        if (storage != null) return storage.isAlive(storageIndex);
         return isAlive;
     }
 
@@ -128,6 +282,10 @@ public abstract class Animal {
     }
 
     public void setAlive(boolean alive) {
-        isAlive = alive;
+        if (storage != null) {
+            storage.setAlive(storageIndex, alive);
+        } else {
+            isAlive = alive;
+        }
     }
 }
@@ -0,0 +1,72 @@
+package models;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps dead animals which were removed from their ecosystem, so newborns of the same kind
+ * can reuse their objects instead of allocating new ones. In a steady-state simulation, where
+ * births and deaths balance out, this keeps the allocation per iteration close to zero.
+ * <p>
+ * Only animals which are dead and no longer part of any group may be released to the pool.
+ * A reused animal gets a fresh id, so stale references by the old id never resurrect it.
+ *
+ * @see Ecosystem#setAnimalPool(AnimalPool)
+ */
+public class AnimalPool {
+    private final int maxPooledPerKind;
+    private final Map<String, ArrayDeque<Animal>> pooledAnimals = new HashMap<>();
+
+    /**
+     * @param maxPooledPerKind the maximum number of dead animals kept per animal kind
+     * @throws IllegalArgumentException if the maximum is negative
+     */
+    public AnimalPool(int maxPooledPerKind) {
+        if (maxPooledPerKind < 0) {
+            throw new IllegalArgumentException("Maximum number of pooled animals must not be negative");
+        }
+        this.maxPooledPerKind = maxPooledPerKind;
+    }
+
+    /**
+     * Keeps a dead animal for reuse, unless the pool of its kind is full.
+     *
+     * @param deadAnimal the dead animal, which must have been removed from its group
+     * @throws IllegalArgumentException if the animal is still alive
+     */
+    public void release(Animal deadAnimal) {
+        if (deadAnimal.isAlive()) {
+            throw new IllegalArgumentException("Alive animal " + deadAnimal.getId() + " cannot be pooled");
+        }
+        ArrayDeque<Animal> animals = pooledAnimals.computeIfAbsent(deadAnimal.getAnimalKind(), kind -> new ArrayDeque<>());
+        if (animals.size() < maxPooledPerKind) {
+            animals.push(deadAnimal);
+        }
+    }
+
+    /**
+     * Takes a dead animal of the parent's kind and brings it back as the parent's newborn.
+     *
+     * @param parent the breeding parent
+     * @return the reused newborn, or {@code null} if no animal of the kind is pooled
+     */
+    public Animal acquire(Animal parent) {
+        ArrayDeque<Animal> animals = pooledAnimals.get(parent.getAnimalKind());
+        if (animals == null || animals.isEmpty()) return null;
+        Animal newborn = animals.pop();
+        newborn.reincarnate(parent);
+        return newborn;
+    }
+
+    /**
+     * Counts the pooled animals of the given kind.
+     *
+     * @param animalKind the animal kind
+     * @return the number of pooled animals
+     */
+    public int size(String animalKind) {
+        ArrayDeque<Animal> animals = pooledAnimals.get(animalKind);
+        return animals == null ? 0 : animals.size();
+    }
+}
@@ -0,0 +1,27 @@
+package models;
+
+/**
+ * An immutable view of a single animal, taken at the end of a simulation iteration.
+ *
+ * @param id            the id of the animal
+ * @param animalKind    the kind of the animal
+ * @param groupName     the group of the animal
+ * @param currentAge    the age of the animal
+ * @param weight        the weight of the animal
+ * @param currentHunger the hunger of a carnivore, always 0 for herbivores
+ * @see EcosystemSnapshot
+ */
+public record AnimalSnapshot(long id, String animalKind, String groupName, int currentAge, int weight, double currentHunger) {
+
+    /**
+     * Takes a snapshot of the given animal.
+     *
+     * @param animal the animal
+     * @return the snapshot
+     */
+    public static AnimalSnapshot of(Animal animal) {
+        double currentHunger = animal instanceof Carnivore carnivore ? carnivore.getCurrentHunger() : 0;
+        return new AnimalSnapshot(animal.getId(), animal.getAnimalKind(), animal.getGroupName(),
+                animal.getCurrentAge(), animal.getWeight(), currentHunger);
+    }
+}
@@ -0,0 +1,147 @@
+package models;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches the success chance of an attack for every predator/victim species pair.
+ * <p>
+ * The chance only depends on small discrete values: the scaled attack/escape points
+ * (derived from the current and max age), whether each side lives in a group and the
+ * weights of both animals. A table with every combination of those values is built once
+ * per species pair, so an attack only needs a table lookup and a single random draw.
+ * Scaled points outside the cached range (animals far beyond their max age) are
+ * calculated directly with the same formula.
+ *
+ * @see Ecosystem
+ */
+public class AttackOddsTable {
+    private static final int CACHED_POINTS = 2;
+    private final Map<SpeciesPair, int[]> chancesBySpeciesPair = new HashMap<>();
+
+    /**
+     * Returns the chance (in percent) that the predator succeeds attacking the victim.
+     *
+     * @param predator the carnivore attacker
+     * @param victim   the herbivore victim
+     * @return the success chance of the attack
+     */
+    public int getSucceedAttackChance(Carnivore predator, Herbivore victim) {
+        int attackPoints = calculateScaledPoints(predator.getCurrentAge(), predator.getMaxAge());
+        int escapePoints = calculateScaledPoints(victim.getCurrentAge(), victim.getMaxAge());
+        if (!isCachedPoints(attackPoints) || !isCachedPoints(escapePoints)) {
+            return calculateSucceedAttackChance(attackPoints, escapePoints, predator.isInGroup(), victim.isInGroup(),
+                    predator.getWeight(), victim.getWeight());
+        }
+        SpeciesPair pair = new SpeciesPair(predator.getAnimalKind(), predator.getWeight(), victim.getAnimalKind(), victim.getWeight());
+        int[] chances = chancesBySpeciesPair.computeIfAbsent(pair, this::buildChances);
+        return chances[toIndex(attackPoints, escapePoints, predator.isInGroup(), victim.isInGroup())];
+    }
+
+    /**
+     * Calculates the success chance of an attack using the attack chances formula.
+     *
+     * @param attackPoints    the scaled attack points of the predator
+     * @param escapePoints    the scaled escape points of the victim
+     * @param predatorInGroup whether the predator hunts in a group
+     * @param victimInGroup   whether the victim lives in a group
+     * @param predatorWeight  the weight of the predator
+     * @param victimWeight    the weight of the victim
+     * @return the success chance of the attack
+     */
+    public static int calculateSucceedAttackChance(int attackPoints,
+                                                   int escapePoints,
+                                                   boolean predatorInGroup,
+                                                   boolean victimInGroup,
+                                                   int predatorWeight,
+                                                   int victimWeight) {
+        if (!predatorInGroup) {
+            attackPoints -= attackPoints / 2;
+        }
+        if (victimInGroup) {
+            escapePoints += calculateHerbivoreGroupBonus(escapePoints);
+        }
+        int succeedAttackChance = (int) (((double) attackPoints / (attackPoints + escapePoints)) * 100);
+
+        if (predatorWeight <= victimWeight) {
+            succeedAttackChance = calculateReducedSucceedAttackChance(succeedAttackChance, predatorWeight, victimWeight);
+        }
+        return succeedAttackChance;
+    }
+
+    /**
+     * Calculates scaled escape/attack points for an animal, which depends on the
+     * animal's current age and max age. Equivalent to {@code round(1 - currentAge / maxAge)}
+     * but uses integer arithmetic only.
+     *
+     * @param currentAge the current age of the animal
+     * @param maxAge     the max age of the animal
+     * @return returns the calculated points
+     */
+    public static int calculateScaledPoints(int currentAge, int maxAge) {
+        if (2L * currentAge <= maxAge) return 1;
+        if (2L * currentAge <= 3L * maxAge) return 0;
+        double scaledPoints = 1 - ((double) currentAge / maxAge);
+        return (int) Math.round(scaledPoints);
+    }
+
+    /**
+     * Builds the table of chances for every cached points and group flags combination.
+     *
+     * @param pair the species pair to build the table for
+     * @return the built table
+     */
+    private int[] buildChances(SpeciesPair pair) {
+        int[] chances = new int[CACHED_POINTS * CACHED_POINTS * 4];
+        for (int attackPoints = 0; attackPoints < CACHED_POINTS; attackPoints++) {
+            for (int escapePoints = 0; escapePoints < CACHED_POINTS; escapePoints++) {
+                for (boolean predatorInGroup : new boolean[]{false, true}) {
+                    for (boolean victimInGroup : new boolean[]{false, true}) {
+                        chances[toIndex(attackPoints, escapePoints, predatorInGroup, victimInGroup)] =
+                                calculateSucceedAttackChance(attackPoints, escapePoints, predatorInGroup, victimInGroup,
+                                        pair.predatorWeight(), pair.victimWeight());
+                    }
+                }
+            }
+        }
+        return chances;
+    }
+
+    /**
+     * Calculates the reduced chance of a successful attack depending on predator & victim weights.
+     *
+     * @param succeedChance  the initial succeedChance
+     * @param predatorWeight the weight of the predator
+     * @param victimWeight   the weight of the victim
+     * @return returns the reduced chance of a successful attack
+     */
+    private static int calculateReducedSucceedAttackChance(int succeedChance, int predatorWeight, int victimWeight) {
+        double ratio = (double) victimWeight / predatorWeight;
+        if (ratio >= 1) return succeedChance;
+        return (int) (succeedChance * ratio);
+    }
+
+    /**
+     * Calculates herbivore escape points bonus if the herbivore is in a group.
+     *
+     * @param escapePoints the initial escape points
+     * @return returns the calculated group bonus
+     */
+    private static int calculateHerbivoreGroupBonus(int escapePoints) {
+        return (int) Math.ceil(escapePoints * 0.3);
+    }
+
+    private static boolean isCachedPoints(int points) {
+        return points >= 0 && points < CACHED_POINTS;
+    }
+
+    private static int toIndex(int attackPoints, int escapePoints, boolean predatorInGroup, boolean victimInGroup) {
+        int index = (attackPoints * CACHED_POINTS + escapePoints) * 4;
+        if (predatorInGroup) index += 2;
+        if (victimInGroup) index += 1;
+        return index;
+    }
+
+    private record SpeciesPair(String predatorKind, int predatorWeight, String victimKind, int victimWeight) {
+    }
+}
@@ -0,0 +1,127 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps every animal under the tick it breeds next at, so a breeding phase only visits the
+ * animals which are due instead of testing the age of every animal.
+ * <p>
+ * The calendar is a hierarchical timing wheel: each level has {@code SLOTS} slots, a slot of
+ * level 0 holds the animals of a single tick and a slot of every further level spans all slots
+ * of the level below. Animals due within the current span of a level are put into its slots,
+ * animals due later into a higher level, and a slot of a higher level is cascaded to the lower
+ * levels once its span starts. Scheduling and polling an animal therefore costs constant time,
+ * however far ahead it is due. Animals which died or got a new id are dropped when they come due.
+ *
+ * @see Ecosystem#setScheduledBreeding(boolean)
+ */
+public class BreedingCalendar {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 3;
+    private final List<List<Entry>> wheels = new ArrayList<>(LEVELS * SLOTS);
+    private List<Entry> overflow = new ArrayList<>();
+    private int currentTick;
+
+    public BreedingCalendar() {
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            wheels.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Schedules the next breeding of an animal, derived from its current age and reproductive rate:
+     * the animal breeds in the first following tick in which its age is divisible by its rate.
+     * The age of the animal has to grow by one with every tick.
+     *
+     * @param animal the animal
+     */
+    public void schedule(Animal animal) {
+        int ticksToBreeding = animal.getReproductiveRate() - Math.floorMod(animal.getCurrentAge(), animal.getReproductiveRate());
+        schedule(animal, currentTick + ticksToBreeding);
+    }
+
+    /**
+     * Schedules the breeding of an animal at the given tick.
+     *
+     * @param animal the animal
+     * @param tick   the tick the animal breeds at
+     * @throws IllegalArgumentException if the tick is not after the current tick
+     */
+    public void schedule(Animal animal, int tick) {
+        if (tick <= currentTick) {
+            throw new IllegalArgumentException("Breeding tick " + tick + " is not after the current tick " + currentTick);
+        }
+        place(new Entry(animal, animal.getId(), tick));
+    }
+
+    /**
+     * Advances the calendar by one tick and returns the alive animals breeding in it.
+     * Every returned animal is scheduled again one reproductive rate later.
+     *
+     * @return the animals due to breed
+     */
+    public List<Animal> advance() {
+        currentTick++;
+        if (isSpanStart(LEVELS)) {
+            List<Entry> overflowEntries = overflow;
+            overflow = new ArrayList<>();
+            overflowEntries.forEach(this::place);
+        }
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if (isSpanStart(level)) {
+                cascade(level);
+            }
+        }
+        List<Entry> dueEntries = slot(0, currentTick);
+        List<Animal> dueAnimals = new ArrayList<>(dueEntries.size());
+        for (Entry entry : dueEntries) {
+            Animal animal = entry.animal();
+            if (!animal.isAlive() || animal.getId() != entry.animalId()) continue;
+            dueAnimals.add(animal);
+            schedule(animal, currentTick + animal.getReproductiveRate());
+        }
+        dueEntries.clear();
+        return dueAnimals;
+    }
+
+    public int getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Puts an entry into the lowest level whose current span contains its tick.
+     */
+    private void place(Entry entry) {
+        for (int level = 0; level < LEVELS; level++) {
+            int spanBits = SLOT_BITS * (level + 1);
+            if (entry.tick() >> spanBits == currentTick >> spanBits) {
+                slot(level, entry.tick()).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    /**
+     * Moves the entries of the slot of a level whose span starts at the current tick to the lower levels.
+     */
+    private void cascade(int level) {
+        List<Entry> slot = slot(level, currentTick);
+        List<Entry> entries = new ArrayList<>(slot);
+        slot.clear();
+        entries.forEach(this::place);
+    }
+
+    private boolean isSpanStart(int level) {
+        return (currentTick & ((1 << SLOT_BITS * level) - 1)) == 0;
+    }
+
+    private List<Entry> slot(int level, int tick) {
+        return wheels.get(level * SLOTS + ((tick >> SLOT_BITS * level) & (SLOTS - 1)));
+    }
+
+    private record Entry(Animal animal, long animalId, int tick) {
+    }
+}
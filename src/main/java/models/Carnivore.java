@@ -12,11 +12,17 @@ import java.util.Set;
  * Represents a carnivorous animal in a wildlife simulation. Extends the base {@link Animal} class
  * with carnivore-specific attributes like attack strength and hunger management. Carnivores can
  * attack prey, experience hunger, and die if starvation reaches critical levels.
+ * <p>
+ * With a hunger clock set, the hunger is stored together with the tick it was set at and grows
+ * by the hunger rate with every tick of the clock, without being updated. With a population storage
+ * attached, the hunger is kept in the storage slot of the carnivore.
  */
 public class Carnivore extends Animal {
     private final int attackPoints;
     private final int hungerRate;
     private double currentHunger;
+    private SimulationClock hungerClock;
+    private int hungerTick;
 
     public Carnivore(Set<Biome> biomes,
                      int currentAge,
@@ -54,7 +60,7 @@ public class Carnivore extends Animal {
                     0,
                     animal.isAlive(),
                     animal.getMaxAge(),
-                    animal.getMaxAge(),
+                    animal.getWeight(),
                     animal.getReproductiveRate(),
                     getMainHabitat(),
                     getAnimalType(),
@@ -68,6 +74,39 @@ public class Carnivore extends Animal {
         throw new InvalidBreedingException("Expected " + getAnimalKind() + " animal kind but was " + animal.getAnimalKind() + "!");
     }
 
+    /**
+     * {@inheritDoc}
+     * The reused carnivore starts without hunger.
+     */
+    @Override
+    protected void reincarnate(Animal parent) {
+        super.reincarnate(parent);
+        System.out.println("New carnivore " + getAnimalKind() + " was born!");
+        setCurrentHunger(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The hunger of the carnivore stops following the hunger clock of the ecosystem as well.
+     */
+    @Override
+    protected void detachFromEcosystem() {
+        super.detachFromEcosystem();
+        setHungerClock(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The hunger is copied back as well.
+     */
+    @Override
+    protected void detachFromStorage() {
+        if (getStorage() == null) return;
+        double hunger = getCurrentHunger();
+        super.detachFromStorage();
+        setCurrentHunger(hunger);
+    }
+
     /**
      * Checks if this carnivore has starved to death. Sets alive status to false
      * if hunger reaches 100%.
@@ -75,7 +114,7 @@ public class Carnivore extends Animal {
      * @return true if animal died from hunger, false otherwise
      */
     protected boolean hasDiedFromHunger() {
-        if (currentHunger >= 100) {
+        if (getCurrentHunger() >= 100) {
             System.out.println("Carnivore died " + getAnimalKind() + " from hunger!");
             setAlive(false);
             return true;
@@ -88,7 +127,7 @@ public class Carnivore extends Animal {
      */
     public void increaseHunger() {
         System.out.println("Hunger of " + getAnimalKind() + " increased!");
-        currentHunger += hungerRate;
+        setCurrentHunger(getCurrentHunger() + hungerRate);
     }
 
     public int getAttackPoints() {
@@ -99,11 +138,58 @@ public class Carnivore extends Animal {
         return hungerRate;
     }
 
+    /**
+     * Returns the current hunger, read from the population storage or including the hunger gained
+     * since it was set if a hunger clock is set.
+     *
+     * @return the current hunger
+     */
     public double getCurrentHunger() {
-        return currentHunger;
+        if (getStorage() != null) return getStorage().getHunger(getStorageIndex());
+        if (hungerClock == null) return currentHunger;
+        return currentHunger + (double) hungerRate * (hungerClock.getTicks() - hungerTick);
     }
 
     public void setCurrentHunger(double currentHunger) {
+        if (getStorage() != null) {
+            getStorage().setHunger(getStorageIndex(), currentHunger);
+            return;
+        }
         this.currentHunger = currentHunger;
+        this.hungerTick = hungerClock == null ? 0 : hungerClock.getTicks();
+    }
+
+    /**
+     * Lets the hunger grow with the ticks of the given clock instead of with {@link #increaseHunger()} calls.
+     * The current hunger is kept.
+     *
+     * @param hungerClock the clock, or {@code null} to stop growing the hunger with a clock
+     */
+    public void setHungerClock(SimulationClock hungerClock) {
+        double hunger = getCurrentHunger();
+        this.hungerClock = hungerClock;
+        setCurrentHunger(hunger);
+    }
+
+    public SimulationClock getHungerClock() {
+        return hungerClock;
+    }
+
+    /**
+     * Predicts the tick of the hunger clock at whose end this carnivore dies from hunger, unless it is fed before.
+     * A carnivore dies in a tick if its hunger already reached 100 when the tick starts.
+     *
+     * @return the tick of the death, or {@link Integer#MAX_VALUE} if the carnivore never starves
+     * @throws IllegalStateException if no hunger clock is set
+     */
+    public int getStarvationTick() {
+        if (hungerClock == null) {
+            throw new IllegalStateException("Carnivore " + getId() + " has no hunger clock");
+        }
+        int nextTick = hungerClock.getTicks() + 1;
+        if (getCurrentHunger() >= 100) return nextTick;
+        if (hungerRate <= 0) return Integer.MAX_VALUE;
+        long starvationTick = hungerTick + 1 + (long) Math.ceil((100 - currentHunger) / hungerRate);
+        return Math.clamp(starvationTick, nextTick, Integer.MAX_VALUE);
     }
 }
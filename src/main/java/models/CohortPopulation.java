@@ -0,0 +1,165 @@
+package models;
+
+import enums.AnimalType;
+
+import java.util.*;
+
+/**
+ * A population stored as counts of indistinguishable animals instead of one object per animal.
+ * Animals of the same species and group with the same age and hunger behave identically in the
+ * simulation, so each such cohort is a single entry however many animals it holds.
+ * <p>
+ * Carnivore hunger can be rounded to buckets of a fixed width, which merges cohorts
+ * with almost equal hunger at the cost of precision. A width of 0 keeps the exact hunger.
+ *
+ * @see services.CohortSimulation
+ */
+public class CohortPopulation {
+    private final double hungerBucketWidth;
+    private final Map<Cohort, Long> cohortCounts = new HashMap<>();
+
+    /**
+     * A group of indistinguishable animals.
+     *
+     * @param species   the species of the animals
+     * @param groupName the group of the animals
+     * @param age       the age of the animals
+     * @param hunger    the hunger of the animals, always 0 for herbivores
+     */
+    public record Cohort(SpeciesDefinition species, String groupName, int age, double hunger) {
+    }
+
+    public CohortPopulation() {
+        this(0);
+    }
+
+    /**
+     * @param hungerBucketWidth the width of the hunger buckets, or 0 to keep the exact hunger
+     * @throws IllegalArgumentException if the width is negative
+     */
+    public CohortPopulation(double hungerBucketWidth) {
+        if (hungerBucketWidth < 0) {
+            throw new IllegalArgumentException("Hunger bucket width must not be negative");
+        }
+        this.hungerBucketWidth = hungerBucketWidth;
+    }
+
+    /**
+     * Adds newborn animals of a species to a group.
+     *
+     * @param species   the species of the animals
+     * @param groupName the group of the animals, ignored for species which do not live in groups
+     * @param count     the number of animals
+     */
+    public void addNewborns(SpeciesDefinition species, String groupName, long count) {
+        add(new Cohort(species, species.inGroup() ? groupName : SpeciesDefinition.LONERS_GROUP, 0, 0), count);
+    }
+
+    /**
+     * Adds animals to a cohort, rounding their hunger to its bucket.
+     *
+     * @param cohort the cohort
+     * @param count  the number of animals
+     * @throws IllegalArgumentException if the count is negative
+     */
+    public void add(Cohort cohort, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Cohort count must not be negative");
+        }
+        if (count == 0) return;
+        cohortCounts.merge(toBucket(cohort), count, Long::sum);
+    }
+
+    /**
+     * Removes animals from a cohort and drops the cohort once it is empty.
+     *
+     * @param cohort the cohort
+     * @param count  the number of animals
+     * @throws IllegalArgumentException if the cohort holds fewer animals
+     */
+    public void remove(Cohort cohort, long count) {
+        long remaining = getCount(cohort) - count;
+        if (remaining < 0) {
+            throw new IllegalArgumentException("Cohort " + cohort + " holds fewer than " + count + " animals");
+        }
+        if (remaining == 0) {
+            cohortCounts.remove(cohort);
+        } else {
+            cohortCounts.put(cohort, remaining);
+        }
+    }
+
+    public long getCount(Cohort cohort) {
+        return cohortCounts.getOrDefault(cohort, 0L);
+    }
+
+    /**
+     * Counts the animals of the given type.
+     *
+     * @param type the animal type
+     * @return the number of animals
+     */
+    public long getCount(AnimalType type) {
+        long count = 0;
+        for (Map.Entry<Cohort, Long> entry : cohortCounts.entrySet()) {
+            if (entry.getKey().species().animalType() == type) {
+                count += entry.getValue();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the animals of the given species.
+     *
+     * @param speciesKind the kind of the species
+     * @return the number of animals
+     */
+    public long getCount(String speciesKind) {
+        long count = 0;
+        for (Map.Entry<Cohort, Long> entry : cohortCounts.entrySet()) {
+            if (entry.getKey().species().kind().equals(speciesKind)) {
+                count += entry.getValue();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns a copy of the cohorts of the given type and their counts, which stays valid while the population changes.
+     *
+     * @param type the animal type
+     * @return the cohorts of the given type with their counts
+     */
+    public Map<Cohort, Long> getCohorts(AnimalType type) {
+        Map<Cohort, Long> cohorts = new HashMap<>();
+        cohortCounts.forEach((cohort, count) -> {
+            if (cohort.species().animalType() == type) {
+                cohorts.put(cohort, count);
+            }
+        });
+        return cohorts;
+    }
+
+    /**
+     * Removes all animals.
+     */
+    public void clear() {
+        cohortCounts.clear();
+    }
+
+    /**
+     * Returns the number of cohorts, which bounds the cost of an iteration.
+     *
+     * @return the number of cohorts
+     */
+    public int getCohortCount() {
+        return cohortCounts.size();
+    }
+
+    private Cohort toBucket(Cohort cohort) {
+        if (hungerBucketWidth == 0 || cohort.hunger() == 0) return cohort;
+        double bucketHunger = Math.round(cohort.hunger() / hungerBucketWidth) * hungerBucketWidth;
+        return new Cohort(cohort.species(), cohort.groupName(), cohort.age(), bucketHunger);
+    }
+}
@@ -0,0 +1,72 @@
+package models;
+
+import java.util.*;
+
+/**
+ * A queue of predicted deaths ordered by the tick they are due at. Instead of checking every
+ * animal every tick, the tick an animal will die at is computed once and only recomputed when
+ * its state changes, so the cost of a tick is proportional to the deaths and state changes.
+ * <p>
+ * Rescheduling an animal does not search the queue for its previous death; the outdated
+ * entry stays queued and is skipped when it comes due, as is the death of an animal which
+ * died of another cause or got a new id in the meantime.
+ *
+ * @see Ecosystem#setScheduledStarvation(boolean)
+ */
+public class DeathScheduler {
+    private final PriorityQueue<ScheduledDeath> scheduledDeaths = new PriorityQueue<>(Comparator.comparingInt(ScheduledDeath::tick));
+    private final Map<Long, Integer> deathTicksById = new HashMap<>();
+
+    /**
+     * Schedules the death of an animal, replacing its previously scheduled death.
+     *
+     * @param animal the animal
+     * @param tick   the tick the animal dies at
+     */
+    public void schedule(Animal animal, int tick) {
+        deathTicksById.put(animal.getId(), tick);
+        scheduledDeaths.add(new ScheduledDeath(animal, animal.getId(), tick));
+    }
+
+    /**
+     * Cancels the scheduled death of an animal.
+     *
+     * @param animal the animal
+     */
+    public void cancel(Animal animal) {
+        deathTicksById.remove(animal.getId());
+    }
+
+    /**
+     * Removes and returns the animals whose death is due at or before the given tick.
+     * Outdated deaths and deaths of animals which are no longer alive are dropped.
+     *
+     * @param tick the current tick
+     * @return the animals which die, ordered by their death tick
+     */
+    public List<Animal> pollDue(int tick) {
+        List<Animal> dueAnimals = new ArrayList<>();
+        while (!scheduledDeaths.isEmpty() && scheduledDeaths.peek().tick() <= tick) {
+            ScheduledDeath death = scheduledDeaths.poll();
+            Integer currentDeathTick = deathTicksById.get(death.animalId());
+            if (currentDeathTick == null || currentDeathTick != death.tick()) continue;
+            deathTicksById.remove(death.animalId());
+            if (death.animal().isAlive() && death.animal().getId() == death.animalId()) {
+                dueAnimals.add(death.animal());
+            }
+        }
+        return dueAnimals;
+    }
+
+    /**
+     * Returns the number of animals with a scheduled death.
+     *
+     * @return the number of scheduled animals
+     */
+    public int size() {
+        return deathTicksById.size();
+    }
+
+    private record ScheduledDeath(Animal animal, long animalId, int tick) {
+    }
+}
@@ -0,0 +1,77 @@
+package models;
+
+import enums.AnimalType;
+
+import java.util.*;
+
+/**
+ * Which herbivores each carnivore hunts and how much it prefers them, built from the diets of
+ * the species catalog. Animals carry the display name of their species as their kind, so the
+ * matrix is indexed by display names.
+ * <p>
+ * A carnivore whose species has no diet, or is not known to the matrix, hunts every herbivore
+ * with the same preference, so an unrestricted matrix keeps the original behavior.
+ *
+ * @see SpeciesDefinition#diet()
+ */
+public class DietMatrix {
+    private static final DietMatrix UNRESTRICTED = new DietMatrix(List.of());
+    private final Map<String, Map<String, Double>> preferencesByPredator = new HashMap<>();
+
+    /**
+     * Builds the matrix from the diets of the given species.
+     *
+     * @param species all species, including the hunted herbivores
+     * @throws IllegalArgumentException if a herbivore has a diet or a diet names no herbivore
+     */
+    public DietMatrix(Collection<SpeciesDefinition> species) {
+        Map<String, SpeciesDefinition> speciesByKind = new HashMap<>();
+        species.forEach(definition -> speciesByKind.put(definition.kind(), definition));
+        for (SpeciesDefinition predator : species) {
+            if (predator.diet().isEmpty()) continue;
+            if (predator.animalType() != AnimalType.CARNIVORE) {
+                throw new IllegalArgumentException("Herbivore " + predator.kind() + " cannot have a diet");
+            }
+            Map<String, Double> preferences = new LinkedHashMap<>();
+            predator.diet().forEach((preyKind, preference) -> {
+                SpeciesDefinition prey = speciesByKind.get(preyKind);
+                if (prey == null || prey.animalType() != AnimalType.HERBIVORE) {
+                    throw new IllegalArgumentException("Diet of " + predator.kind() + " names " + preyKind + " which is no herbivore");
+                }
+                preferences.put(prey.name(), preference);
+            });
+            preferencesByPredator.put(predator.name(), preferences);
+        }
+    }
+
+    /**
+     * Returns a matrix letting every carnivore hunt every herbivore.
+     *
+     * @return the unrestricted matrix
+     */
+    public static DietMatrix unrestricted() {
+        return UNRESTRICTED;
+    }
+
+    /**
+     * Checks whether no carnivore is restricted to a diet.
+     *
+     * @return true if every carnivore hunts every herbivore, false otherwise
+     */
+    public boolean isUnrestricted() {
+        return preferencesByPredator.isEmpty();
+    }
+
+    /**
+     * Returns how much a carnivore prefers a herbivore over others.
+     *
+     * @param predatorKind the kind of the carnivore
+     * @param preyKind     the kind of the herbivore
+     * @return the preference weight, 0 if the carnivore does not hunt the herbivore
+     */
+    public double getPreference(String predatorKind, String preyKind) {
+        Map<String, Double> preferences = preferencesByPredator.get(predatorKind);
+        if (preferences == null) return 1;
+        return preferences.getOrDefault(preyKind, 0.0);
+    }
+}
@@ -2,11 +2,19 @@ package models;
 
 import enums.AnimalType;
 import enums.Biome;
+import enums.DeathCause;
 import exceptions.AnimalNotFoundException;
 import services.FeedingService;
 import services.ProbabilitiesService;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 /**
  * Represents an ecosystem within a specific biome, managing groups of animals and their interactions.
@@ -18,27 +26,77 @@ import java.util.*;
  * @see AnimalType
  * @see ProbabilitiesService
  * @see FeedingService
+ * @see AttackOddsTable
  */
 public class Ecosystem {
     private final Biome biome;
     private final Map<AnimalType, Map<String, List<Animal>>> ecosystemGroupedAnimals;
     private final ProbabilitiesService probabilitiesService;
     private final FeedingService feedingService;
+    private final AttackOddsTable attackOddsTable = new AttackOddsTable();
+    private final List<Animal> tombstones = new ArrayList<>();
+    private final IterationStatistics statistics = new IterationStatistics();
+    private final Queue<CompletableFuture<EcosystemSnapshot>> snapshotRequests = new ConcurrentLinkedQueue<>();
+    private final Queue<Animal> immigrants = new ConcurrentLinkedQueue<>();
+    private final List<Ecosystem> neighbors = new CopyOnWriteArrayList<>();
+    private final IdAllocator idAllocator;
+    private final int[] populations = new int[AnimalType.values().length];
+    private volatile boolean acceptingMigrants = true;
+    private boolean deferredRemoval;
+    private IterationDeltaRecorder deltaRecorder;
+    private AnimalPool animalPool;
+    private SimulationClock hungerClock;
+    private DeathScheduler starvationScheduler;
+    private BreedingCalendar breedingCalendar;
+    private SimulationClock ageClock;
+    private DeathScheduler oldAgeScheduler;
+    private Vegetation vegetation;
+    private Supplier<? extends PopulationStorage> populationStorageFactory;
+    private PopulationStorage populationStorage;
+    private final List<Animal> storedAnimals = new ArrayList<>();
+    private boolean[] deathMask = new boolean[0];
+    private volatile EcosystemSnapshot latestSnapshot;
 
     public Ecosystem(Biome biome,
                      Map<AnimalType, Map<String, List<Animal>>> ecosystemGroupedAnimals,
                      ProbabilitiesService probabilitiesService,
                      FeedingService feedingService) {
 
+        this(biome, ecosystemGroupedAnimals, probabilitiesService, feedingService, new IdAllocator());
+    }
+
+    /**
+     * Creates an ecosystem assigning the ids of its animals from the given allocator. Ecosystems
+     * exchanging migrants share an allocator, so a migrant never gets the id it had in the
+     * ecosystem it left, or the id of an animal there.
+     *
+     * @param idAllocator the allocator of the animal ids
+     * @see #addNeighbor(Ecosystem)
+     */
+    public Ecosystem(Biome biome,
+                     Map<AnimalType, Map<String, List<Animal>>> ecosystemGroupedAnimals,
+                     ProbabilitiesService probabilitiesService,
+                     FeedingService feedingService,
+                     IdAllocator idAllocator) {
+
+        this.idAllocator = idAllocator;
         this.biome = biome;
         this.ecosystemGroupedAnimals = ecosystemGroupedAnimals;
         this.probabilitiesService = probabilitiesService;
         this.feedingService = feedingService;
+        this.latestSnapshot = EcosystemSnapshot.of(0, biome, Map.of());
+        ecosystemGroupedAnimals.forEach((type, groups) -> groups.values().forEach(animals -> {
+            for (Animal animal : animals) {
+                animal.assignId(idAllocator.nextId());
+                if (animal.isAlive()) populations[type.ordinal()]++;
+            }
+        }));
     }
 
     /**
      * An animal attacks a herbivore. If the attack is successful, the predator's hunger is reduced,
-     * and the herbivore is removed from its group.
+     * and the herbivore is removed from its group. With deferred removal enabled the killed
+     * herbivore is only marked as dead until {@link #removeTombstones()} is called.
      *
      * @param predatorId carnivore id which attempts to attack
      * @param victimId   herbivore id which is under attack
@@ -46,21 +104,60 @@ public class Ecosystem {
     public void attack(long predatorId, long victimId) {
         Carnivore predator = (Carnivore) findAnimalById(predatorId, ecosystemGroupedAnimals);
         Herbivore victim = (Herbivore) findAnimalById(victimId, ecosystemGroupedAnimals);
+        attack(predator, victim);
+    }
+
+    /**
+     * An animal attacks a herbivore which the caller already holds, so neither has to be looked up by id.
+     *
+     * @param predator the carnivore which attempts to attack
+     * @param victim   the herbivore which is under attack
+     * @see #attack(long, long)
+     */
+    public void attack(Carnivore predator, Herbivore victim) {
         System.out.println("Predator " + predator.getAnimalKind() + " applied attack attempt onto " + victim.getAnimalKind());
         if (isAttackSucceed(predator, victim)) {
             System.out.println("Succeed attack!");
+            applySuccessfulAttack(predator, victim);
+        }
+    }
 
-            List<Animal> predatorGroup = ecosystemGroupedAnimals.get(predator.getAnimalType()).get(predator.getGroupName());
-            feedingService.processSuccessfulHunt(predator, victim, predatorGroup);
+    /**
+     * Applies the outcome of an attack which is already known to have succeeded: feeds the
+     * predator or its group, kills the victim and records the kill. Used by bulk predation,
+     * which draws the number of successful attacks instead of drawing every attack.
+     * A group only shares the prey with its members living in the predator's habitat.
+     *
+     * @param predator the successful carnivore
+     * @param victim   the killed herbivore
+     */
+    public void applySuccessfulAttack(Carnivore predator, Herbivore victim) {
+        List<Animal> predatorGroup = getFeedingGroup(predator);
+        feedingService.processSuccessfulHunt(predator, victim, predatorGroup);
+        recordHungerOfFed(predator, predatorGroup);
+        rescheduleStarvationOfFed(predator, predatorGroup);
 
-            System.out.println(victim.getAnimalKind() + " WAS KILLED!");
-            removeDeadAnimal(victim);
-        }
+        System.out.println(victim.getAnimalKind() + " WAS KILLED!");
+        victim.setAlive(false);
+        statistics.recordKill(predator);
+        recordDeath(victim, DeathCause.PREDATION);
+        removeOrBuryDeadAnimal(victim);
+    }
+
+    /**
+     * Returns the chance (in percent) that the predator succeeds attacking the victim.
+     *
+     * @param predator the carnivore attacker
+     * @param victim   the herbivore victim
+     * @return the success chance of the attack
+     */
+    public int getSucceedAttackChance(Carnivore predator, Herbivore victim) {
+        return attackOddsTable.getSucceedAttackChance(predator, victim);
     }
 
     /**
      * Adds a new member to a group of animals depending on the
-     * animal's living type and kind.
+     * animal's living type and kind, and assigns the animal its id in this ecosystem.
      *
      * @param animal animal which pretends to be a part of the group
      */
@@ -70,6 +167,55 @@ public class Ecosystem {
         Map<String, List<Animal>> groups = ecosystemGroupedAnimals.computeIfAbsent(type, k -> new HashMap<>());
         List<Animal> groupMembers = groups.computeIfAbsent(groupName, animals -> new ArrayList<>());
         groupMembers.add(animal);
+        animal.assignId(idAllocator.nextId());
+        populations[type.ordinal()]++;
+        storeAnimal(animal);
+        scheduleOldAge(animal);
+        scheduleStarvation(animal);
+        scheduleBreeding(animal);
+    }
+
+    /**
+     * Adds many animals at once. The group of each run of animals sharing a group is looked up
+     * once and grown once to hold the rest of the animals, instead of growing animal by animal.
+     *
+     * @param animals the animals to add
+     */
+    public void addAnimalsToEcosystem(List<? extends Animal> animals) {
+        List<Animal> groupMembers = null;
+        Animal previous = null;
+        for (int i = 0; i < animals.size(); i++) {
+            Animal animal = animals.get(i);
+            if (previous == null || previous.getAnimalType() != animal.getAnimalType()
+                    || !previous.getGroupName().equals(animal.getGroupName())) {
+                groupMembers = ecosystemGroupedAnimals.computeIfAbsent(animal.getAnimalType(), k -> new HashMap<>())
+                        .computeIfAbsent(animal.getGroupName(), k -> new ArrayList<>(animals.size()));
+                if (groupMembers instanceof ArrayList<Animal> arrayList) {
+                    arrayList.ensureCapacity(arrayList.size() + animals.size() - i);
+                }
+            }
+            groupMembers.add(animal);
+            animal.assignId(idAllocator.nextId());
+            populations[animal.getAnimalType().ordinal()]++;
+            storeAnimal(animal);
+            scheduleOldAge(animal);
+            scheduleStarvation(animal);
+            scheduleBreeding(animal);
+            previous = animal;
+        }
+    }
+
+    /**
+     * Adds a newborn to its group and records its birth.
+     *
+     * @param newborn the born animal
+     */
+    public void addNewbornToEcosystem(Animal newborn) {
+        addAnimalToEcosystem(newborn);
+        statistics.recordBirth(newborn);
+        if (deltaRecorder != null) {
+            deltaRecorder.recordBirth(newborn);
+        }
     }
 
     /**
@@ -97,110 +243,817 @@ public class Ecosystem {
 
     /**
      * Increases hunger levels for all carnivores in the ecosystem.
-     * Removes carnivores that die from hunger.
+     * Removes carnivores that die from hunger, or marks them as tombstones
+     * when deferred removal is enabled. With scheduled starvation only the carnivores
+     * whose starvation is due are visited, and the hunger of the others grows with the clock.
+     * With a population storage nothing is done, as {@link #tickPopulationStorage()} already
+     * increased the hunger.
      *
      * @param groups Map of carnivore groups to process
      */
     public void increaseHungerOfCarnivore(Map<String, List<Animal>> groups) {
+        if (populationStorage != null) return;
+        if (starvationScheduler != null) {
+            starveScheduledCarnivores();
+            return;
+        }
         groups.forEach((groupName, animals) -> {
             Iterator<Animal> iterator = animals.iterator();
             while (iterator.hasNext()) {
                 Carnivore carnivore = (Carnivore) iterator.next();
+                if (!carnivore.isAlive()) continue;
                 if (carnivore.hasDiedFromHunger()) {
-                    iterator.remove();
+                    recordDeath(carnivore, DeathCause.HUNGER);
+                    if (deferredRemoval) {
+                        tombstones.add(carnivore);
+                    } else {
+                        iterator.remove();
+                        releaseToPool(carnivore);
+                    }
                 } else {
                     carnivore.increaseHunger();
+                    if (deltaRecorder != null) {
+                        deltaRecorder.recordHunger(carnivore);
+                    }
                 }
             }
         });
     }
 
     /**
-     * Removes a dead animal from its group and removes the group if it becomes extinct.
+     * Connects two ecosystems, so animals living in both biomes can migrate between them.
      *
-     * @param target the dead animal to remove
+     * @param neighbor the neighboring ecosystem
+     * @throws IllegalArgumentException if the neighbor is this ecosystem or assigns ids from another allocator
      */
-    private void removeDeadAnimal(Animal target) {
-        System.out.println("Dead animal " + target.getAnimalKind() + " was removed!");
-        ecosystemGroupedAnimals.get(target.getAnimalType())
-                .get(target.getGroupName())
-                .removeIf(animal -> animal.getId() == target.getId());
-        if (ecosystemGroupedAnimals.get(target.getAnimalType()).get(target.getGroupName()).isEmpty()) {
-            removeExtinctGroup(target);
+    public void addNeighbor(Ecosystem neighbor) {
+        if (neighbor == this) {
+            throw new IllegalArgumentException("Ecosystem cannot be its own neighbor");
+        }
+        if (neighbor.idAllocator != idAllocator) {
+            throw new IllegalArgumentException("Neighboring ecosystems have to share their id allocator");
+        }
+        if (!neighbors.contains(neighbor)) {
+            neighbors.add(neighbor);
+            neighbor.addNeighbor(this);
         }
     }
 
+    public List<Ecosystem> getNeighbors() {
+        return Collections.unmodifiableList(neighbors);
+    }
+
     /**
-     * Removes the group of the given animal from the ecosystem, as the group has become extinct.
+     * Moves an alive animal to a neighboring ecosystem.
      *
-     * @param target an animal whose group is extinct
+     * @param animal      the migrating animal
+     * @param destination the neighboring ecosystem the animal moves to
+     * @return true if the animal left, false if the destination stopped accepting migrants
+     * @throws IllegalArgumentException if the destination is no neighbor or its biome is foreign to the animal
+     * @see #emigrate(Map)
      */
-    private void removeExtinctGroup(Animal target) {
-        System.out.println("Group " + target.getGroupName() + " extincted and was removed!");
-        ecosystemGroupedAnimals.get(target.getAnimalType()).remove(target.getGroupName());
+    public boolean emigrate(Animal animal, Ecosystem destination) {
+        return emigrate(Map.of(animal, destination)) == 1;
     }
 
     /**
-     * Tries to apply an attack attempt on the victim,
-     * using attack chances and a special formula to calculate
-     * the success percentage of the attack.
+     * Moves alive animals to neighboring ecosystems. The animals leave their groups right away,
+     * each group being swept once for all of its migrants, lose their ids so the schedules of this
+     * ecosystem drop them, and are handed over through the lock-free inboxes of the destinations.
+     * They join a destination once that ecosystem admits its migrants, so each ecosystem can be
+     * stepped on its own thread and only touches its own animals. An animal whose destination
+     * stopped accepting migrants meanwhile stays in this ecosystem. Must be called between
+     * iterations by the thread stepping this ecosystem.
      *
-     * @param predator the carnivore attacker
-     * @param victim   the herbivore victim
-     * @return returns true in case of success, otherwise false
+     * @param destinations the neighboring ecosystem every migrating animal moves to
+     * @return the number of animals which left
+     * @throws IllegalArgumentException if a destination is no neighbor or its biome is foreign to the animal
      */
-    private boolean isAttackSucceed(Carnivore predator, Herbivore victim) {
-        int attackPoints = calculateScaledPoints(predator);
-        int escapePoints = calculateScaledPoints(victim);
+    public int emigrate(Map<Animal, Ecosystem> destinations) {
+        Map<List<Animal>, Set<Animal>> migrantsByGroup = new IdentityHashMap<>();
+        destinations.forEach((animal, destination) -> {
+            if (!neighbors.contains(destination) || !animal.getBiomes().contains(destination.getBiome())) {
+                throw new IllegalArgumentException(animal.getAnimalKind() + " cannot migrate to " + destination.getBiome());
+            }
+            List<Animal> group = ecosystemGroupedAnimals.get(animal.getAnimalType()).get(animal.getGroupName());
+            migrantsByGroup.computeIfAbsent(group, members -> Collections.newSetFromMap(new IdentityHashMap<>())).add(animal);
+        });
+        migrantsByGroup.forEach((group, migrants) -> {
+            group.removeIf(migrants::contains);
+            if (group.isEmpty()) {
+                removeExtinctGroup(migrants.iterator().next());
+            }
+        });
+        int emigrated = 0;
+        for (Map.Entry<Animal, Ecosystem> migration : destinations.entrySet()) {
+            Animal animal = migration.getKey();
+            populations[animal.getAnimalType().ordinal()]--;
+            if (starvationScheduler != null) {
+                starvationScheduler.cancel(animal);
+            }
+            if (oldAgeScheduler != null) {
+                oldAgeScheduler.cancel(animal);
+            }
+            long formerId = animal.getId();
+            animal.detachFromEcosystem();
+            if (migration.getValue().handOver(animal)) {
+                recordEmigration(animal, formerId);
+                emigrated++;
+            } else {
+                addAnimalToEcosystem(animal);
+            }
+        }
+        return emigrated;
+    }
+
+    /**
+     * Adds all animals which migrated to this ecosystem since the last call to their groups.
+     * Must be called between iterations by the thread stepping this ecosystem.
+     *
+     * @return the number of admitted migrants
+     */
+    public int admitMigrants() {
+        int admitted = 0;
+        Animal migrant;
+        while ((migrant = immigrants.poll()) != null) {
+            addAnimalToEcosystem(migrant);
+            statistics.recordImmigration(migrant);
+            if (deltaRecorder != null) {
+                deltaRecorder.recordImmigration(migrant);
+            }
+            admitted++;
+        }
+        return admitted;
+    }
+
+    /**
+     * Stops accepting migrants once the simulation of this ecosystem ended, and admits the
+     * migrants which arrived before, so no animal is lost on its way to an ended ecosystem.
+     * Must be called by the thread which stepped this ecosystem.
+     *
+     * @return the number of admitted migrants
+     */
+    public int stopAcceptingMigrants() {
+        acceptingMigrants = false;
+        return admitMigrants();
+    }
+
+    public boolean isAcceptingMigrants() {
+        return acceptingMigrants;
+    }
 
+    /**
+     * Puts a migrant into the inbox unless this ecosystem stopped accepting migrants. A migrant
+     * put in while the ecosystem stops is either admitted by {@link #stopAcceptingMigrants()}
+     * or taken back out, never both and never neither.
+     *
+     * @param migrant the arriving animal
+     * @return true if the migrant will be admitted, false if it was rejected
+     */
+    private boolean handOver(Animal migrant) {
+        if (!acceptingMigrants) return false;
+        immigrants.offer(migrant);
+        return acceptingMigrants || !immigrants.remove(migrant);
+    }
+
+    /**
+     * Regrows the vegetation and lets all alive herbivores graze on it, the heaviest first.
+     * Every herbivore eats its whole demand as long as the biomass lasts, so when the vegetation
+     * runs short only the herbivores left without food grow hungry and starve. Starved herbivores
+     * are removed, or marked as tombstones when deferred removal is enabled.
+     * Does nothing if the ecosystem has no vegetation.
+     *
+     * @param groups Map of herbivore groups to process
+     */
+    public void grazeHerbivores(Map<String, List<Animal>> groups) {
+        if (vegetation == null) return;
+        vegetation.regrow();
+        List<Herbivore> grazers = new ArrayList<>();
+        for (List<Animal> animals : groups.values()) {
+            for (Animal animal : animals) {
+                if (animal.isAlive()) {
+                    grazers.add((Herbivore) animal);
+                }
+            }
+        }
+        grazers.sort(Comparator.comparingInt(Animal::getWeight).reversed());
+        for (Herbivore herbivore : grazers) {
+            double demand = herbivore.getFoodDemand();
+            double eaten = vegetation.graze(demand);
+            herbivore.graze(demand > 0 ? eaten / demand : 1);
+            if (herbivore.hasDiedFromHunger()) {
+                recordDeath(herbivore, DeathCause.HUNGER);
+                removeOrBuryDeadAnimal(herbivore);
+            }
+        }
+    }
+
+    /**
+     * Physically removes all dead animals from their groups in a single sweep over
+     * every group and drops the groups which have no members left.
+     * Dead animals which were not buried as tombstones stay in their groups until the next compaction.
+     * With a population storage the alive animals are moved into a fresh storage, dropping the
+     * slots of the animals which died or left since the last compaction.
+     *
+     * @return the number of removed animals
+     */
+    public int compactDeadAnimals() {
+        int removedAnimals = 0;
+        for (Map.Entry<AnimalType, Map<String, List<Animal>>> typeGroups : ecosystemGroupedAnimals.entrySet()) {
+            for (List<Animal> animals : typeGroups.getValue().values()) {
+                int initialSize = animals.size();
+                removeDeadMembers(animals);
+                removedAnimals += initialSize - animals.size();
+            }
+            typeGroups.getValue().entrySet().removeIf(group -> {
+                if (!group.getValue().isEmpty()) return false;
+                if (deltaRecorder != null) {
+                    deltaRecorder.recordGroupExtinction(typeGroups.getKey(), group.getKey());
+                }
+                return true;
+            });
+        }
+        if (populationStorage != null) {
+            rebuildPopulationStorage();
+        }
+        System.out.println("Compaction removed " + removedAnimals + " dead animals!");
+        return removedAnimals;
+    }
+
+    /**
+     * Records the death of an animal which died outside of this class and keeps it
+     * as a tombstone until {@link #removeTombstones()} is called, whatever the removal mode.
+     * Callers may be iterating over the group of the animal, so it is never removed right away.
+     *
+     * @param deadAnimal the dead animal
+     * @param cause      the cause of the death
+     */
+    public void buryDeadAnimal(Animal deadAnimal, DeathCause cause) {
+        recordDeath(deadAnimal, cause);
+        tombstones.add(deadAnimal);
+    }
+
+    /**
+     * Removes all animals buried since the last call from their groups. Each affected group
+     * is swept once, no matter how many of its members died, and removed if it became extinct.
+     *
+     * @return the number of removed tombstones
+     */
+    public int removeTombstones() {
+        if (tombstones.isEmpty()) return 0;
+        Set<List<Animal>> sweptGroups = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Animal tombstone : tombstones) {
+            List<Animal> group = ecosystemGroupedAnimals.get(tombstone.getAnimalType()).get(tombstone.getGroupName());
+            if (group == null || !sweptGroups.add(group)) continue;
+            removeDeadMembers(group);
+            if (group.isEmpty()) {
+                removeExtinctGroup(tombstone);
+            }
+        }
+        int removedTombstones = tombstones.size();
+        tombstones.clear();
+        return removedTombstones;
+    }
+
+    /**
+     * Requests a snapshot of the population, which is taken at the end of the current iteration.
+     * Can be called from any thread; the simulation is never stopped for the reader.
+     *
+     * @return a future completed with the snapshot
+     */
+    public CompletableFuture<EcosystemSnapshot> requestSnapshot() {
+        CompletableFuture<EcosystemSnapshot> request = new CompletableFuture<>();
+        snapshotRequests.add(request);
+        return request;
+    }
+
+    /**
+     * Returns the most recently taken snapshot without waiting. Can be called from any thread.
+     *
+     * @return the latest snapshot, which may lag behind the simulation
+     */
+    public EcosystemSnapshot getLatestSnapshot() {
+        return latestSnapshot;
+    }
+
+    /**
+     * Takes a snapshot if one was requested since the last one was taken.
+     * Must be called by the simulating thread between iterations, so no observer
+     * costs anything while nobody asks for a snapshot.
+     *
+     * @param iterationNumber the finished iteration
+     */
+    public void publishRequestedSnapshot(int iterationNumber) {
+        if (!snapshotRequests.isEmpty()) {
+            publishSnapshot(iterationNumber);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the population and completes all pending snapshot requests with it.
+     * Must be called by the simulating thread between iterations.
+     *
+     * @param iterationNumber the finished iteration
+     * @return the taken snapshot
+     */
+    public EcosystemSnapshot publishSnapshot(int iterationNumber) {
+        EcosystemSnapshot snapshot = EcosystemSnapshot.of(iterationNumber, biome, ecosystemGroupedAnimals);
+        latestSnapshot = snapshot;
+        CompletableFuture<EcosystemSnapshot> request;
+        while ((request = snapshotRequests.poll()) != null) {
+            request.complete(snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Collects the changes of every following iteration in the given recorder.
+     *
+     * @param deltaRecorder the recorder, or {@code null} to stop recording
+     */
+    public void setDeltaRecorder(IterationDeltaRecorder deltaRecorder) {
+        this.deltaRecorder = deltaRecorder;
+    }
+
+    /**
+     * Keeps removed dead animals in the given pool, so newborns can reuse them.
+     *
+     * @param animalPool the pool, or {@code null} to disable the reuse of dead animals
+     */
+    public void setAnimalPool(AnimalPool animalPool) {
+        this.animalPool = animalPool;
+    }
+
+    /**
+     * Lets the herbivores of the ecosystem graze on the given vegetation, see {@link #grazeHerbivores(Map)}.
+     *
+     * @param vegetation the vegetation, or {@code null} to let herbivores live without food
+     */
+    public void setVegetation(Vegetation vegetation) {
+        this.vegetation = vegetation;
+    }
+
+    public Vegetation getVegetation() {
+        return vegetation;
+    }
+
+    /**
+     * Switches between increasing the hunger of every carnivore every iteration and scheduling
+     * starvation. With scheduled starvation the hunger of a carnivore grows with a clock of the
+     * ecosystem, the iteration it starves in is predicted once and only predicted again when
+     * it is fed, so an iteration costs time proportional to feeds and deaths instead of to the
+     * number of carnivores. Hunger which only grew is not reported to the delta recorder.
+     *
+     * @param scheduledStarvation true to schedule starvation, false to increase the hunger of every carnivore
+     * @throws IllegalStateException if scheduled starvation is enabled while a population storage is set
+     */
+    public void setScheduledStarvation(boolean scheduledStarvation) {
+        if (scheduledStarvation == isScheduledStarvation()) return;
+        if (scheduledStarvation) {
+            requireNoPopulationStorage("Scheduled starvation");
+            hungerClock = new SimulationClock();
+            starvationScheduler = new DeathScheduler();
+            ecosystemGroupedAnimals.getOrDefault(AnimalType.CARNIVORE, Map.of())
+                    .values().forEach(group -> group.forEach(this::scheduleStarvation));
+        } else {
+            ecosystemGroupedAnimals.getOrDefault(AnimalType.CARNIVORE, Map.of()).values().forEach(group -> group.forEach(animal -> {
+                if (animal instanceof Carnivore carnivore) {
+                    carnivore.setHungerClock(null);
+                }
+            }));
+            hungerClock = null;
+            starvationScheduler = null;
+        }
+    }
+
+    public boolean isScheduledStarvation() {
+        return starvationScheduler != null;
+    }
+
+    /**
+     * Lets the carnivores starve whose starvation is due in this iteration and advances the hunger clock.
+     */
+    private void starveScheduledCarnivores() {
+        for (Animal dueAnimal : starvationScheduler.pollDue(hungerClock.getTicks() + 1)) {
+            Carnivore carnivore = (Carnivore) dueAnimal;
+            if (carnivore.hasDiedFromHunger()) {
+                recordDeath(carnivore, DeathCause.HUNGER);
+                removeOrBuryDeadAnimal(carnivore);
+            } else {
+                starvationScheduler.schedule(carnivore, carnivore.getStarvationTick());
+            }
+        }
+        hungerClock.advance();
+    }
+
+    /**
+     * Lets the hunger of a carnivore grow with the hunger clock and schedules its starvation,
+     * if scheduled starvation is enabled.
+     *
+     * @param animal the added animal
+     */
+    private void scheduleStarvation(Animal animal) {
+        if (starvationScheduler == null || !animal.isAlive() || !(animal instanceof Carnivore carnivore)) return;
+        if (carnivore.getHungerClock() != hungerClock) {
+            carnivore.setHungerClock(hungerClock);
+        }
+        starvationScheduler.schedule(carnivore, carnivore.getStarvationTick());
+    }
+
+    /**
+     * Schedules the starvation of the carnivores fed by a successful attack again:
+     * the whole group of a predator hunting in a group, otherwise the predator only.
+     *
+     * @param predator      the successful predator
+     * @param predatorGroup the group of the predator
+     */
+    private void rescheduleStarvationOfFed(Carnivore predator, List<Animal> predatorGroup) {
+        if (starvationScheduler == null) return;
         if (!predator.isInGroup()) {
-            attackPoints -= attackPoints / 2;
+            scheduleStarvation(predator);
+            return;
         }
-        if (victim.isInGroup()) {
-            escapePoints += calculateHerbivoreGroupBonus(escapePoints);
+        predatorGroup.forEach(this::scheduleStarvation);
+    }
+
+    /**
+     * Switches between aging every animal every iteration and deriving the age from a clock of
+     * the ecosystem. With lazy aging every animal stores the tick it was born at, the tick it dies
+     * of old age at is scheduled when it is added or born, and {@link #advanceAgeClock()} replaces
+     * the aging pass over the whole population.
+     *
+     * @param lazyAging true to derive the age from a clock, false to age every animal every iteration
+     * @throws IllegalStateException if lazy aging is enabled while a population storage is set
+     */
+    public void setLazyAging(boolean lazyAging) {
+        if (lazyAging == isLazyAging()) return;
+        if (lazyAging) {
+            requireNoPopulationStorage("Lazy aging");
+            ageClock = new SimulationClock();
+            oldAgeScheduler = new DeathScheduler();
+            ecosystemGroupedAnimals.values().forEach(groups -> groups.values().forEach(group -> group.forEach(this::scheduleOldAge)));
+        } else {
+            ecosystemGroupedAnimals.values().forEach(groups -> groups.values().forEach(group -> group.forEach(animal -> animal.setAgeClock(null))));
+            ageClock = null;
+            oldAgeScheduler = null;
         }
-        int succeedAttackChance = (int) (((double) attackPoints / (attackPoints + escapePoints)) * 100);
+    }
 
-        if (!isPredatorHeavier(predator, victim)) {
-            succeedAttackChance = calculateReducedSucceedAttackChance(succeedAttackChance, predator, victim);
+    public boolean isLazyAging() {
+        return ageClock != null;
+    }
+
+    /**
+     * Lets all animals grow one iteration older by advancing the age clock,
+     * and buries the animals which reached their max age.
+     *
+     * @throws IllegalStateException if lazy aging is disabled
+     */
+    public void advanceAgeClock() {
+        if (ageClock == null) {
+            throw new IllegalStateException("Lazy aging is disabled");
         }
-        return probabilitiesService.getChanceForAttack() <= succeedAttackChance;
+        ageClock.advance();
+        for (Animal dueAnimal : oldAgeScheduler.pollDue(ageClock.getTicks())) {
+            if (dueAnimal.hasDiedFromOldAge()) {
+                buryDeadAnimal(dueAnimal, DeathCause.OLD_AGE);
+            } else {
+                oldAgeScheduler.schedule(dueAnimal, dueAnimal.getOldAgeTick());
+            }
+        }
+    }
+
+    /**
+     * Derives the age of an alive animal from the age clock and schedules its death of old age,
+     * if lazy aging is enabled.
+     *
+     * @param animal the added animal
+     */
+    private void scheduleOldAge(Animal animal) {
+        if (oldAgeScheduler == null || !animal.isAlive()) return;
+        if (animal.getAgeClock() != ageClock) {
+            animal.setAgeClock(ageClock);
+        }
+        oldAgeScheduler.schedule(animal, animal.getOldAgeTick());
+    }
+
+    /**
+     * Switches between aging every animal and increasing the hunger of every carnivore object by
+     * object, and keeping the ages, the hunger and the alive status of the population in a
+     * {@link PopulationStorage}. With a storage the animals read and write these fields through
+     * their slot in the storage, {@link #tickPopulationStorage()} replaces both the aging pass and
+     * the hunger pass with a single tick over the storage, and {@link #compactDeadAnimals()} moves
+     * the alive animals into a fresh storage. As the hunger grows in the aging phase, a carnivore
+     * whose hunger reached 100 starves before the breeding phase instead of after it.
+     *
+     * @param populationStorageFactory creates the storages, or {@code null} to keep the fields in the animals
+     * @throws IllegalStateException if lazy aging or scheduled starvation is enabled
+     */
+    public void setPopulationStorage(Supplier<? extends PopulationStorage> populationStorageFactory) {
+        if (populationStorageFactory != null && (isLazyAging() || isScheduledStarvation())) {
+            throw new IllegalStateException("Population storage cannot be combined with lazy aging or scheduled starvation");
+        }
+        this.populationStorageFactory = populationStorageFactory;
+        if (populationStorageFactory != null) {
+            rebuildPopulationStorage();
+            return;
+        }
+        if (populationStorage == null) return;
+        PopulationStorage previousStorage = populationStorage;
+        for (Animal storedAnimal : storedAnimals) {
+            if (storedAnimal.getStorage() == previousStorage) {
+                storedAnimal.detachFromStorage();
+            }
+        }
+        storedAnimals.clear();
+        populationStorage = null;
+        closePopulationStorage(previousStorage);
+    }
+
+    public boolean hasPopulationStorage() {
+        return populationStorage != null;
+    }
+
+    /**
+     * Ages all animals and increases the hunger of all carnivores in a single tick over the
+     * population storage, and buries the animals which died of old age or hunger.
+     * Only the dead animals are visited, unless a delta recorder has to be told the new hunger.
+     *
+     * @return the number of animals which died
+     * @throws IllegalStateException if no population storage is set
+     * @see PopulationStorage#tick(boolean[])
+     */
+    public int tickPopulationStorage() {
+        if (populationStorage == null) {
+            throw new IllegalStateException("No population storage is set");
+        }
+        int storedCount = populationStorage.size();
+        if (deathMask.length < storedCount) {
+            deathMask = new boolean[storedCount];
+        }
+        int deaths = populationStorage.tick(deathMask);
+        int remainingDeaths = deaths;
+        for (int index = 0; remainingDeaths > 0; index++) {
+            if (!deathMask[index]) continue;
+            remainingDeaths--;
+            Animal deadAnimal = storedAnimals.get(index);
+            DeathCause cause = deadAnimal.getCurrentAge() >= deadAnimal.getMaxAge() ? DeathCause.OLD_AGE : DeathCause.HUNGER;
+            buryDeadAnimal(deadAnimal, cause);
+        }
+        if (deltaRecorder != null) {
+            for (int index = 0; index < storedCount; index++) {
+                if (populationStorage.isAlive(index) && storedAnimals.get(index) instanceof Carnivore carnivore) {
+                    deltaRecorder.recordHunger(carnivore);
+                }
+            }
+        }
+        return deaths;
+    }
+
+    /**
+     * Moves an alive animal into the population storage, if one is set.
+     *
+     * @param animal the added animal
+     */
+    private void storeAnimal(Animal animal) {
+        if (populationStorage == null || !animal.isAlive()) return;
+        animal.attachToStorage(populationStorage, populationStorage.add(animal));
+        storedAnimals.add(animal);
+    }
+
+    /**
+     * Moves the alive animals into a new storage and closes the previous one.
+     */
+    private void rebuildPopulationStorage() {
+        PopulationStorage previousStorage = populationStorage;
+        populationStorage = populationStorageFactory.get();
+        storedAnimals.clear();
+        ecosystemGroupedAnimals.values().forEach(groups -> groups.values().forEach(group -> group.forEach(this::storeAnimal)));
+        closePopulationStorage(previousStorage);
+    }
+
+    private void closePopulationStorage(PopulationStorage storage) {
+        if (!(storage instanceof Closeable closeable)) return;
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close population storage", e);
+        }
+    }
+
+    private void requireNoPopulationStorage(String mode) {
+        if (populationStorage != null) {
+            throw new IllegalStateException(mode + " cannot be combined with a population storage");
+        }
+    }
+
+    /**
+     * Switches between testing the age of every animal in every breeding phase and keeping the
+     * animals in a {@link BreedingCalendar}, which only yields the animals due to breed. Animals are
+     * put into the calendar when they are added or born. Like the age test, the calendar skips
+     * animals which died in the iteration.
+     *
+     * @param scheduledBreeding true to keep the animals in a breeding calendar, false to test every animal
+     */
+    public void setScheduledBreeding(boolean scheduledBreeding) {
+        if (scheduledBreeding == isScheduledBreeding()) return;
+        if (scheduledBreeding) {
+            breedingCalendar = new BreedingCalendar();
+            ecosystemGroupedAnimals.values().forEach(groups -> groups.values().forEach(group -> group.forEach(this::scheduleBreeding)));
+        } else {
+            breedingCalendar = null;
+        }
+    }
+
+    public boolean isScheduledBreeding() {
+        return breedingCalendar != null;
+    }
+
+    /**
+     * Advances the breeding calendar by one breeding phase. Must be called once per iteration,
+     * after the animals aged.
+     *
+     * @return the alive animals which breed in this iteration
+     * @throws IllegalStateException if scheduled breeding is disabled
+     */
+    public List<Animal> pollAnimalsDueToBreed() {
+        if (breedingCalendar == null) {
+            throw new IllegalStateException("Scheduled breeding is disabled");
+        }
+        return breedingCalendar.advance();
+    }
+
+    /**
+     * Puts an alive animal into the breeding calendar, if scheduled breeding is enabled.
+     *
+     * @param animal the added animal
+     */
+    private void scheduleBreeding(Animal animal) {
+        if (breedingCalendar != null && animal.isAlive()) {
+            breedingCalendar.schedule(animal);
+        }
+    }
+
+    /**
+     * Reuses a removed dead animal of the parent's kind as its newborn, if animal pooling is enabled.
+     * The newborn still has to be added with {@link #addNewbornToEcosystem(Animal)}.
+     *
+     * @param parent the breeding parent
+     * @return the reused newborn, or {@code null} if no dead animal can be reused
+     */
+    public Animal reuseAnimalFor(Animal parent) {
+        return animalPool == null ? null : animalPool.acquire(parent);
     }
 
     /**
-     * Calculates the reduced chance of a successful attack depending on predator & victim weights.
+     * Removes the dead members of a group and releases them to the animal pool, if set.
      *
-     * @param succeedChance the initial succeedChance
-     * @param predator      the predator
-     * @param victim        the victim
-     * @return returns the reduced chance of a successful attack
+     * @param group the group to sweep
      */
-    private int calculateReducedSucceedAttackChance(int succeedChance, Carnivore predator, Herbivore victim) {
-        double ratio = (double) victim.getWeight() / predator.getWeight();
-        if (ratio >= 1) return succeedChance;
-        return (int) (succeedChance * ratio);
+    private void removeDeadMembers(List<Animal> group) {
+        group.removeIf(animal -> {
+            if (animal.isAlive()) return false;
+            releaseToPool(animal);
+            return true;
+        });
     }
 
     /**
-     * Calculates herbivore escape points bonus if the herbivore is in a group.
+     * Releases a dead animal which was removed from its group to the animal pool, if set.
+     * The animal is detached from the population storage first, so a pooled animal never keeps
+     * a storage reachable after the next compaction replaced it.
      *
-     * @param escapePoints the initial escape points
-     * @return returns the calculated group bonus
+     * @param deadAnimal the removed dead animal
      */
-    private int calculateHerbivoreGroupBonus(int escapePoints) {
-        return (int) Math.ceil(escapePoints * 0.3);
+    private void releaseToPool(Animal deadAnimal) {
+        if (animalPool != null) {
+            deadAnimal.detachFromStorage();
+            animalPool.release(deadAnimal);
+        }
     }
 
     /**
-     * Calculates scaled escape/attack points for an animal,
-     * which depends on the animal's current age and max age.
+     * Records an animal which left for a neighboring ecosystem in the statistics and, if set, in the delta recorder.
      *
-     * @param animal the animal as a parameter
-     * @return returns the calculated points
+     * @param migrant  the animal which left
+     * @param formerId the id the animal had in this ecosystem
      */
-    private int calculateScaledPoints(Animal animal) {
-        double scaledPoints = 1 - ((double) animal.getCurrentAge() / animal.getMaxAge());
-        return (int) Math.round(scaledPoints);
+    private void recordEmigration(Animal migrant, long formerId) {
+        statistics.recordEmigration(migrant);
+        if (deltaRecorder != null) {
+            deltaRecorder.recordEmigration(migrant, formerId);
+        }
+    }
+
+    /**
+     * Records the death of an animal in the statistics and, if set, in the delta recorder.
+     *
+     * @param deadAnimal the dead animal
+     * @param cause      the cause of the death
+     */
+    private void recordDeath(Animal deadAnimal, DeathCause cause) {
+        populations[deadAnimal.getAnimalType().ordinal()]--;
+        statistics.recordDeath(deadAnimal);
+        if (deltaRecorder != null) {
+            deltaRecorder.recordDeath(deadAnimal, cause);
+        }
+    }
+
+    /**
+     * Returns the members of a predator's group sharing its prey: the whole group, unless
+     * the group also holds members of other habitats, which cannot reach the prey.
+     *
+     * @param predator the successful carnivore
+     * @return the group members in the predator's habitat
+     */
+    private List<Animal> getFeedingGroup(Carnivore predator) {
+        List<Animal> predatorGroup = ecosystemGroupedAnimals.get(predator.getAnimalType()).get(predator.getGroupName());
+        if (!predator.isInGroup()) return predatorGroup;
+        for (Animal member : predatorGroup) {
+            if (member.getMainHabitat() != predator.getMainHabitat()) {
+                return predatorGroup.stream()
+                        .filter(groupMember -> groupMember.getMainHabitat() == predator.getMainHabitat())
+                        .toList();
+            }
+        }
+        return predatorGroup;
+    }
+
+    /**
+     * Records the hunger of the carnivores fed by a successful attack: the alive members
+     * of the group of a predator hunting in a group, otherwise the predator only.
+     *
+     * @param predator      the successful predator
+     * @param predatorGroup the group of the predator
+     */
+    private void recordHungerOfFed(Carnivore predator, List<Animal> predatorGroup) {
+        if (deltaRecorder == null) return;
+        if (!predator.isInGroup()) {
+            deltaRecorder.recordHunger(predator);
+            return;
+        }
+        for (Animal member : predatorGroup) {
+            if (member.isAlive() && member instanceof Carnivore carnivore) {
+                deltaRecorder.recordHunger(carnivore);
+            }
+        }
+    }
+
+    /**
+     * Removes a dead animal right away, or keeps it as a tombstone
+     * until the end of the iteration if deferred removal is enabled.
+     *
+     * @param target the dead animal
+     */
+    private void removeOrBuryDeadAnimal(Animal target) {
+        if (deferredRemoval) {
+            tombstones.add(target);
+        } else {
+            removeDeadAnimal(target);
+        }
+    }
+
+    /**
+     * Removes a dead animal from its group and removes the group if it becomes extinct.
+     *
+     * @param target the dead animal to remove
+     */
+    private void removeDeadAnimal(Animal target) {
+        System.out.println("Dead animal " + target.getAnimalKind() + " was removed!");
+        ecosystemGroupedAnimals.get(target.getAnimalType())
+                .get(target.getGroupName())
+                .removeIf(animal -> animal.getId() == target.getId());
+        if (ecosystemGroupedAnimals.get(target.getAnimalType()).get(target.getGroupName()).isEmpty()) {
+            removeExtinctGroup(target);
+        }
+        releaseToPool(target);
+    }
+
+    /**
+     * Removes the group of the given animal from the ecosystem, as the group has become extinct.
+     *
+     * @param target an animal whose group is extinct
+     */
+    private void removeExtinctGroup(Animal target) {
+        System.out.println("Group " + target.getGroupName() + " extincted and was removed!");
+        ecosystemGroupedAnimals.get(target.getAnimalType()).remove(target.getGroupName());
+        if (deltaRecorder != null) {
+            deltaRecorder.recordGroupExtinction(target.getAnimalType(), target.getGroupName());
+        }
+    }
+
+    /**
+     * Tries to apply an attack attempt on the victim,
+     * using the cached attack chances to determine
+     * the success percentage of the attack.
+     *
+     * @param predator the carnivore attacker
+     * @param victim   the herbivore victim
+     * @return returns true in case of success, otherwise false
+     */
+    private boolean isAttackSucceed(Carnivore predator, Herbivore victim) {
+        int succeedAttackChance = getSucceedAttackChance(predator, victim);
+        return probabilitiesService.getChanceForAttack() <= succeedAttackChance;
     }
 
     /**
@@ -220,22 +1073,38 @@ public class Ecosystem {
                 .orElseThrow(() -> new AnimalNotFoundException("Animal with id " + targetId + " not found"));
     }
 
+    public Biome getBiome() {
+        return biome;
+    }
+
+    public IdAllocator getIdAllocator() {
+        return idAllocator;
+    }
+
+    public Map<AnimalType, Map<String, List<Animal>>> getEcosystemGroupedAnimals() {
+        return ecosystemGroupedAnimals;
+    }
+
     /**
-     * Checks if the predator is heavier than the victim.
+     * Returns the number of alive animals of a type, which is counted as animals are added,
+     * die and migrate instead of walking the population. Must be called by the simulating thread.
      *
-     * @param predator the attacking animal
-     * @param victim   the animal being attacked
-     * @return true if a predator is heavier, false otherwise
+     * @param type the animal type
+     * @return the number of alive animals
      */
-    private boolean isPredatorHeavier(Carnivore predator, Herbivore victim) {
-        return predator.getWeight() > victim.getWeight();
+    public int getPopulation(AnimalType type) {
+        return populations[type.ordinal()];
     }
 
-    public Biome getBiome() {
-        return biome;
+    public IterationStatistics getStatistics() {
+        return statistics;
     }
 
-    public Map<AnimalType, Map<String, List<Animal>>> getEcosystemGroupedAnimals() {
-        return ecosystemGroupedAnimals;
+    public boolean isDeferredRemoval() {
+        return deferredRemoval;
+    }
+
+    public void setDeferredRemoval(boolean deferredRemoval) {
+        this.deferredRemoval = deferredRemoval;
     }
 }
@@ -0,0 +1,63 @@
+package models;
+
+import enums.AnimalType;
+import enums.Biome;
+
+import java.util.*;
+
+/**
+ * An immutable, consistent view of the alive population of an ecosystem at the end of an iteration.
+ * Snapshots can be read from any thread while the simulation goes on.
+ *
+ * @param iterationNumber the iteration after which the snapshot was taken, 0 before the first iteration
+ * @param biome           the biome of the ecosystem
+ * @param groupedAnimals  the alive animals by type and group
+ * @see Ecosystem#requestSnapshot()
+ * @see Ecosystem#getLatestSnapshot()
+ */
+public record EcosystemSnapshot(int iterationNumber,
+                                Biome biome,
+                                Map<AnimalType, Map<String, List<AnimalSnapshot>>> groupedAnimals) {
+
+    /**
+     * Takes a snapshot of the alive animals of the given groups. Groups without alive members are left out.
+     *
+     * @param iterationNumber the finished iteration
+     * @param biome           the biome of the ecosystem
+     * @param groupedAnimals  the live animal groups of the ecosystem
+     * @return the snapshot
+     */
+    public static EcosystemSnapshot of(int iterationNumber, Biome biome, Map<AnimalType, Map<String, List<Animal>>> groupedAnimals) {
+        Map<AnimalType, Map<String, List<AnimalSnapshot>>> snapshotGroups = new EnumMap<>(AnimalType.class);
+        for (AnimalType type : AnimalType.values()) {
+            Map<String, List<AnimalSnapshot>> typeGroups = new HashMap<>();
+            groupedAnimals.getOrDefault(type, Map.of()).forEach((groupName, animals) -> {
+                List<AnimalSnapshot> members = new ArrayList<>(animals.size());
+                for (Animal animal : animals) {
+                    if (animal.isAlive()) {
+                        members.add(AnimalSnapshot.of(animal));
+                    }
+                }
+                if (!members.isEmpty()) {
+                    typeGroups.put(groupName, List.copyOf(members));
+                }
+            });
+            snapshotGroups.put(type, Map.copyOf(typeGroups));
+        }
+        return new EcosystemSnapshot(iterationNumber, biome, Collections.unmodifiableMap(snapshotGroups));
+    }
+
+    /**
+     * Counts the alive animals of the given type.
+     *
+     * @param type the animal type
+     * @return the number of alive animals
+     */
+    public int getPopulation(AnimalType type) {
+        int population = 0;
+        for (List<AnimalSnapshot> members : groupedAnimals.getOrDefault(type, Map.of()).values()) {
+            population += members.size();
+        }
+        return population;
+    }
+}
@@ -0,0 +1,127 @@
+package models;
+
+import java.util.Arrays;
+
+/**
+ * A binary indexed (Fenwick) tree over non-negative weights, supporting weight updates
+ * and drawing an index with a probability proportional to its weight in {@code O(log n)}.
+ */
+public class FenwickTree {
+    private final double[] weights;
+    private final double[] tree;
+    private final int highestPowerOfTwo;
+
+    /**
+     * Builds the tree in linear time.
+     *
+     * @param weights the initial weights, which are copied
+     * @throws IllegalArgumentException if a weight is negative
+     */
+    public FenwickTree(double[] weights) {
+        this.weights = weights.clone();
+        this.tree = new double[weights.length + 1];
+        this.highestPowerOfTwo = weights.length == 0 ? 0 : Integer.highestOneBit(weights.length);
+        build();
+    }
+
+    /**
+     * Sets the weight of an index.
+     *
+     * @param index  the index
+     * @param weight the new weight
+     * @throws IllegalArgumentException if the weight is negative
+     */
+    public void set(int index, double weight) {
+        requireNonNegative(weight);
+        double delta = weight - weights[index];
+        weights[index] = weight;
+        for (int node = index + 1; node < tree.length; node += node & -node) {
+            tree[node] += delta;
+        }
+    }
+
+    public double get(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Returns the sum of all weights.
+     *
+     * @return the total weight
+     */
+    public double total() {
+        double sum = 0;
+        for (int node = weights.length; node > 0; node -= node & -node) {
+            sum += tree[node];
+        }
+        return sum;
+    }
+
+    /**
+     * Finds the index at which the running sum of the weights first exceeds the target,
+     * so a uniform target below {@link #total()} picks an index proportionally to its weight.
+     *
+     * @param target the target sum
+     * @return the found index, or -1 if all weights are 0
+     */
+    public int find(double target) {
+        int node = 0;
+        double remaining = target;
+        for (int step = highestPowerOfTwo; step > 0; step >>= 1) {
+            int next = node + step;
+            if (next < tree.length && tree[next] <= remaining) {
+                node = next;
+                remaining -= tree[next];
+            }
+        }
+        if (node < weights.length && weights[node] > 0) return node;
+        return findPositiveNear(node);
+    }
+
+    public int size() {
+        return weights.length;
+    }
+
+    /**
+     * Recomputes all sums from the weights, discarding the rounding errors of earlier updates.
+     */
+    public void rebuild() {
+        build();
+    }
+
+    /**
+     * Computes all sums from the weights in linear time.
+     */
+    private void build() {
+        Arrays.fill(tree, 0);
+        for (int index = 0; index < weights.length; index++) {
+            requireNonNegative(weights[index]);
+            int node = index + 1;
+            tree[node] += weights[index];
+            int parent = node + (node & -node);
+            if (parent < tree.length) {
+                tree[parent] += tree[node];
+            }
+        }
+    }
+
+    /**
+     * Falls back to the closest index with a positive weight, for targets which ended on a zero
+     * weight or past the last index because of accumulated rounding errors.
+     */
+    private int findPositiveNear(int index) {
+        for (int candidate = Math.min(index, weights.length - 1); candidate >= 0; candidate--) {
+            if (weights[candidate] > 0) return candidate;
+        }
+        for (int candidate = index + 1; candidate < weights.length; candidate++) {
+            if (weights[candidate] > 0) return candidate;
+        }
+        return -1;
+    }
+
+    private static void requireNonNegative(double weight) {
+        if (weight < 0 || Double.isNaN(weight)) {
+            throw new IllegalArgumentException("Weight must not be negative but was " + weight);
+        }
+    }
+}
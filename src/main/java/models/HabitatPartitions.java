@@ -0,0 +1,103 @@
+package models;
+
+import enums.AnimalType;
+import enums.Habitat;
+
+import java.util.*;
+
+/**
+ * The alive animals of an iteration split by their main habitat, collected in a single pass.
+ * Predators only meet the prey of the habitats they can hunt in, see {@link Habitat#canHunt(Habitat)}:
+ * land and water animals stay among themselves, while air predators also hunt land prey.
+ * Each carnivore therefore only chooses among the herbivores of its partitions, and water
+ * animals never share candidates with the others.
+ */
+public class HabitatPartitions {
+    private final Map<AnimalType, Map<Habitat, List<Animal>>> partitions = new EnumMap<>(AnimalType.class);
+
+    /**
+     * Splits the alive animals of the given groups by habitat.
+     *
+     * @param carnivoreLists the carnivore groups
+     * @param herbivoreLists the herbivore groups
+     */
+    public HabitatPartitions(Collection<List<Animal>> carnivoreLists, Collection<List<Animal>> herbivoreLists) {
+        partitions.put(AnimalType.CARNIVORE, partition(carnivoreLists));
+        partitions.put(AnimalType.HERBIVORE, partition(herbivoreLists));
+    }
+
+    /**
+     * Returns the habitats which hold alive animals of the given type, in declaration order.
+     *
+     * @param type the animal type
+     * @return the habitats of the type
+     */
+    public Set<Habitat> getHabitats(AnimalType type) {
+        return partitions.get(type).keySet();
+    }
+
+    /**
+     * Returns the animals of a type living in a habitat, in the order of their groups.
+     * Animals which died after the partitioning are still included.
+     *
+     * @param type    the animal type
+     * @param habitat the habitat
+     * @return the animals of the partition
+     */
+    public List<Animal> getAnimals(AnimalType type, Habitat habitat) {
+        return partitions.get(type).getOrDefault(habitat, List.of());
+    }
+
+    /**
+     * Returns the animals of a type of all habitats, partition after partition.
+     *
+     * @param type the animal type
+     * @return the animals of all partitions
+     */
+    public List<Animal> getAnimals(AnimalType type) {
+        List<Animal> animals = new ArrayList<>();
+        partitions.get(type).values().forEach(animals::addAll);
+        return animals;
+    }
+
+    /**
+     * Returns the herbivores still alive which predators of the given habitat can hunt.
+     *
+     * @param predatorHabitat the habitat of the predators
+     * @return the alive prey of the habitat
+     */
+    public List<Animal> getAlivePrey(Habitat predatorHabitat) {
+        List<Animal> prey = new ArrayList<>();
+        partitions.get(AnimalType.HERBIVORE).forEach((habitat, herbivores) -> {
+            if (!predatorHabitat.canHunt(habitat)) return;
+            for (Animal herbivore : herbivores) {
+                if (herbivore.isAlive()) {
+                    prey.add(herbivore);
+                }
+            }
+        });
+        return prey;
+    }
+
+    /**
+     * Checks whether no partition holds an animal of the given type.
+     *
+     * @param type the animal type
+     * @return true if the type is extinct in every habitat, false otherwise
+     */
+    public boolean isExtinct(AnimalType type) {
+        return partitions.get(type).isEmpty();
+    }
+
+    private static Map<Habitat, List<Animal>> partition(Collection<List<Animal>> animalLists) {
+        Map<Habitat, List<Animal>> animalsByHabitat = new EnumMap<>(Habitat.class);
+        for (List<Animal> animals : animalLists) {
+            for (Animal animal : animals) {
+                if (animal.isAlive()) {
+                    animalsByHabitat.computeIfAbsent(animal.getMainHabitat(), habitat -> new ArrayList<>()).add(animal);
+                }
+            }
+        }
+        return animalsByHabitat;
+    }
+}
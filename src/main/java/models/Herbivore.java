@@ -11,10 +11,14 @@ import java.util.Set;
 /**
  * Represents a herbivorous animal that Extends the base {@link Animal} class
  * with herbivore-specific attributes. Herbivores have specialized escape
- * capabilities to avoid predators.
+ * capabilities to avoid predators. If the ecosystem has vegetation, herbivores
+ * grow hungry when they cannot graze enough and starve like carnivores.
  */
 public class Herbivore extends Animal {
+    public static final double HUNGER_RATE = 25;
+    public static final double FOOD_DEMAND_PER_WEIGHT = 0.05;
     private final int escapePoints;
+    private double currentHunger;
 
     public Herbivore(Set<Biome> biomes,
                      int currentAge,
@@ -63,6 +67,59 @@ public class Herbivore extends Animal {
         throw new InvalidBreedingException("Expected " + getAnimalKind() + " animal kind but was " + animal.getAnimalKind() + "!");
     }
 
+    /**
+     * {@inheritDoc}
+     * The reused herbivore starts without hunger.
+     */
+    @Override
+    protected void reincarnate(Animal parent) {
+        super.reincarnate(parent);
+        System.out.println("New herbivore " + getAnimalKind() + " was born!");
+        currentHunger = 0;
+    }
+
+    /**
+     * Updates the hunger after grazing: it grows by the hunger rate for the unfed share
+     * of the demand and drops by the hunger rate for the fed share, but never below 0.
+     *
+     * @param fedShare the share of the food demand the herbivore could eat, from 0 to 1
+     */
+    public void graze(double fedShare) {
+        currentHunger = Math.max(0, currentHunger + HUNGER_RATE * (1 - 2 * fedShare));
+    }
+
+    /**
+     * Checks if this herbivore has starved to death. Sets alive status to false
+     * if hunger reaches 100%.
+     *
+     * @return true if animal died from hunger, false otherwise
+     */
+    protected boolean hasDiedFromHunger() {
+        if (currentHunger >= 100) {
+            System.out.println("Herbivore died " + getAnimalKind() + " from hunger!");
+            setAlive(false);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the biomass this herbivore needs per iteration, proportional to its weight.
+     *
+     * @return the food demand
+     */
+    public double getFoodDemand() {
+        return getWeight() * FOOD_DEMAND_PER_WEIGHT;
+    }
+
+    public double getCurrentHunger() {
+        return currentHunger;
+    }
+
+    public void setCurrentHunger(double currentHunger) {
+        this.currentHunger = currentHunger;
+    }
+
     public int getEscapePoints() {
         return escapePoints;
     }
@@ -0,0 +1,55 @@
+package models;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe generator of unique animal ids.
+ * <p>
+ * Each thread reserves a block of consecutive ids from a shared atomic counter and
+ * hands them out without further synchronization, so creating animals from many
+ * threads never contends on a single counter. Ids created by a single thread are
+ * consecutive, which keeps them dense enough to be used as array indexes.
+ * <p>
+ * Every ecosystem assigns the ids of its animals from its allocator, which is shared by
+ * the ecosystems of a region, so ids are unique among the animals which can meet.
+ *
+ * @see Animal#getId()
+ * @see Ecosystem#getIdAllocator()
+ */
+public class IdAllocator {
+    private static final int DEFAULT_BLOCK_SIZE = 64;
+    private final AtomicLong nextBlockStart = new AtomicLong();
+    private final ThreadLocal<IdBlock> currentBlock = ThreadLocal.withInitial(IdBlock::new);
+    private final int blockSize;
+
+    public IdAllocator() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public IdAllocator(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive but was " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Returns the next id of the calling thread's block,
+     * reserving a new block when the current one is used up.
+     *
+     * @return a unique id
+     */
+    public long nextId() {
+        IdBlock block = currentBlock.get();
+        if (block.next == block.end) {
+            block.next = nextBlockStart.getAndAdd(blockSize);
+            block.end = block.next + blockSize;
+        }
+        return block.next++;
+    }
+
+    private static final class IdBlock {
+        private long next;
+        private long end;
+    }
+}
@@ -0,0 +1,63 @@
+package models;
+
+import enums.AnimalType;
+import enums.DeathCause;
+
+import java.util.List;
+
+/**
+ * The changes an ecosystem went through during a single simulation iteration.
+ * Consumers apply deltas to their own view of the ecosystem instead of
+ * walking all groups after every iteration.
+ *
+ * @param iterationNumber  the finished iteration
+ * @param births           the animals born during the iteration
+ * @param deaths           the animals which died during the iteration
+ * @param hungerChanges    the carnivores whose hunger changed by at least the reporting threshold
+ * @param groupExtinctions the groups which lost their last member during the iteration
+ * @param emigrations      the animals which left for a neighboring ecosystem, with the id they had here
+ * @param immigrations     the animals which arrived from a neighboring ecosystem, with their new id
+ * @see IterationDeltaRecorder
+ */
+public record IterationDelta(int iterationNumber,
+                             List<Birth> births,
+                             List<Death> deaths,
+                             List<HungerChange> hungerChanges,
+                             List<GroupExtinction> groupExtinctions,
+                             List<Migration> emigrations,
+                             List<Migration> immigrations) {
+
+    public IterationDelta {
+        births = List.copyOf(births);
+        deaths = List.copyOf(deaths);
+        hungerChanges = List.copyOf(hungerChanges);
+        groupExtinctions = List.copyOf(groupExtinctions);
+        emigrations = List.copyOf(emigrations);
+        immigrations = List.copyOf(immigrations);
+    }
+
+    public record Birth(long animalId, String animalKind, AnimalType animalType, String groupName) {
+    }
+
+    public record Death(long animalId, AnimalType animalType, String groupName, DeathCause cause) {
+    }
+
+    public record HungerChange(long animalId, double currentHunger) {
+    }
+
+    public record GroupExtinction(AnimalType animalType, String groupName) {
+    }
+
+    public record Migration(long animalId, String animalKind, AnimalType animalType, String groupName) {
+    }
+
+    /**
+     * Checks whether nothing changed during the iteration.
+     *
+     * @return true if the delta holds no changes, false otherwise
+     */
+    public boolean isEmpty() {
+        return births.isEmpty() && deaths.isEmpty() && hungerChanges.isEmpty() && groupExtinctions.isEmpty()
+                && emigrations.isEmpty() && immigrations.isEmpty();
+    }
+}
@@ -0,0 +1,113 @@
+package models;
+
+import enums.AnimalType;
+import enums.DeathCause;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the changes of an ecosystem while an iteration runs and hands them out
+ * as an {@link IterationDelta} once it is finished.
+ * <p>
+ * Hunger changes are only reported once the hunger of a carnivore moved by at least
+ * the threshold since it was last reported, so slowly starving animals do not produce
+ * an event every iteration.
+ *
+ * @see Ecosystem#setDeltaRecorder(IterationDeltaRecorder)
+ */
+public class IterationDeltaRecorder {
+    private final double hungerThreshold;
+    private final Map<Long, Double> reportedHunger = new HashMap<>();
+    private final Map<Long, IterationDelta.HungerChange> hungerChanges = new HashMap<>();
+    private final List<IterationDelta.Birth> births = new ArrayList<>();
+    private final List<IterationDelta.Death> deaths = new ArrayList<>();
+    private final List<IterationDelta.GroupExtinction> groupExtinctions = new ArrayList<>();
+    private final List<IterationDelta.Migration> emigrations = new ArrayList<>();
+    private final List<IterationDelta.Migration> immigrations = new ArrayList<>();
+
+    /**
+     * @param hungerThreshold the minimal hunger change which is reported
+     * @throws IllegalArgumentException if the threshold is negative
+     */
+    public IterationDeltaRecorder(double hungerThreshold) {
+        if (hungerThreshold < 0) {
+            throw new IllegalArgumentException("Hunger threshold must not be negative");
+        }
+        this.hungerThreshold = hungerThreshold;
+    }
+
+    public void recordBirth(Animal newborn) {
+        births.add(new IterationDelta.Birth(newborn.getId(), newborn.getAnimalKind(),
+                newborn.getAnimalType(), newborn.getGroupName()));
+    }
+
+    /**
+     * Records the death of an animal. Pending hunger changes of the animal are dropped.
+     *
+     * @param deadAnimal the dead animal
+     * @param cause      the cause of the death
+     */
+    public void recordDeath(Animal deadAnimal, DeathCause cause) {
+        deaths.add(new IterationDelta.Death(deadAnimal.getId(), deadAnimal.getAnimalType(),
+                deadAnimal.getGroupName(), cause));
+        reportedHunger.remove(deadAnimal.getId());
+        hungerChanges.remove(deadAnimal.getId());
+    }
+
+    /**
+     * Records the current hunger of a carnivore if it differs from the last
+     * reported hunger by at least the threshold.
+     *
+     * @param carnivore the carnivore whose hunger changed
+     */
+    public void recordHunger(Carnivore carnivore) {
+        double currentHunger = carnivore.getCurrentHunger();
+        double lastReportedHunger = reportedHunger.getOrDefault(carnivore.getId(), 0.0);
+        if (Math.abs(currentHunger - lastReportedHunger) < hungerThreshold) return;
+        reportedHunger.put(carnivore.getId(), currentHunger);
+        hungerChanges.put(carnivore.getId(), new IterationDelta.HungerChange(carnivore.getId(), currentHunger));
+    }
+
+    public void recordGroupExtinction(AnimalType type, String groupName) {
+        groupExtinctions.add(new IterationDelta.GroupExtinction(type, groupName));
+    }
+
+    /**
+     * Records an animal which left for a neighboring ecosystem. Pending hunger changes of the animal are dropped.
+     *
+     * @param migrant  the animal which left
+     * @param formerId the id the animal had in the ecosystem it left
+     */
+    public void recordEmigration(Animal migrant, long formerId) {
+        emigrations.add(new IterationDelta.Migration(formerId, migrant.getAnimalKind(),
+                migrant.getAnimalType(), migrant.getGroupName()));
+        reportedHunger.remove(formerId);
+        hungerChanges.remove(formerId);
+    }
+
+    public void recordImmigration(Animal migrant) {
+        immigrations.add(new IterationDelta.Migration(migrant.getId(), migrant.getAnimalKind(),
+                migrant.getAnimalType(), migrant.getGroupName()));
+    }
+
+    /**
+     * Returns the changes recorded since the last call and starts recording the next iteration.
+     *
+     * @param iterationNumber the finished iteration
+     * @return the recorded changes
+     */
+    public IterationDelta drain(int iterationNumber) {
+        IterationDelta delta = new IterationDelta(iterationNumber, births, deaths,
+                new ArrayList<>(hungerChanges.values()), groupExtinctions, emigrations, immigrations);
+        births.clear();
+        deaths.clear();
+        groupExtinctions.clear();
+        emigrations.clear();
+        immigrations.clear();
+        hungerChanges.clear();
+        return delta;
+    }
+}
@@ -0,0 +1,121 @@
+package models;
+
+import enums.AnimalType;
+
+import java.util.*;
+
+/**
+ * Counts the births, deaths, kills and migrations of every animal group during a single
+ * simulation iteration. The counters are reset at the start of each iteration,
+ * so memory usage does not depend on the length of the simulation.
+ *
+ * @see Ecosystem#getStatistics()
+ */
+public class IterationStatistics {
+    private final Map<AnimalType, Map<String, Integer>> births = new EnumMap<>(AnimalType.class);
+    private final Map<AnimalType, Map<String, Integer>> deaths = new EnumMap<>(AnimalType.class);
+    private final Map<AnimalType, Map<String, Integer>> kills = new EnumMap<>(AnimalType.class);
+    private final Map<AnimalType, Map<String, Integer>> emigrations = new EnumMap<>(AnimalType.class);
+    private final Map<AnimalType, Map<String, Integer>> immigrations = new EnumMap<>(AnimalType.class);
+
+    /**
+     * Records a newborn in its group.
+     *
+     * @param newborn the born animal
+     */
+    public void recordBirth(Animal newborn) {
+        increment(births, newborn);
+    }
+
+    /**
+     * Records the death of an animal in its group, whatever the cause.
+     *
+     * @param deadAnimal the dead animal
+     */
+    public void recordDeath(Animal deadAnimal) {
+        increment(deaths, deadAnimal);
+    }
+
+    /**
+     * Records a successful hunt in the group of the predator.
+     *
+     * @param predator the predator which killed its victim
+     */
+    public void recordKill(Animal predator) {
+        increment(kills, predator);
+    }
+
+    /**
+     * Records an animal which left its group for a neighboring ecosystem.
+     *
+     * @param migrant the animal which left
+     */
+    public void recordEmigration(Animal migrant) {
+        increment(emigrations, migrant);
+    }
+
+    /**
+     * Records an animal which joined its group from a neighboring ecosystem.
+     *
+     * @param migrant the animal which arrived
+     */
+    public void recordImmigration(Animal migrant) {
+        increment(immigrations, migrant);
+    }
+
+    public int getBirths(AnimalType type, String groupName) {
+        return count(births, type, groupName);
+    }
+
+    public int getDeaths(AnimalType type, String groupName) {
+        return count(deaths, type, groupName);
+    }
+
+    public int getKills(AnimalType type, String groupName) {
+        return count(kills, type, groupName);
+    }
+
+    public int getEmigrations(AnimalType type, String groupName) {
+        return count(emigrations, type, groupName);
+    }
+
+    public int getImmigrations(AnimalType type, String groupName) {
+        return count(immigrations, type, groupName);
+    }
+
+    /**
+     * Returns the names of all groups of the given type with at least one recorded event.
+     *
+     * @param type the animal type
+     * @return the group names
+     */
+    public Set<String> getGroupNames(AnimalType type) {
+        Set<String> groupNames = new HashSet<>();
+        groupNames.addAll(births.getOrDefault(type, Map.of()).keySet());
+        groupNames.addAll(deaths.getOrDefault(type, Map.of()).keySet());
+        groupNames.addAll(kills.getOrDefault(type, Map.of()).keySet());
+        groupNames.addAll(emigrations.getOrDefault(type, Map.of()).keySet());
+        groupNames.addAll(immigrations.getOrDefault(type, Map.of()).keySet());
+        return groupNames;
+    }
+
+    /**
+     * Clears all counters before a new iteration starts.
+     */
+    public void reset() {
+        births.clear();
+        deaths.clear();
+        kills.clear();
+        emigrations.clear();
+        immigrations.clear();
+    }
+
+    private void increment(Map<AnimalType, Map<String, Integer>> counters, Animal animal) {
+        counters.computeIfAbsent(animal.getAnimalType(), type -> new HashMap<>())
+                .merge(animal.getGroupName(), 1, Integer::sum);
+    }
+
+    private int count(Map<AnimalType, Map<String, Integer>> counters, AnimalType type, String groupName) {
+        return counters.getOrDefault(type, Map.of()).getOrDefault(groupName, 0);
+    }
+}
@@ -0,0 +1,259 @@
+package models;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Stores the per-animal fields of a population outside of the Java heap, so the garbage
+ * collector never has to trace them and GC time does not grow with the population size.
+ * <p>
+ * Every animal occupies one fixed-size record:
+ * <pre>
+ * offset  size  field
+ *      0     8  id
+ *      8     8  current hunger
+ *     16     8  hunger rate
+ *     24     4  current age
+ *     28     4  max age
+ *     32     4  weight
+ *     36     4  reproductive rate
+ *     40     4  attack points (carnivores) or escape points (herbivores)
+ *     44     4  flags (alive, in group, carnivore)
+ * </pre>
+ * Records are kept in chunks of direct memory, or of a memory-mapped file when the store is
+ * opened with {@link #map(Path)}, so a population can exceed the available RAM and grows
+ * chunk by chunk without copying.
+ *
+ * @see PopulationStorage
+ */
+public class OffHeapPopulationStore implements PopulationStorage, Closeable {
+    public static final int RECORD_SIZE = 48;
+    private static final int ID_OFFSET = 0;
+    private static final int HUNGER_OFFSET = 8;
+    private static final int HUNGER_RATE_OFFSET = 16;
+    private static final int AGE_OFFSET = 24;
+    private static final int MAX_AGE_OFFSET = 28;
+    private static final int WEIGHT_OFFSET = 32;
+    private static final int REPRODUCTIVE_RATE_OFFSET = 36;
+    private static final int POINTS_OFFSET = 40;
+    private static final int FLAGS_OFFSET = 44;
+    private static final int ALIVE_FLAG = 1;
+    private static final int IN_GROUP_FLAG = 1 << 1;
+    private static final int CARNIVORE_FLAG = 1 << 2;
+    private static final int CHUNK_SHIFT = 16;
+    private static final int RECORDS_PER_CHUNK = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = RECORDS_PER_CHUNK - 1;
+    private static final double MAX_HUNGER = 100;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final FileChannel fileChannel;
+    private int size;
+
+    private OffHeapPopulationStore(FileChannel fileChannel) {
+        this.fileChannel = fileChannel;
+    }
+
+    /**
+     * Creates a store backed by direct memory.
+     *
+     * @return the created store
+     */
+    public static OffHeapPopulationStore allocate() {
+        return new OffHeapPopulationStore(null);
+    }
+
+    /**
+     * Creates a store backed by a memory-mapped file, replacing any existing file.
+     *
+     * @param path the file holding the records
+     * @return the created store
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    public static OffHeapPopulationStore map(Path path) {
+        try {
+            return new OffHeapPopulationStore(FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open population file " + path, e);
+        }
+    }
+
+    @Override
+    public int add(Animal animal) {
+        int index = size;
+        if ((index & CHUNK_MASK) == 0 && index >> CHUNK_SHIFT == chunks.size()) {
+            chunks.add(newChunk(chunks.size()));
+        }
+        ByteBuffer chunk = chunk(index);
+        int offset = offset(index);
+        int points = 0;
+        double hungerRate = 0;
+        double hunger = 0;
+        int flags = animal.isAlive() ? ALIVE_FLAG : 0;
+        if (animal.isInGroup()) flags |= IN_GROUP_FLAG;
+        if (animal instanceof Carnivore carnivore) {
+            flags |= CARNIVORE_FLAG;
+            points = carnivore.getAttackPoints();
+            hungerRate = carnivore.getHungerRate();
+            hunger = carnivore.getCurrentHunger();
+        } else if (animal instanceof Herbivore herbivore) {
+            points = herbivore.getEscapePoints();
+        }
+        chunk.putLong(offset + ID_OFFSET, animal.getId());
+        chunk.putDouble(offset + HUNGER_OFFSET, hunger);
+        chunk.putDouble(offset + HUNGER_RATE_OFFSET, hungerRate);
+        chunk.putInt(offset + AGE_OFFSET, animal.getCurrentAge());
+        chunk.putInt(offset + MAX_AGE_OFFSET, animal.getMaxAge());
+        chunk.putInt(offset + WEIGHT_OFFSET, animal.getWeight());
+        chunk.putInt(offset + REPRODUCTIVE_RATE_OFFSET, animal.getReproductiveRate());
+        chunk.putInt(offset + POINTS_OFFSET, points);
+        chunk.putInt(offset + FLAGS_OFFSET, flags);
+        return size++;
+    }
+
+    @Override
+    public int tick(boolean[] deathMask) {
+        if (deathMask.length < size) {
+            throw new IllegalArgumentException("Death mask must hold at least " + size + " entries");
+        }
+        int deaths = 0;
+        for (int index = 0; index < size; index++) {
+            ByteBuffer chunk = chunk(index);
+            int offset = offset(index);
+            int flags = chunk.getInt(offset + FLAGS_OFFSET);
+            if ((flags & ALIVE_FLAG) == 0) {
+                deathMask[index] = false;
+                continue;
+            }
+            int age = chunk.getInt(offset + AGE_OFFSET) + 1;
+            double hunger = chunk.getDouble(offset + HUNGER_OFFSET);
+            chunk.putInt(offset + AGE_OFFSET, age);
+            boolean isDead = age >= chunk.getInt(offset + MAX_AGE_OFFSET) || hunger >= MAX_HUNGER;
+            if (isDead) {
+                chunk.putInt(offset + FLAGS_OFFSET, flags & ~ALIVE_FLAG);
+                deaths++;
+            } else {
+                chunk.putDouble(offset + HUNGER_OFFSET, hunger + chunk.getDouble(offset + HUNGER_RATE_OFFSET));
+            }
+            deathMask[index] = isDead;
+        }
+        return deaths;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long getId(int index) {
+        return chunk(checkIndex(index)).getLong(offset(index) + ID_OFFSET);
+    }
+
+    @Override
+    public int getAge(int index) {
+        return chunk(checkIndex(index)).getInt(offset(index) + AGE_OFFSET);
+    }
+
+    @Override
+    public double getHunger(int index) {
+        return chunk(checkIndex(index)).getDouble(offset(index) + HUNGER_OFFSET);
+    }
+
+    @Override
+    public void setAge(int index, int age) {
+        chunk(checkIndex(index)).putInt(offset(index) + AGE_OFFSET, age);
+    }
+
+    @Override
+    public void setHunger(int index, double hunger) {
+        chunk(checkIndex(index)).putDouble(offset(index) + HUNGER_OFFSET, hunger);
+    }
+
+    public int getMaxAge(int index) {
+        return chunk(checkIndex(index)).getInt(offset(index) + MAX_AGE_OFFSET);
+    }
+
+    public int getWeight(int index) {
+        return chunk(checkIndex(index)).getInt(offset(index) + WEIGHT_OFFSET);
+    }
+
+    public int getReproductiveRate(int index) {
+        return chunk(checkIndex(index)).getInt(offset(index) + REPRODUCTIVE_RATE_OFFSET);
+    }
+
+    public int getPoints(int index) {
+        return chunk(checkIndex(index)).getInt(offset(index) + POINTS_OFFSET);
+    }
+
+    @Override
+    public boolean isAlive(int index) {
+        return hasFlag(index, ALIVE_FLAG);
+    }
+
+    @Override
+    public void setAlive(int index, boolean alive) {
+        int offset = offset(checkIndex(index));
+        int flags = chunk(index).getInt(offset + FLAGS_OFFSET);
+        chunk(index).putInt(offset + FLAGS_OFFSET, alive ? flags | ALIVE_FLAG : flags & ~ALIVE_FLAG);
+    }
+
+    public boolean isInGroup(int index) {
+        return hasFlag(index, IN_GROUP_FLAG);
+    }
+
+    public boolean isCarnivore(int index) {
+        return hasFlag(index, CARNIVORE_FLAG);
+    }
+
+    /**
+     * Writes the mapped records to the file, if the store is file backed, and closes the file.
+     * Direct memory is released once the store becomes unreachable.
+     */
+    @Override
+    public void close() throws IOException {
+        if (fileChannel == null) return;
+        for (ByteBuffer chunk : chunks) {
+            ((MappedByteBuffer) chunk).force();
+        }
+        fileChannel.close();
+    }
+
+    private boolean hasFlag(int index, int flag) {
+        return (chunk(checkIndex(index)).getInt(offset(index) + FLAGS_OFFSET) & flag) != 0;
+    }
+
+    private ByteBuffer newChunk(int chunkNumber) {
+        long chunkBytes = (long) RECORDS_PER_CHUNK * RECORD_SIZE;
+        if (fileChannel == null) {
+            return ByteBuffer.allocateDirect((int) chunkBytes).order(ByteOrder.nativeOrder());
+        }
+        try {
+            return fileChannel.map(FileChannel.MapMode.READ_WRITE, chunkNumber * chunkBytes, chunkBytes)
+                    .order(ByteOrder.nativeOrder());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map population chunk " + chunkNumber, e);
+        }
+    }
+
+    private ByteBuffer chunk(int index) {
+        return chunks.get(index >> CHUNK_SHIFT);
+    }
+
+    private int offset(int index) {
+        return (index & CHUNK_MASK) * RECORD_SIZE;
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+}
@@ -0,0 +1,53 @@
+package models;
+
+/**
+ * Storage of the per-iteration bookkeeping fields of a population outside of the
+ * {@link Animal} objects, indexed by the position of each animal in the storage.
+ * Implementations decide where the fields live, e.g. on-heap primitive arrays
+ * or off-heap memory.
+ *
+ * @see PopulationStore
+ * @see OffHeapPopulationStore
+ */
+public interface PopulationStorage {
+
+    /**
+     * Appends an animal to the storage, copying its age, hunger and alive status.
+     *
+     * @param animal the animal to append
+     * @return the index of the animal inside the storage
+     */
+    int add(Animal animal);
+
+    /**
+     * Ticks every alive animal once, in the order of {@link Animal#growUp(int)} followed by
+     * the hunger pass: the animal is aged by one unit and dies of old age once its age reaches
+     * its max age. A surviving animal whose hunger already reached 100 dies of hunger,
+     * otherwise its hunger grows by its hunger rate.
+     * <p>
+     * Animals which are already dead, because they died in an earlier tick or were marked with
+     * {@link #setAlive(int, boolean)}, are neither aged nor marked again and their mask entry is
+     * set to false. Animals dying during the tick are marked as dead in the storage.
+     *
+     * @param deathMask mask of at least {@link #size()} entries, set to true for every animal which died during the tick
+     * @return the number of animals which died during the tick
+     * @throws IllegalArgumentException if the mask is shorter than the storage
+     */
+    int tick(boolean[] deathMask);
+
+    int size();
+
+    long getId(int index);
+
+    int getAge(int index);
+
+    void setAge(int index, int age);
+
+    double getHunger(int index);
+
+    void setHunger(int index, double hunger);
+
+    boolean isAlive(int index);
+
+    void setAlive(int index, boolean alive);
+}
@@ -0,0 +1,152 @@
+package models;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Columnar storage of the per-iteration bookkeeping fields of a population.
+ * <p>
+ * Ages, max ages, hunger levels, hunger rates and alive flags are kept in parallel primitive arrays
+ * indexed by the position of the animal in the store, so aging and hunger ticks run as
+ * plain counted loops over contiguous memory instead of chasing {@link Animal} references.
+ * The loops are kept free of branches and calls so the JIT can compile them to SIMD
+ * instructions.
+ * <p>
+ * Herbivores are stored with a hunger rate of zero, so only carnivores can starve.
+ *
+ * @see PopulationStorage
+ * @see Animal#growUp(int)
+ * @see Carnivore#increaseHunger()
+ */
+public class PopulationStore implements PopulationStorage {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final double MAX_HUNGER = 100;
+    private long[] ids;
+    private int[] ages;
+    private int[] maxAges;
+    private double[] hungers;
+    private double[] hungerRates;
+    private boolean[] alive;
+    private int size;
+
+    public PopulationStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public PopulationStore(int capacity) {
+        int initialCapacity = Math.max(capacity, 1);
+        ids = new long[initialCapacity];
+        ages = new int[initialCapacity];
+        maxAges = new int[initialCapacity];
+        hungers = new double[initialCapacity];
+        hungerRates = new double[initialCapacity];
+        alive = new boolean[initialCapacity];
+    }
+
+    /**
+     * Creates a store holding the given animal groups.
+     *
+     * @param animalGroups the animal groups to copy into the store
+     * @return the created store
+     */
+    public static PopulationStore of(Collection<List<Animal>> animalGroups) {
+        int total = animalGroups.stream().mapToInt(List::size).sum();
+        PopulationStore store = new PopulationStore(total);
+        animalGroups.forEach(animals -> animals.forEach(store::add));
+        return store;
+    }
+
+    @Override
+    public int add(Animal animal) {
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = animal.getId();
+        ages[size] = animal.getCurrentAge();
+        maxAges[size] = animal.getMaxAge();
+        alive[size] = animal.isAlive();
+        if (animal instanceof Carnivore carnivore) {
+            hungers[size] = carnivore.getCurrentHunger();
+            hungerRates[size] = carnivore.getHungerRate();
+        }
+        return size++;
+    }
+
+    @Override
+    public int tick(boolean[] deathMask) {
+        if (deathMask.length < size) {
+            throw new IllegalArgumentException("Death mask must hold at least " + size + " entries");
+        }
+        for (int i = 0; i < size; i++) {
+            ages[i] += alive[i] ? 1 : 0;
+        }
+        int deaths = 0;
+        for (int i = 0; i < size; i++) {
+            boolean diedOfOldAge = alive[i] & ages[i] >= maxAges[i];
+            boolean diedOfHunger = alive[i] & !diedOfOldAge & hungers[i] >= MAX_HUNGER;
+            boolean survived = alive[i] & !diedOfOldAge & !diedOfHunger;
+            hungers[i] += survived ? hungerRates[i] : 0;
+            boolean isDead = diedOfOldAge | diedOfHunger;
+            alive[i] = survived;
+            deathMask[i] = isDead;
+            deaths += isDead ? 1 : 0;
+        }
+        return deaths;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long getId(int index) {
+        return ids[checkIndex(index)];
+    }
+
+    @Override
+    public int getAge(int index) {
+        return ages[checkIndex(index)];
+    }
+
+    @Override
+    public void setAge(int index, int age) {
+        ages[checkIndex(index)] = age;
+    }
+
+    @Override
+    public double getHunger(int index) {
+        return hungers[checkIndex(index)];
+    }
+
+    @Override
+    public void setHunger(int index, double hunger) {
+        hungers[checkIndex(index)] = hunger;
+    }
+
+    @Override
+    public boolean isAlive(int index) {
+        return alive[checkIndex(index)];
+    }
+
+    @Override
+    public void setAlive(int index, boolean alive) {
+        this.alive[checkIndex(index)] = alive;
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+
+    private void grow() {
+        int newCapacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, newCapacity);
+        ages = Arrays.copyOf(ages, newCapacity);
+        maxAges = Arrays.copyOf(maxAges, newCapacity);
+        hungers = Arrays.copyOf(hungers, newCapacity);
+        hungerRates = Arrays.copyOf(hungerRates, newCapacity);
+        alive = Arrays.copyOf(alive, newCapacity);
+    }
+}
@@ -0,0 +1,23 @@
+package models;
+
+/**
+ * Counts the simulated ticks of an ecosystem, so state which changes at a fixed rate per tick
+ * can be stored once with the tick it was valid at and derived on demand instead of being
+ * updated every tick.
+ *
+ * @see Carnivore#setHungerClock(SimulationClock)
+ */
+public class SimulationClock {
+    private int ticks;
+
+    /**
+     * Advances the clock by one tick.
+     */
+    public void advance() {
+        ticks++;
+    }
+
+    public int getTicks() {
+        return ticks;
+    }
+}
@@ -0,0 +1,67 @@
+package models;
+
+import enums.AnimalType;
+import enums.Biome;
+import enums.Habitat;
+import enums.LivingType;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The traits shared by all animals of one species, as listed in the species catalog.
+ *
+ * @param kind             the lowercase key of the species, e.g. {@code wild_dog}
+ * @param animalType       whether the species is a carnivore or a herbivore
+ * @param name             the display name of the species
+ * @param biomes           the biomes the species lives in
+ * @param maxAge           the maximum age of the animals
+ * @param weight           the weight of the animals
+ * @param reproductiveRate the number of iterations between offspring
+ * @param habitat          the main habitat of the species
+ * @param livingType       the social behavior of the species
+ * @param inGroup          whether the animals live in named groups, otherwise they join the loners
+ * @param points           the attack points of carnivores or the escape points of herbivores
+ * @param hungerRate       the hunger gained per iteration by carnivores, 0 for herbivores
+ * @param diet             the preference weights of the herbivore kinds a carnivore hunts by kind,
+ *                         empty if it hunts every herbivore or the species is a herbivore
+ * @see services.SpeciesCatalog
+ */
+public record SpeciesDefinition(String kind,
+                                AnimalType animalType,
+                                String name,
+                                Set<Biome> biomes,
+                                int maxAge,
+                                int weight,
+                                int reproductiveRate,
+                                Habitat habitat,
+                                LivingType livingType,
+                                boolean inGroup,
+                                int points,
+                                int hungerRate,
+                                Map<String, Double> diet) {
+    public static final String LONERS_GROUP = "Loners";
+
+    public SpeciesDefinition {
+        biomes = Set.copyOf(biomes);
+        diet = Collections.unmodifiableMap(new LinkedHashMap<>(diet));
+    }
+
+    /**
+     * Creates a newborn animal of this species.
+     *
+     * @param groupName the group of the animal, ignored for species which do not live in groups
+     * @return the created animal
+     */
+    public Animal create(String groupName) {
+        String group = inGroup ? groupName : LONERS_GROUP;
+        if (animalType == AnimalType.CARNIVORE) {
+            return new Carnivore(biomes, 0, true, maxAge, weight, reproductiveRate, habitat, animalType,
+                    livingType, name, inGroup, points, group, hungerRate);
+        }
+        return new Herbivore(biomes, 0, true, maxAge, weight, reproductiveRate, habitat, animalType,
+                name, livingType, inGroup, points, group);
+    }
+}
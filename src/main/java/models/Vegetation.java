@@ -0,0 +1,99 @@
+package models;
+
+import enums.Biome;
+
+/**
+ * The vegetation herbivores graze on, kept as the total biomass of an area of equal cells.
+ * <p>
+ * Every iteration the vegetation regrows by a share of its missing biomass, so a bare area
+ * recovers fastest, and grazing takes the eaten biomass evenly from every cell. As all cells
+ * grow and are grazed alike, the whole area is a single number and needs no per-cell work.
+ * Capacity and regrowth rate depend on the biome: forests regrow fastest, deserts and
+ * tundras slowest.
+ *
+ * @see Ecosystem#grazeHerbivores(java.util.Map)
+ */
+public class Vegetation {
+    private final double capacity;
+    private final double regrowthRate;
+    private double totalBiomass;
+
+    /**
+     * Creates fully grown vegetation with the capacity and regrowth rate of a biome.
+     *
+     * @param biome     the biome of the vegetation
+     * @param cellCount the number of cells of the area
+     */
+    public Vegetation(Biome biome, int cellCount) {
+        this(cellCount, getCapacity(biome), getRegrowthRate(biome));
+    }
+
+    /**
+     * Creates fully grown vegetation.
+     *
+     * @param cellCount    the number of cells of the area
+     * @param capacity     the biomass of a fully grown cell
+     * @param regrowthRate the share of the missing biomass which regrows per iteration
+     * @throws IllegalArgumentException if the cell count is not positive, the capacity is negative
+     *                                  or the regrowth rate is outside 0 to 1
+     */
+    public Vegetation(int cellCount, double capacity, double regrowthRate) {
+        if (cellCount <= 0) {
+            throw new IllegalArgumentException("Vegetation needs at least one cell");
+        }
+        if (capacity < 0 || regrowthRate < 0 || regrowthRate > 1) {
+            throw new IllegalArgumentException("Capacity must not be negative and regrowth rate must be between 0 and 1");
+        }
+        this.capacity = capacity * cellCount;
+        this.regrowthRate = regrowthRate;
+        this.totalBiomass = this.capacity;
+    }
+
+    /**
+     * Lets the vegetation regrow by the regrowth rate times its missing biomass.
+     *
+     * @return the total biomass after regrowing
+     */
+    public double regrow() {
+        totalBiomass += regrowthRate * (capacity - totalBiomass);
+        return totalBiomass;
+    }
+
+    /**
+     * Lets the herbivores eat the biomass they need.
+     *
+     * @param demand the biomass needed by all herbivores together
+     * @return the eaten biomass, less than the demand if the vegetation does not suffice
+     */
+    public double graze(double demand) {
+        if (demand <= 0 || totalBiomass <= 0) return 0;
+        double eaten = Math.min(demand, totalBiomass);
+        totalBiomass -= eaten;
+        return eaten;
+    }
+
+    public double getTotalBiomass() {
+        return totalBiomass;
+    }
+
+    public double getCapacity() {
+        return capacity;
+    }
+
+    private static double getCapacity(Biome biome) {
+        return switch (biome) {
+            case TROPICAL_FOREST -> 20;
+            case SAVANNA -> 10;
+            case TUNDRA -> 5;
+            case DESERT -> 2;
+        };
+    }
+
+    private static double getRegrowthRate(Biome biome) {
+        return switch (biome) {
+            case TROPICAL_FOREST -> 0.3;
+            case SAVANNA -> 0.2;
+            case TUNDRA, DESERT -> 0.05;
+        };
+    }
+}
@@ -1,34 +1,33 @@
 package services;
 
-import static enums.AnimalType.CARNIVORE;
-import static enums.AnimalType.HERBIVORE;
-import static enums.Biome.*;
-import static enums.Habitat.LAND;
-import static enums.LivingType.ALONE;
-import static enums.LivingType.GROUP;
 import enums.Biome;
+import exceptions.AnimalNotFoundException;
+import exceptions.SpeciesNotInBiomeException;
 import models.Animal;
 import models.Carnivore;
 import models.Ecosystem;
 import models.Herbivore;
+import models.SpeciesDefinition;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.function.Function;
 
 /**
- * A creator class for creating and registering {@link Animal} instances.
+ * A creator class for creating {@link Animal} instances of the species listed in a {@link SpeciesCatalog}.
  * <p>
- * This creator predefines a wide range of herbivores and carnivores adapted to various biomes
- * including {@link Biome#SAVANNA}, {@link Biome#TUNDRA}, {@link Biome#TROPICAL_FOREST}, and {@link Biome#DESERT}.
- * Each animal is assigned its main habitat (e.g., {@link enums.Habitat#LAND}),
+ * By default the catalog shipped with the application is used. It predefines a wide range of herbivores
+ * and carnivores adapted to various biomes including {@link Biome#SAVANNA}, {@link Biome#TUNDRA},
+ * {@link Biome#TROPICAL_FOREST}, and {@link Biome#DESERT}.
+ * Each species has its main habitat (e.g., {@link enums.Habitat#LAND}),
  * reproduction and combat parameters, and social behavior type (e.g., {@link enums.LivingType#GROUP}).
  * <p>
  * The creator supports:
  * <ul>
  *   <li>Creation of animals by kind and group</li>
- *   <li>Dynamic registration of new animal types at runtime</li>
+ *   <li>Bulk creation of whole populations, in parallel for large groups</li>
+ *   <li>Species defined per scenario in a catalog file, without recompiling</li>
  *   <li>Filtering of available animals by biome</li>
  * </ul>
  *
@@ -39,31 +38,34 @@ import java.util.function.Function;
  * </ul>
  * <p>
  * Many of the animals inhabit multiple biomes, reflecting adaptive traits. For example, the {@code reindeer}
- * lives in both tundra and desert, while the {@code wild_dog} is registered across all four biomes.
+ * lives in both tundra and desert, while the {@code wild_dog} lives in all four biomes.
  *
  * @see Animal
  * @see Carnivore
  * @see Herbivore
  * @see Ecosystem
  * @see Biome
+ * @see SpeciesCatalog
  */
 public class AnimalCreatorService {
-    private static final String LONERS_GROUP = "Loners";
-    private final Map<String, Function<String, Animal>> animals = new HashMap<>();
+    private static final int PARALLEL_CREATION_THRESHOLD = 100_000;
+    private final SpeciesCatalog speciesCatalog;
 
     /**
-     * Constructs an AnimalCreatorService and registers all predefined animals
-     * across various biomes and habitats.
-     * <p>
-     * Animals are registered for the following biomes: savanna, tundra,
-     * tropical forest, desert, and also as universal species adaptable
-     * to multiple biomes.
-     * <p>
-     * Both herbivores and carnivores are included, configured with appropriate
-     * traits such as age, weight, speed, group behavior, and hunting style.
+     * Constructs an AnimalCreatorService creating the predefined species
+     * of the catalog shipped with the application.
      */
     public AnimalCreatorService() {
-        registerAllAnimals();
+        this(SpeciesCatalog.loadDefault());
+    }
+
+    /**
+     * Constructs an AnimalCreatorService creating the species of the given catalog.
+     *
+     * @param speciesCatalog the catalog of creatable species
+     */
+    public AnimalCreatorService(SpeciesCatalog speciesCatalog) {
+        this.speciesCatalog = speciesCatalog;
     }
 
     /**
@@ -71,15 +73,43 @@ public class AnimalCreatorService {
      *
      * @param ecosystem  the target ecosystem to add animals to
      * @param animalKind the type of animal to create (must be pre-registered)
-     * @param groupName  the name of the animal group (use {@code LONERS_GROUP} for solitary animals)
+     * @param groupName  the name of the animal group (ignored for species which do not live in groups)
      * @param count      the number of animals to create
-     * @throws NullPointerException if the animal kind is not registered
+     * @throws AnimalNotFoundException    if the animal kind is not registered
+     * @throws SpeciesNotInBiomeException if the species does not live in the biome of the ecosystem
      */
     public void createAnimals(Ecosystem ecosystem, String animalKind, String groupName, int count) {
-        Function<String, Animal> animalFunction = animals.get(animalKind.toLowerCase());
-        for (int i = 0; i < count; i++) {
-            ecosystem.addAnimalToEcosystem(animalFunction.apply(groupName));
-        }
+        SpeciesDefinition species = findSpecies(getAvailableSpecies(ecosystem.getBiome()), animalKind, ecosystem.getBiome());
+        ecosystem.addAnimalsToEcosystem(createGroup(species, groupName, count));
+    }
+
+    /**
+     * Creates a whole population and adds it to an ecosystem. Each group is created in one
+     * tight loop, in parallel chunks for large groups, and added to storage which is sized once
+     * for the whole group instead of growing animal by animal.
+     *
+     * @param ecosystem      the target ecosystem to add animals to
+     * @param populationSpec the number of animals to create by animal kind and group name
+     * @throws AnimalNotFoundException    if an animal kind is not registered
+     * @throws SpeciesNotInBiomeException if a species does not live in the biome of the ecosystem
+     */
+    public void createPopulation(Ecosystem ecosystem, Map<String, Map<String, Integer>> populationSpec) {
+        Map<String, SpeciesDefinition> availableSpecies = getAvailableSpecies(ecosystem.getBiome());
+        Map<SpeciesDefinition, Map<String, Integer>> validatedSpec = new LinkedHashMap<>();
+        populationSpec.forEach((animalKind, groupCounts) ->
+                validatedSpec.put(findSpecies(availableSpecies, animalKind, ecosystem.getBiome()), groupCounts));
+        validatedSpec.forEach((species, groupCounts) -> groupCounts.forEach((groupName, count) ->
+                ecosystem.addAnimalsToEcosystem(createGroup(species, groupName, count))));
+    }
+
+    /**
+     * Returns the species which can be created in the given biome by their kind.
+     *
+     * @param biome the biome of the ecosystem
+     * @return the creatable species by kind
+     */
+    public Map<String, SpeciesDefinition> getAvailableSpecies(Biome biome) {
+        return speciesCatalog.getSpeciesByKind(biome);
     }
 
     /**
@@ -90,56 +120,48 @@ public class AnimalCreatorService {
     public void printAllowedAnimals(Biome currentBiome) {
         System.out.println("Which animal to create? Pick from the list below: ");
         System.out.println("Kind / Type / Living type");
-        animals.forEach((animalKind, animalFunction) -> {
-            Animal sampleAnimal = animalFunction.apply("");
-            if (sampleAnimal.getBiomes().contains(currentBiome)) {
-                System.out.println(animalKind + " | " + sampleAnimal.getAnimalType() + " | " + sampleAnimal.getLivingType());
-            }
-        });
+        for (SpeciesDefinition species : speciesCatalog.getSpecies(currentBiome)) {
+            System.out.println(species.kind() + " | " + species.animalType() + " | " + species.livingType());
+        }
     }
 
     /**
-     * Registers all animals across different biomes.
-     * This method delegates to specialized registration methods for each biome,
-     * ensuring animals are correctly initialized according to their habitat.
+     * Finds a species among the species available in a biome.
+     *
+     * @param availableSpecies the species of the biome by kind
+     * @param animalKind       the kind of the species
+     * @param biome            the biome
+     * @return the found species
+     * @throws AnimalNotFoundException    if the animal kind is not registered at all
+     * @throws SpeciesNotInBiomeException if the species does not live in the biome
      */
-    private void registerAllAnimals() {
-        //herbivores
-        registerAnimal("boar", group -> new Herbivore(Set.of(SAVANNA, TUNDRA, TROPICAL_FOREST, DESERT), 0, true, 25, 100, 4, LAND, HERBIVORE, "Boar", GROUP, true, 70, group));
-        registerAnimal("camel", group -> new Herbivore(Set.of(DESERT, SAVANNA), 0, true, 40, 600, 4, LAND, HERBIVORE, "Camel", GROUP, true, 70, group));
-        registerAnimal("jerboa", group -> new Herbivore(Set.of(DESERT), 0, true, 24, 2, 2, LAND, HERBIVORE, "Jerboa", ALONE, false, 100, LONERS_GROUP));
-        registerAnimal("monkey", group -> new Herbivore(Set.of(TROPICAL_FOREST), 0, true, 28, 15, 5, LAND, HERBIVORE, "Monkey", GROUP, true, 85, group));
-        registerAnimal("tapir", group -> new Herbivore(Set.of(TROPICAL_FOREST, SAVANNA), 0, true, 26, 250, 5, LAND, HERBIVORE, "Tapir", ALONE, false, 75, LONERS_GROUP));
-        registerAnimal("reindeer", group -> new Herbivore(Set.of(TUNDRA, DESERT), 0, true, 22, 180, 6, LAND, HERBIVORE, "Reindeer", GROUP, true, 90, group));
-        registerAnimal("lemming", group -> new Herbivore(Set.of(TUNDRA), 0, true, 24, 1, 2, LAND, HERBIVORE, "Lemming", ALONE, false, 100, LONERS_GROUP));
-        registerAnimal("zebra", group -> new Herbivore(Set.of(SAVANNA), 0, true, 50, 300, 10, LAND, HERBIVORE, "Zebra", GROUP, true, 80, group));
-        registerAnimal("hare", group -> new Herbivore(Set.of(SAVANNA), 0, true, 24, 5, 3, LAND, HERBIVORE, "Hare", ALONE, false, 100, LONERS_GROUP));
-        registerAnimal("gazelle", group -> new Herbivore(Set.of(SAVANNA), 0, true, 25, 25, 5, LAND, HERBIVORE, "Gazelle", GROUP, true, 80, group));
-        registerAnimal("buffalo", group -> new Herbivore(Set.of(SAVANNA), 0, true, 35, 800, 9, LAND, HERBIVORE, "Buffalo", GROUP, true, 40, group));
-
-        //carnivores
-        registerAnimal("wild_dog", group -> new Carnivore(Set.of(SAVANNA, TUNDRA, TROPICAL_FOREST, DESERT), 0, true, 20, 20, 4, LAND, CARNIVORE, GROUP, "Wild Dog", true, 75, group, 13));
-        registerAnimal("fennec_fox", group -> new Carnivore(Set.of(DESERT, TUNDRA), 0, true, 24, 1, 3, LAND, CARNIVORE, ALONE, "Fennec Fox", false, 90, LONERS_GROUP, 9));
-        registerAnimal("caracal", group -> new Carnivore(Set.of(DESERT, SAVANNA), 0, true, 22, 15, 4, LAND, CARNIVORE, ALONE, "Caracal", false, 80, LONERS_GROUP, 12));
-        registerAnimal("jaguar", group -> new Carnivore(Set.of(TROPICAL_FOREST), 0, true, 20, 100, 5, LAND, CARNIVORE, ALONE, "Jaguar", false, 85, LONERS_GROUP, 16));
-        registerAnimal("ocelot", group -> new Carnivore(Set.of(TROPICAL_FOREST, TUNDRA), 0, true, 22, 10, 4, LAND, CARNIVORE, ALONE, "Ocelot", false, 80, LONERS_GROUP, 12));
-        registerAnimal("arctic_fox", group -> new Carnivore(Set.of(TUNDRA), 0, true, 20, 5, 4, LAND, CARNIVORE, ALONE, "Arctic Fox", false, 95, LONERS_GROUP, 10));
-        registerAnimal("snowy_owl", group -> new Carnivore(Set.of(TUNDRA, SAVANNA), 0, true, 18, 3, 3, LAND, CARNIVORE, ALONE, "Snowy Owl", false, 90, LONERS_GROUP, 9));
-        registerAnimal("lion", group -> new Carnivore(Set.of(SAVANNA), 0, true, 30, 150, 6, LAND, CARNIVORE, ALONE, "Lion", true, 110, group, 20));
-        registerAnimal("cheetah", group -> new Carnivore(Set.of(SAVANNA), 0, true, 30, 60, 5, LAND, CARNIVORE, ALONE, "Cheetah", false, 110, LONERS_GROUP, 15));
-        registerAnimal("tiger", group -> new Carnivore(Set.of(SAVANNA), 0, true, 20, 200, 6, LAND, CARNIVORE, ALONE, "Tiger", false, 75, LONERS_GROUP, 18));
-        registerAnimal("hyena", group -> new Carnivore(Set.of(SAVANNA), 0, true, 24, 50, 5, LAND, CARNIVORE, GROUP, "Hyena", true, 80, group, 14));
+    private SpeciesDefinition findSpecies(Map<String, SpeciesDefinition> availableSpecies, String animalKind, Biome biome) {
+        SpeciesDefinition species = availableSpecies.get(animalKind.toLowerCase());
+        if (species != null) {
+            return species;
+        }
+        speciesCatalog.find(animalKind).orElseThrow(() -> new AnimalNotFoundException("Unknown animal kind " + animalKind));
+        throw new SpeciesNotInBiomeException("Animal kind " + animalKind + " does not live in " + biome);
     }
 
     /**
-     * Registers a new animal type with the factory.
-     * The animal kind is case-insensitive (converted to lowercase internally).
+     * Creates the given number of animals of one species and group.
+     * Groups of at least {@code PARALLEL_CREATION_THRESHOLD} animals are created in parallel.
      *
-     * @param kind     the name of the animal type to register (e.g., "zebra")
-     * @param function the creation function that accepts a group name and returns
-     *                 a configured {@link models.Animal} instance
+     * @param species   the species of the animals
+     * @param groupName the group of the animals
+     * @param count     the number of animals to create
+     * @return the created animals
      */
-    private void registerAnimal(String kind, Function<String, Animal> function) {
-        animals.put(kind.toLowerCase(), function);
+    private List<Animal> createGroup(SpeciesDefinition species, String groupName, int count) {
+        Animal[] createdAnimals = new Animal[count];
+        if (count >= PARALLEL_CREATION_THRESHOLD) {
+            Arrays.parallelSetAll(createdAnimals, i -> species.create(groupName));
+        } else {
+            for (int i = 0; i < count; i++) {
+                createdAnimals[i] = species.create(groupName);
+            }
+        }
+        return Arrays.asList(createdAnimals);
     }
 }
@@ -0,0 +1,282 @@
+package services;
+
+import static enums.AnimalType.CARNIVORE;
+import static enums.AnimalType.HERBIVORE;
+import enums.DeathCause;
+import models.AttackOddsTable;
+import models.CohortPopulation;
+import models.CohortPopulation.Cohort;
+import models.SpeciesDefinition;
+
+import java.util.*;
+
+/**
+ * Simulates a {@link CohortPopulation} with the rules of the individual simulation, but advances
+ * aging, breeding and hunger once per cohort instead of once per animal. This makes populations
+ * of billions of herbivores affordable, as their cost only depends on the number of cohorts.
+ * <p>
+ * An iteration follows the phases of {@link SimulationRunner#runIteration}:
+ * <ol>
+ *     <li>All animals age; animals reaching their max age die and, like dead parents
+ *     in the individual simulation, bear no offspring</li>
+ *     <li>Animals whose age is divisible by their reproductive rate bear one newborn each</li>
+ *     <li>Carnivores starve once their hunger reached 100, otherwise their hunger grows</li>
+ *     <li>Every carnivore attacks a uniformly chosen herbivore with the chances of
+ *     {@link AttackOddsTable}, and successful hunts feed it or its group like {@link FeedingService};
+ *     the kills are drawn in bulk like {@link enums.PredationMode#TAU_LEAPING} does</li>
+ * </ol>
+ * Hunting draws the kills of every pair of predator class and victim cohort at once, so no phase
+ * costs time per animal. Newborns get the weight of their species.
+ *
+ * @see CohortPopulation
+ */
+public class CohortSimulation {
+    private static final double MAX_HUNGER = 100;
+    private final ProbabilitiesService probabilitiesService;
+    private final CohortPopulation population;
+    private final Map<DeathCause, Long> deaths = new EnumMap<>(DeathCause.class);
+    private long births;
+
+    public CohortSimulation(ProbabilitiesService probabilitiesService, CohortPopulation population) {
+        this.probabilitiesService = probabilitiesService;
+        this.population = population;
+    }
+
+    /**
+     * Runs a single iteration.
+     *
+     * @return false if an animal type is extinct and the simulation has to end, true otherwise
+     */
+    public boolean runIteration() {
+        births = 0;
+        deaths.clear();
+        ageAndBreed();
+        increaseHungerOfCarnivores();
+        if (hasExtinctAnimalType()) {
+            return false;
+        }
+        hunt();
+        return true;
+    }
+
+    /**
+     * Checks if any animal type has no animals left.
+     *
+     * @return true if carnivores or herbivores are extinct, false otherwise
+     */
+    public boolean hasExtinctAnimalType() {
+        return population.getCount(CARNIVORE) == 0 || population.getCount(HERBIVORE) == 0;
+    }
+
+    public long getBirths() {
+        return births;
+    }
+
+    public long getDeaths(DeathCause cause) {
+        return deaths.getOrDefault(cause, 0L);
+    }
+
+    /**
+     * Ages every cohort, removes the cohorts reaching their max age and adds the newborns.
+     */
+    private void ageAndBreed() {
+        Map<Cohort, Long> cohorts = population.getCohorts(CARNIVORE);
+        cohorts.putAll(population.getCohorts(HERBIVORE));
+        population.clear();
+        cohorts.forEach((cohort, count) -> {
+            SpeciesDefinition species = cohort.species();
+            int age = cohort.age() + 1;
+            if (age >= species.maxAge()) {
+                deaths.merge(DeathCause.OLD_AGE, count, Long::sum);
+                return;
+            }
+            population.add(new Cohort(species, cohort.groupName(), age, cohort.hunger()), count);
+            if (age % species.reproductiveRate() == 0) {
+                population.add(new Cohort(species, cohort.groupName(), 0, 0), count);
+                births += count;
+            }
+        });
+    }
+
+    /**
+     * Kills the carnivores which starved and increases the hunger of the others.
+     */
+    private void increaseHungerOfCarnivores() {
+        Map<Cohort, Long> carnivores = population.getCohorts(CARNIVORE);
+        carnivores.forEach(population::remove);
+        carnivores.forEach((cohort, count) -> {
+            if (cohort.hunger() >= MAX_HUNGER) {
+                deaths.merge(DeathCause.HUNGER, count, Long::sum);
+            } else {
+                population.add(withHunger(cohort, cohort.hunger() + cohort.species().hungerRate()), count);
+            }
+        });
+    }
+
+    /**
+     * Lets every carnivore attack a randomly chosen herbivore, drawing the kills of every pair of
+     * predator class and victim cohort in bulk instead of drawing every attack (tau-leaping).
+     * <p>
+     * Carnivores of the same species, group and age have the same attack odds, whatever their hunger.
+     * The attacks of each such class are split over the victim cohorts in proportion to their size,
+     * and the kills of every pair are drawn from a binomial distribution with the exact odds.
+     * As in a leap all attacks are aimed at the herbivores alive at its start, the kills of a victim
+     * cohort are capped by its size. The kills are fed to carnivores of the class which were not fed
+     * yet, drawn in proportion to the size of their hunger cohorts, and the hunger of every fed
+     * cohort is updated once.
+     */
+    private void hunt() {
+        Map<Cohort, Long> carnivores = population.getCohorts(CARNIVORE);
+        Map<Cohort, Map<Cohort, Long>> predatorClasses = new LinkedHashMap<>();
+        Map<String, Long> groupSizes = new HashMap<>();
+        carnivores.forEach((cohort, count) -> {
+            predatorClasses.computeIfAbsent(withHunger(cohort, 0), predatorClass -> new LinkedHashMap<>()).put(cohort, count);
+            groupSizes.merge(cohort.groupName(), count, Long::sum);
+        });
+        List<Cohort> victims = new ArrayList<>(population.getCohorts(HERBIVORE).keySet());
+        long[] victimSizes = new long[victims.size()];
+        for (int victim = 0; victim < victims.size(); victim++) {
+            victimSizes[victim] = population.getCount(victims.get(victim));
+        }
+        long victimCount = population.getCount(HERBIVORE);
+        long[] killedVictims = new long[victims.size()];
+        List<FedCarnivores> fedCarnivores = new ArrayList<>();
+        Map<String, Double> groupHungerDecreases = new HashMap<>();
+        for (Map.Entry<Cohort, Map<Cohort, Long>> predatorClass : predatorClasses.entrySet()) {
+            Cohort predator = predatorClass.getKey();
+            Map<Cohort, Long> unfedCarnivores = predatorClass.getValue();
+            long remainingAttacks = sum(unfedCarnivores);
+            long remainingWeight = victimCount;
+            for (int victim = 0; victim < victims.size() && remainingAttacks > 0; victim++) {
+                long attacks = victimSizes[victim] >= remainingWeight ? remainingAttacks
+                        : probabilitiesService.getBinomialSample(remainingAttacks, (double) victimSizes[victim] / remainingWeight);
+                remainingWeight -= victimSizes[victim];
+                remainingAttacks -= attacks;
+                long kills = Math.min(probabilitiesService.getSucceededAttacks(attacks, getSucceedAttackChance(predator, victims.get(victim))),
+                        victimSizes[victim] - killedVictims[victim]);
+                if (kills <= 0) continue;
+                killedVictims[victim] += kills;
+                double hungerDecrease = (double) victims.get(victim).species().weight() / predator.species().weight() * 100;
+                if (predator.species().inGroup()) {
+                    hungerDecrease /= groupSizes.get(predator.groupName()) + 1;
+                    groupHungerDecreases.merge(predator.groupName(), hungerDecrease * kills, Double::sum);
+                }
+                double attackerHungerDecrease = hungerDecrease;
+                takeUnfed(unfedCarnivores, kills).forEach((cohort, count) ->
+                        fedCarnivores.add(new FedCarnivores(cohort, attackerHungerDecrease, count)));
+            }
+        }
+        for (int victim = 0; victim < victims.size(); victim++) {
+            if (killedVictims[victim] == 0) continue;
+            population.remove(victims.get(victim), killedVictims[victim]);
+            deaths.merge(DeathCause.PREDATION, killedVictims[victim], Long::sum);
+        }
+        feed(carnivores, fedCarnivores, groupHungerDecreases);
+    }
+
+    /**
+     * Updates the hunger of all fed carnivores once, like {@link FeedingService}: a loner's hunger
+     * decreases by its prey, every member of a hunting group by its share of all the group's prey
+     * and every attacker of the group by one more share of its own prey.
+     *
+     * @param carnivores           the carnivore cohorts before feeding
+     * @param fedCarnivores        the attackers which killed their prey
+     * @param groupHungerDecreases the hunger decrease of every member by group
+     */
+    private void feed(Map<Cohort, Long> carnivores, List<FedCarnivores> fedCarnivores, Map<String, Double> groupHungerDecreases) {
+        Map<Cohort, Long> fedCounts = new HashMap<>();
+        fedCarnivores.forEach(fed -> fedCounts.merge(fed.cohort(), fed.count(), Long::sum));
+        carnivores.forEach((cohort, count) -> {
+            long fedCount = fedCounts.getOrDefault(cohort, 0L);
+            Double groupHungerDecrease = groupHungerDecreases.get(cohort.groupName());
+            if (fedCount == 0 && groupHungerDecrease == null) return;
+            population.remove(cohort, count);
+            Cohort unfedCohort = groupHungerDecrease == null ? cohort
+                    : withHunger(cohort, decreaseHunger(cohort.hunger(), groupHungerDecrease));
+            population.add(unfedCohort, count - fedCount);
+        });
+        for (FedCarnivores fed : fedCarnivores) {
+            Cohort cohort = fed.cohort();
+            double hunger;
+            if (cohort.species().inGroup()) {
+                hunger = decreaseHunger(cohort.hunger(), groupHungerDecreases.get(cohort.groupName()) + fed.hungerDecrease());
+            } else {
+                hunger = fed.hungerDecrease() > cohort.hunger() ? 0 : cohort.hunger() - fed.hungerDecrease();
+            }
+            population.add(withHunger(cohort, hunger), fed.count());
+        }
+    }
+
+    /**
+     * Draws which carnivores of a class are fed, in proportion to the carnivores of each hunger
+     * cohort which were not fed yet, and marks them as fed. Every carnivore attacks once, so it
+     * is fed at most once.
+     *
+     * @param unfedCarnivores the carnivores of the class not fed yet, by hunger cohort
+     * @param count           the number of fed carnivores, at most the number not fed yet
+     * @return the fed carnivores by hunger cohort
+     */
+    private Map<Cohort, Long> takeUnfed(Map<Cohort, Long> unfedCarnivores, long count) {
+        Map<Cohort, Long> fed = new LinkedHashMap<>();
+        long remainingUnfed = sum(unfedCarnivores);
+        long remaining = count;
+        for (Map.Entry<Cohort, Long> entry : unfedCarnivores.entrySet()) {
+            if (remaining == 0) break;
+            long unfed = entry.getValue();
+            if (unfed == 0) continue;
+            long drawn = unfed >= remainingUnfed ? remaining
+                    : probabilitiesService.getBinomialSample(remaining, (double) unfed / remainingUnfed);
+            long taken = Math.clamp(drawn, Math.max(0, remaining - (remainingUnfed - unfed)), Math.min(unfed, remaining));
+            remainingUnfed -= unfed;
+            remaining -= taken;
+            entry.setValue(unfed - taken);
+            if (taken > 0) {
+                fed.put(entry.getKey(), taken);
+            }
+        }
+        return fed;
+    }
+
+    /**
+     * Returns the chance of the individual simulation that a predator succeeds attacking a victim.
+     */
+    private int getSucceedAttackChance(Cohort predator, Cohort victim) {
+        SpeciesDefinition predatorSpecies = predator.species();
+        SpeciesDefinition victimSpecies = victim.species();
+        return AttackOddsTable.calculateSucceedAttackChance(
+                AttackOddsTable.calculateScaledPoints(predator.age(), predatorSpecies.maxAge()),
+                AttackOddsTable.calculateScaledPoints(victim.age(), victimSpecies.maxAge()),
+                predatorSpecies.inGroup(), victimSpecies.inGroup(),
+                predatorSpecies.weight(), victimSpecies.weight());
+    }
+
+    /**
+     * Decreases the hunger of a group member like {@link FeedingService}: rounded to one decimal, never below 0.
+     */
+    private double decreaseHunger(double hunger, double hungerDecrease) {
+        if (hungerDecrease > hunger) return 0;
+        return Math.round((hunger - hungerDecrease) * 10.0) / 10.0;
+    }
+
+    private long sum(Map<Cohort, Long> cohorts) {
+        long total = 0;
+        for (long count : cohorts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    private Cohort withHunger(Cohort cohort, double hunger) {
+        return new Cohort(cohort.species(), cohort.groupName(), cohort.age(), hunger);
+    }
+
+    /**
+     * Carnivores of a hunger cohort which killed their prey.
+     *
+     * @param cohort         the hunger cohort of the attackers
+     * @param hungerDecrease the hunger decrease of each attacker on top of its group's share, if it hunts in a group
+     * @param count          the number of attackers
+     */
+    private record FedCarnivores(Cohort cohort, double hungerDecrease, long count) {
+    }
+}
@@ -62,6 +62,7 @@ public class FeedingService {
     /**
      * Decreases hunger for all members of the predator's group after a successful attack.
      * The main predator gets a larger share of the hunger decrease.
+     * Dead members which are still kept in the group are skipped.
      *
      * @param predator      the attacking carnivore
      * @param victim        the herbivore that was attacked
@@ -70,8 +71,11 @@ public class FeedingService {
     protected void decreaseGroupHunger(Carnivore predator, Herbivore victim, List<Animal> predatorGroup) {
         System.out.println("Hunger of " + predator.getAnimalKind() + " and its group " + predator.getGroupName() + " was decreased!");
         double totalDecreaseAmount = calculateHungerDecreaseAmount(predator, victim);
-        double hungerDecreasePerAnimal = totalDecreaseAmount / ((double) predatorGroup.size() + 1);
-        predatorGroup.forEach(groupMember -> feedGroupMember(predator, (Carnivore) groupMember, hungerDecreasePerAnimal));
+        long aliveMembers = predatorGroup.stream().filter(Animal::isAlive).count();
+        double hungerDecreasePerAnimal = totalDecreaseAmount / ((double) aliveMembers + 1);
+        predatorGroup.stream()
+                .filter(Animal::isAlive)
+                .forEach(groupMember -> feedGroupMember(predator, (Carnivore) groupMember, hungerDecreasePerAnimal));
     }
 
     /**
@@ -82,7 +86,7 @@ public class FeedingService {
      * @param hungerDecreasePerAnimal the base amount of hunger decrease per group member
      */
     protected void feedGroupMember(Carnivore predator, Carnivore groupMember, double hungerDecreasePerAnimal) {
-        if (groupMember.getId() == predator.getId()) {
+        if (groupMember == predator) {
             feedAttackerWithinGroup(hungerDecreasePerAnimal, predator);
         } else {
             if (!isUpdatedHungerGreaterThanInitial(hungerDecreasePerAnimal, groupMember.getCurrentHunger(), groupMember)) {
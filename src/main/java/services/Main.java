@@ -1,5 +1,14 @@
 package services;
 
+import enums.PredationMode;
+import models.OffHeapPopulationStore;
+import models.PopulationStorage;
+import models.PopulationStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
 /**
  * The main entry point for the animal simulation program.
  *
@@ -12,20 +21,119 @@ package services;
  *   <li>Starting the simulation process</li>
  * </ol>
  *
- * <p>The program expects no command-line arguments as all configuration should be
- * handled internally by the services and simulation components.
+ * <p>All configuration is handled internally by the services and simulation components.
+ * An optional command-line argument names a CSV file receiving the statistics of every
+ * iteration; a {@code .gz} suffix compresses the file. Started with {@code server [port]}
+ * the program hosts simulation sessions over HTTP instead of running a console simulation;
+ * the system properties below apply to every session as well.
+ * Carnivores only hunt the herbivores of their diet in the species catalog.
+ *
+ * <p>The simulation is configured by these system properties:
+ * <ul>
+ *   <li>{@code species.catalog} - a CSV file replacing the predefined species</li>
+ *   <li>{@code predation.mode=TAU_LEAPING} - draws the kills in bulk for faster, approximate runs</li>
+ *   <li>{@code starvation.scheduled=true} - predicts when carnivores starve</li>
+ *   <li>{@code breeding.scheduled=true} - only visits the animals due to breed</li>
+ *   <li>{@code aging.lazy=true} - derives the ages from the birth of the animals</li>
+ *   <li>{@code population.storage=columnar} - keeps ages and hunger in primitive arrays</li>
+ *   <li>{@code population.storage=offheap} - keeps ages and hunger in direct memory</li>
+ *   <li>{@code victims.weighted=true} - lets carnivores prefer old, light and lone herbivores</li>
+ *   <li>{@code vegetation.cells} - lets herbivores graze on vegetation of that many cells</li>
+ * </ul>
  *
  * @see ProbabilitiesService
  * @see FeedingService
  * @see AnimalCreatorService
  * @see SimulationRunner
+ * @see SimulationServer
  */
 public class Main {
-    public static void main(String[] args) {
+    private static final int DEFAULT_SERVER_PORT = 8080;
+    private static final String SPECIES_CATALOG_PROPERTY = "species.catalog";
+    private static final String PREDATION_MODE_PROPERTY = "predation.mode";
+    private static final String SCHEDULED_STARVATION_PROPERTY = "starvation.scheduled";
+    private static final String SCHEDULED_BREEDING_PROPERTY = "breeding.scheduled";
+    private static final String LAZY_AGING_PROPERTY = "aging.lazy";
+    private static final String POPULATION_STORAGE_PROPERTY = "population.storage";
+    private static final String WEIGHTED_VICTIMS_PROPERTY = "victims.weighted";
+    private static final String VEGETATION_CELLS_PROPERTY = "vegetation.cells";
+
+    public static void main(String[] args) throws IOException {
         final ProbabilitiesService probabilitiesService = new ProbabilitiesService();
         final FeedingService feedingService = new FeedingService();
-        final AnimalCreatorService animalCreatorService = new AnimalCreatorService();
+        final SpeciesCatalog speciesCatalog = loadSpeciesCatalog();
+        final AnimalCreatorService animalCreatorService = new AnimalCreatorService(speciesCatalog);
+        if (args.length > 0 && args[0].equals("server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SERVER_PORT;
+            new SimulationServer(animalCreatorService,
+                    () -> newRunner(probabilitiesService, animalCreatorService, feedingService, speciesCatalog)).start(port);
+            return;
+        }
+        SimulationRunner runner = newRunner(probabilitiesService, animalCreatorService, feedingService, speciesCatalog);
+        if (args.length == 0) {
+            runner.startSimulation();
+            return;
+        }
+        try (StatisticsExporter statisticsExporter = new StatisticsExporter(Path.of(args[0]), args[0].endsWith(".gz"))) {
+            runner.setStatisticsExporter(statisticsExporter);
+            runner.startSimulation();
+        }
+    }
+
+    /**
+     * Creates a runner configured by the system properties, used by the console simulation
+     * and by every session of the server alike.
+     *
+     * @return the configured runner
+     */
+    private static SimulationRunner newRunner(ProbabilitiesService probabilitiesService,
+                                             AnimalCreatorService animalCreatorService,
+                                             FeedingService feedingService,
+                                             SpeciesCatalog speciesCatalog) {
+
         SimulationRunner runner = new SimulationRunner(probabilitiesService, animalCreatorService, feedingService);
-        runner.startSimulation();
+        runner.setDietMatrix(speciesCatalog.getDietMatrix());
+        runner.setPredationMode(PredationMode.valueOf(System.getProperty(PREDATION_MODE_PROPERTY, PredationMode.EXACT.name())));
+        runner.setScheduledStarvation(Boolean.getBoolean(SCHEDULED_STARVATION_PROPERTY));
+        runner.setScheduledBreeding(Boolean.getBoolean(SCHEDULED_BREEDING_PROPERTY));
+        runner.setLazyAging(Boolean.getBoolean(LAZY_AGING_PROPERTY));
+        String populationStorage = System.getProperty(POPULATION_STORAGE_PROPERTY);
+        if (populationStorage != null) {
+            runner.setPopulationStorage(newPopulationStorageFactory(populationStorage));
+        }
+        runner.setVegetationCells(Integer.getInteger(VEGETATION_CELLS_PROPERTY, 0));
+        if (Boolean.getBoolean(WEIGHTED_VICTIMS_PROPERTY)) {
+            runner.setVictimSelector(WeightedVictimSelector::new);
+        }
+        return runner;
+    }
+
+    /**
+     * Returns the factory of the population storages named by the {@code population.storage} system property.
+     *
+     * @param populationStorage the name of the storage
+     * @return the factory creating the storages
+     * @throws IllegalArgumentException if no storage has the given name
+     */
+    private static Supplier<PopulationStorage> newPopulationStorageFactory(String populationStorage) {
+        return switch (populationStorage) {
+            case "columnar" -> PopulationStore::new;
+            case "offheap" -> OffHeapPopulationStore::allocate;
+            default -> throw new IllegalArgumentException("Unknown population storage " + populationStorage);
+        };
+    }
+
+    /**
+     * Loads the species catalog named by the {@code species.catalog} system property,
+     * or the predefined species if the property is not set.
+     *
+     * @return the species catalog
+     */
+    private static SpeciesCatalog loadSpeciesCatalog() {
+        String catalogFile = System.getProperty(SPECIES_CATALOG_PROPERTY);
+        if (catalogFile == null) {
+            return SpeciesCatalog.loadDefault();
+        }
+        return SpeciesCatalog.loadCached(Path.of(catalogFile), Path.of(catalogFile + ".bin"));
     }
 }
@@ -0,0 +1,137 @@
+package services;
+
+import models.Animal;
+import models.DietMatrix;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the alive herbivores of a hunting phase in one pool per kind, so each carnivore only
+ * chooses among the herbivores of its diet and never wastes an attack on prey it does not hunt.
+ * <p>
+ * A carnivore first picks a pool with a probability proportional to its preference for the kind
+ * times the number of herbivores left in the pool, then the pool's {@link VictimSelector} picks
+ * the victim. Without a restricted diet all herbivores share a single pool, which chooses
+ * exactly like the selector on its own.
+ *
+ * @see DietMatrix
+ */
+public class PreyPools {
+    private final DietMatrix dietMatrix;
+    private final Supplier<VictimSelector> victimSelectorFactory;
+    private final Random random = new Random();
+    private final Map<String, Pool> poolsByKind = new LinkedHashMap<>();
+    private final Map<String, double[]> preferencesByPredator = new HashMap<>();
+    private List<Pool> pools = List.of();
+    private Pool selectedPool;
+    private int selectedIndex;
+
+    /**
+     * The alive herbivores of one kind, or of all kinds if diets are unrestricted.
+     */
+    private static final class Pool {
+        private final String kind;
+        private final List<Animal> victims = new ArrayList<>();
+        private final VictimSelector victimSelector;
+        private int remainingCount;
+
+        private Pool(String kind, VictimSelector victimSelector) {
+            this.kind = kind;
+            this.victimSelector = victimSelector;
+        }
+    }
+
+    /**
+     * @param dietMatrix            the herbivores each carnivore hunts
+     * @param victimSelectorFactory creates the victim selector of each pool
+     */
+    public PreyPools(DietMatrix dietMatrix, Supplier<VictimSelector> victimSelectorFactory) {
+        this.dietMatrix = dietMatrix;
+        this.victimSelectorFactory = victimSelectorFactory;
+    }
+
+    /**
+     * Splits the victims into their pools and prepares the selectors of the pools.
+     * Pools of kinds missing in this phase are kept with no victims, so their selectors are reused.
+     *
+     * @param victims the alive herbivores
+     */
+    public void prepare(List<? extends Animal> victims) {
+        poolsByKind.values().forEach(pool -> pool.victims.clear());
+        for (Animal victim : victims) {
+            String kind = dietMatrix.isUnrestricted() ? "" : victim.getAnimalKind();
+            Pool pool = poolsByKind.get(kind);
+            if (pool == null) {
+                pool = new Pool(kind, victimSelectorFactory.get());
+                poolsByKind.put(kind, pool);
+                preferencesByPredator.clear();
+            }
+            pool.victims.add(victim);
+        }
+        pools = List.copyOf(poolsByKind.values());
+        for (Pool pool : pools) {
+            pool.victimSelector.prepare(pool.victims);
+            pool.remainingCount = pool.victims.size();
+        }
+        selectedPool = null;
+    }
+
+    /**
+     * Chooses the victim a carnivore attacks next.
+     *
+     * @param predator the attacking carnivore
+     * @return the victim, or null if no herbivore of the carnivore's diet is left
+     */
+    public Animal select(Animal predator) {
+        selectedPool = pickPool(predator);
+        if (selectedPool == null) return null;
+        selectedIndex = selectedPool.victimSelector.select();
+        if (selectedIndex < 0) return null;
+        return selectedPool.victims.get(selectedIndex);
+    }
+
+    /**
+     * Removes the last selected victim after it died, so it is never chosen again.
+     */
+    public void removeSelected() {
+        if (selectedPool == null) return;
+        selectedPool.victimSelector.remove(selectedIndex);
+        selectedPool.remainingCount--;
+        selectedPool = null;
+    }
+
+    /**
+     * Picks the pool of the next victim of a carnivore, weighted by preference and remaining victims.
+     */
+    private Pool pickPool(Animal predator) {
+        if (pools.size() == 1) {
+            Pool pool = pools.getFirst();
+            return pool.remainingCount > 0 ? pool : null;
+        }
+        double[] preferences = preferencesByPredator.computeIfAbsent(predator.getAnimalKind(), this::getPreferences);
+        double totalWeight = 0;
+        for (int i = 0; i < pools.size(); i++) {
+            totalWeight += preferences[i] * pools.get(i).remainingCount;
+        }
+        if (totalWeight <= 0) return null;
+        double target = random.nextDouble() * totalWeight;
+        Pool picked = null;
+        for (int i = 0; i < pools.size(); i++) {
+            double weight = preferences[i] * pools.get(i).remainingCount;
+            if (weight <= 0) continue;
+            picked = pools.get(i);
+            target -= weight;
+            if (target < 0) break;
+        }
+        return picked;
+    }
+
+    private double[] getPreferences(String predatorKind) {
+        double[] preferences = new double[pools.size()];
+        for (int i = 0; i < pools.size(); i++) {
+            preferences[i] = dietMatrix.getPreference(predatorKind, pools.get(i).kind);
+        }
+        return preferences;
+    }
+}
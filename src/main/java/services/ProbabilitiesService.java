@@ -8,6 +8,8 @@ import java.util.Random;
  * such as attack success chances in game scenarios.
  */
 public class ProbabilitiesService {
+    private static final int MAX_EXACT_TRIALS = 30;
+    private static final double MAX_POISSON_MEAN = 30;
     private final Random random = new Random();
 
     /**
@@ -20,4 +22,91 @@ public class ProbabilitiesService {
     public int getChanceForAttack() {
         return random.nextInt(0, 101);
     }
-}
\ No newline at end of file
+
+    /**
+     * Draws how many of the given attacks succeed when every attack succeeds with the given chance,
+     * i.e. when {@link #getChanceForAttack()} does not exceed the chance.
+     *
+     * @param attacks             the number of attacks
+     * @param succeedAttackChance the success chance of an attack in percent
+     * @return the number of successful attacks
+     */
+    public int getSucceededAttacks(int attacks, int succeedAttackChance) {
+        return (int) getSucceededAttacks((long) attacks, succeedAttackChance);
+    }
+
+    /**
+     * Draws how many of the given attacks succeed, for more attacks than an {@code int} can count.
+     *
+     * @param attacks             the number of attacks
+     * @param succeedAttackChance the success chance of an attack in percent
+     * @return the number of successful attacks
+     * @see #getSucceededAttacks(int, int)
+     */
+    public long getSucceededAttacks(long attacks, int succeedAttackChance) {
+        double successProbability = (Math.clamp(succeedAttackChance, -1, 100) + 1) / 101.0;
+        return getBinomialSample(attacks, successProbability);
+    }
+
+    /**
+     * Draws the number of successes of independent trials sharing a success probability.
+     * Few trials are drawn one by one. Otherwise the rare outcome is drawn from a Poisson
+     * distribution while its mean is small, and the count from a normal distribution once
+     * the mean is large, so the cost does not grow with the number of trials.
+     *
+     * @param trials      the number of trials
+     * @param probability the success probability of a trial
+     * @return the number of successes, between 0 and the number of trials
+     */
+    public int getBinomialSample(int trials, double probability) {
+        return (int) getBinomialSample((long) trials, probability);
+    }
+
+    /**
+     * Draws the number of successes of independent trials sharing a success probability,
+     * for more trials than an {@code int} can count.
+     *
+     * @param trials      the number of trials
+     * @param probability the success probability of a trial
+     * @return the number of successes, between 0 and the number of trials
+     * @see #getBinomialSample(int, double)
+     */
+    public long getBinomialSample(long trials, double probability) {
+        if (trials <= 0 || probability <= 0) return 0;
+        if (probability >= 1) return trials;
+        if (trials <= MAX_EXACT_TRIALS) {
+            long successes = 0;
+            for (long i = 0; i < trials; i++) {
+                if (random.nextDouble() < probability) successes++;
+            }
+            return successes;
+        }
+        double rareProbability = Math.min(probability, 1 - probability);
+        double rareMean = trials * rareProbability;
+        long rareOutcomes;
+        if (rareMean < MAX_POISSON_MEAN) {
+            rareOutcomes = Math.min(getPoissonSample(rareMean), trials);
+        } else {
+            double deviation = Math.sqrt(rareMean * (1 - rareProbability));
+            rareOutcomes = Math.clamp(Math.round(rareMean + deviation * random.nextGaussian()), 0, trials);
+        }
+        return probability <= 0.5 ? rareOutcomes : trials - rareOutcomes;
+    }
+
+    /**
+     * Draws a Poisson distributed count by multiplying uniform draws until they fall below {@code e^-mean}.
+     *
+     * @param mean the mean of the distribution, small enough for {@code e^-mean} to stay accurate
+     * @return the drawn count
+     */
+    private int getPoissonSample(double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            product *= random.nextDouble();
+            count++;
+        }
+        return count;
+    }
+}
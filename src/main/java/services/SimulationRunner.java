@@ -5,11 +5,31 @@ import static enums.AnimalType.HERBIVORE;
 import static enums.Biome.*;
 import enums.AnimalType;
 import enums.Biome;
+import enums.DeathCause;
+import enums.Habitat;
+import enums.PredationMode;
+import exceptions.AnimalNotFoundException;
 import exceptions.EcosystemNotFoundException;
+import exceptions.SpeciesNotInBiomeException;
 import models.Animal;
+import models.AnimalPool;
+import models.AttackOddsTable;
+import models.Carnivore;
+import models.DietMatrix;
 import models.Ecosystem;
+import models.HabitatPartitions;
+import models.Herbivore;
+import models.IdAllocator;
+import models.PopulationStorage;
+import models.Vegetation;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
  * Orchestrates the ecosystem simulation lifecycle including initialization, animal management,
@@ -17,20 +37,28 @@ import java.util.*;
  * the core simulation loop until extinction occurs.
  */
 public class SimulationRunner {
+    private static final int COMPACTION_INTERVAL = 10;
     private final ProbabilitiesService probabilitiesService;
     private final AnimalCreatorService animalCreatorService;
     private final FeedingService feedingService;
-    private final Map<AnimalType, Map<String, List<Animal>>> ecosystemGroupedAnimals = new EnumMap<>(AnimalType.class);
     private final Random random = new Random();
+    private final Map<Ecosystem, PreyPools> preyPoolsByEcosystem = Collections.synchronizedMap(new WeakHashMap<>());
+    private StatisticsExporter statisticsExporter;
+    private int maxPooledAnimalsPerKind;
+    private int vegetationCells;
+    private PredationMode predationMode = PredationMode.EXACT;
+    private boolean scheduledStarvation;
+    private boolean scheduledBreeding;
+    private boolean lazyAging;
+    private Supplier<? extends PopulationStorage> populationStorageFactory;
+    private Supplier<VictimSelector> victimSelectorFactory = UniformVictimSelector::new;
+    private DietMatrix dietMatrix = DietMatrix.unrestricted();
+    private double migrationRate;
 
     public SimulationRunner(ProbabilitiesService probabilitiesService, AnimalCreatorService animalCreatorService, FeedingService feedingService) {
         this.probabilitiesService = probabilitiesService;
         this.animalCreatorService = animalCreatorService;
         this.feedingService = feedingService;
-        Map<String, List<Animal>> lonerCarnivores = new HashMap<>();
-        Map<String, List<Animal>> lonerHerbivores = new HashMap<>();
-        ecosystemGroupedAnimals.put(CARNIVORE, lonerCarnivores);
-        ecosystemGroupedAnimals.put(HERBIVORE, lonerHerbivores);
     }
 
     /**
@@ -51,19 +79,68 @@ public class SimulationRunner {
 
     /**
      * Initializes and returns a predefined list of ecosystems (Savanna, Tundra, Desert)
-     * each associated with the shared animal map and required services.
+     * each with its own animals, connected as neighbors of one region.
      *
      * @return list of predefined ecosystems
      */
     private List<Ecosystem> getEcosystems() {
-        final Ecosystem savanna = new Ecosystem(SAVANNA, ecosystemGroupedAnimals, probabilitiesService, feedingService);
-        final Ecosystem tundra = new Ecosystem(TUNDRA, ecosystemGroupedAnimals, probabilitiesService, feedingService);
-        final Ecosystem desert = new Ecosystem(DESERT, ecosystemGroupedAnimals, probabilitiesService, feedingService);
-        final List<Ecosystem> ecosystems = new ArrayList<>();
-        ecosystems.add(savanna);
-        ecosystems.add(tundra);
-        ecosystems.add(desert);
-        return ecosystems;
+        return newRegion(SAVANNA, TUNDRA, DESERT);
+    }
+
+    /**
+     * Creates an ecosystem per biome and connects every pair of them as neighbors,
+     * so animals living in several of the biomes can migrate between them. The ecosystems
+     * share an id allocator, so migrants never take the id of an animal of another of them.
+     *
+     * @param biomes the biomes of the region
+     * @return the ecosystems of the region, in the order of the biomes
+     * @see #setMigrationRate(double)
+     */
+    public List<Ecosystem> newRegion(Biome... biomes) {
+        List<Ecosystem> region = new ArrayList<>();
+        IdAllocator idAllocator = new IdAllocator();
+        for (Biome biome : biomes) {
+            Ecosystem ecosystem = newEcosystem(biome, idAllocator);
+            region.forEach(ecosystem::addNeighbor);
+            region.add(ecosystem);
+        }
+        return region;
+    }
+
+    /**
+     * Simulates the ecosystems of a region side by side, each on its own virtual thread, until
+     * all of them ended or ran the given number of iterations. The ecosystems only exchange
+     * animals through their migrant inboxes at iteration boundaries, so they never wait for each
+     * other. An ecosystem which ended admits the migrants already on their way and then stops
+     * accepting migrants, so no animal is lost to it.
+     *
+     * @param region        the connected ecosystems
+     * @param maxIterations the maximum number of iterations of each ecosystem
+     * @throws IllegalStateException if the simulation of an ecosystem failed
+     */
+    public void runRegion(List<Ecosystem> region, int maxIterations) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> simulations = new ArrayList<>();
+            for (Ecosystem ecosystem : region) {
+                simulations.add(executor.submit(() -> {
+                    int iterationNumber = 1;
+                    try {
+                        while (iterationNumber <= maxIterations && runIteration(ecosystem, iterationNumber)) {
+                            iterationNumber++;
+                        }
+                    } finally {
+                        ecosystem.stopAcceptingMigrants();
+                    }
+                }));
+            }
+            for (Future<?> simulation : simulations) {
+                simulation.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation of the region failed", e.getCause());
+        }
     }
 
     /**
@@ -98,57 +175,123 @@ public class SimulationRunner {
      */
     protected void runSimulationLoop(Ecosystem chosenEcosystem, int iterationNumber) {
         while (!chosenEcosystem.hasExtinctAnimalType()) {
-            System.out.printf("""
-                    %n
-                    --------------------------------------------
-                    Iteration number %d
-                    --------------------------------------------
-                    %n""", iterationNumber);
-            ageAllAnimals(chosenEcosystem);
-            processBreeding(chosenEcosystem);
-            executeLifecyclePhase(chosenEcosystem);
+            if (!runIteration(chosenEcosystem, iterationNumber)) return;
             iterationNumber++;
         }
     }
 
     /**
-     * Checks if an animal type has gone extinct (no living individuals remain).
-     * Terminates the simulation if extinction is detected.
+     * Runs a single simulation iteration: ages animals, processes breeding and runs lifecycle events.
+     * Animals killed during the iteration are removed at its end, and every
+     * {@code COMPACTION_INTERVAL} iterations all dead animals are removed in bulk.
+     * Migrants which arrived since the last iteration join the ecosystem at its start,
+     * and animals leave for neighboring ecosystems at its end if migration is enabled.
+     * The statistics of the iteration are exported if an exporter is set, and requested
+     * snapshots of the population are taken once the iteration is finished.
+     *
+     * @param ecosystem       Ecosystem being simulated
+     * @param iterationNumber number of the iteration
+     * @return false if an animal type went extinct and the simulation has to end, true otherwise
+     */
+    public boolean runIteration(Ecosystem ecosystem, int iterationNumber) {
+        System.out.printf("""
+                %n
+                --------------------------------------------
+                Iteration number %d
+                --------------------------------------------
+                %n""", iterationNumber);
+        ecosystem.getStatistics().reset();
+        ecosystem.admitMigrants();
+        ageAllAnimals(ecosystem);
+        processBreeding(ecosystem);
+        boolean isExtinct = !executeLifecyclePhase(ecosystem);
+        ecosystem.removeTombstones();
+        if (iterationNumber % COMPACTION_INTERVAL == 0) {
+            ecosystem.compactDeadAnimals();
+        }
+        if (!isExtinct) {
+            emigrateAnimals(ecosystem);
+        }
+        if (statisticsExporter != null) {
+            statisticsExporter.exportIteration(iterationNumber, ecosystem);
+        }
+        ecosystem.publishRequestedSnapshot(iterationNumber);
+        return !isExtinct;
+    }
+
+    /**
+     * Checks if an animal type has gone extinct (no living individuals remain in any habitat).
      *
-     * @param animalLists Collection of animal groups for the type being checked
-     * @param animalType  Animal type (CARNIVORE/HERBIVORE) to evaluate
+     * @param partitions the alive animals split by habitat
+     * @param animalType Animal type (CARNIVORE/HERBIVORE) to evaluate
+     * @return true if the animal type is extinct and the simulation has to end, false otherwise
      */
-    protected void checkExtinction(Collection<List<Animal>> animalLists, AnimalType animalType) {
-        List<Animal> aliveAnimals = getCurrentAliveAnimals(animalLists);
-        if (aliveAnimals.isEmpty()) {
+    protected boolean checkExtinction(HabitatPartitions partitions, AnimalType animalType) {
+        if (partitions.isExtinct(animalType)) {
             System.out.println(animalType.toString() + " are extinct. Ending simulation.");
-            System.exit(0);
+            return true;
         }
+        return false;
     }
 
     /**
      * Processes breeding for all animals. Animals breed when their age is divisible
-     * by the current iteration number.
+     * by the current iteration number. The newborns join their parents' groups
+     * once all animals have bred. With scheduled breeding only the animals due
+     * to breed are taken from the ecosystem's breeding calendar.
      *
      * @param ecosystem Ecosystem containing animals to breed
      */
     protected void processBreeding(Ecosystem ecosystem) {
+        if (ecosystem.isScheduledBreeding()) {
+            List<Animal> newborns = new ArrayList<>();
+            ecosystem.pollAnimalsDueToBreed().forEach(parent -> newborns.add(breed(ecosystem, parent)));
+            newborns.forEach(ecosystem::addNewbornToEcosystem);
+            return;
+        }
         Collection<List<Animal>> carnivores = getAnimalGroupsByType(ecosystem, CARNIVORE);
         Collection<List<Animal>> herbivores = getAnimalGroupsByType(ecosystem, HERBIVORE);
-        breedAllAnimals(carnivores);
-        breedAllAnimals(herbivores);
+        List<Animal> newborns = new ArrayList<>();
+        breedAllAnimals(ecosystem, carnivores, newborns);
+        breedAllAnimals(ecosystem, herbivores, newborns);
+        newborns.forEach(ecosystem::addNewbornToEcosystem);
     }
 
     /**
      * Ages all animals in the ecosystem by one iteration.
+     * Animals reaching their max age die and are removed at the end of the iteration.
+     * With lazy aging only the ecosystem's age clock advances and no animal is visited
+     * but the ones reaching their max age. With a population storage the storage is ticked
+     * instead, which increases the hunger of the carnivores as well.
      *
      * @param ecosystem Ecosystem containing animals to age
      */
     protected void ageAllAnimals(Ecosystem ecosystem) {
+        if (ecosystem.isLazyAging()) {
+            ecosystem.advanceAgeClock();
+            return;
+        }
+        if (ecosystem.hasPopulationStorage()) {
+            ecosystem.tickPopulationStorage();
+            return;
+        }
         Collection<List<Animal>> carnivores = getAnimalGroupsByType(ecosystem, CARNIVORE);
         Collection<List<Animal>> herbivores = getAnimalGroupsByType(ecosystem, HERBIVORE);
-        carnivores.forEach(animals -> animals.forEach(animal -> animal.growUp(animal.getCurrentAge())));
-        herbivores.forEach(animals -> animals.forEach(animal -> animal.growUp(animal.getCurrentAge())));
+        carnivores.forEach(animals -> animals.forEach(animal -> ageAnimal(ecosystem, animal)));
+        herbivores.forEach(animals -> animals.forEach(animal -> ageAnimal(ecosystem, animal)));
+    }
+
+    /**
+     * Ages an animal by one iteration and checks whether it died of old age.
+     *
+     * @param ecosystem the ecosystem of the animal
+     * @param animal    the animal to age
+     */
+    private void ageAnimal(Ecosystem ecosystem, Animal animal) {
+        animal.growUp(animal.getCurrentAge());
+        if (animal.hasDiedFromOldAge()) {
+            ecosystem.buryDeadAnimal(animal, DeathCause.OLD_AGE);
+        }
     }
 
     /**
@@ -216,7 +359,49 @@ public class SimulationRunner {
         }
         biome = getBiome(input.nextInt());
         input.nextLine();
-        return new Ecosystem(biome, ecosystemGroupedAnimals, probabilitiesService, feedingService);
+        return newEcosystem(biome);
+    }
+
+    /**
+     * Creates an ecosystem with its own animals, sharing the runner's services.
+     * Killed animals are removed in bulk at the end of every iteration.
+     * With animal pooling, removed animals are reused for newborns.
+     * With scheduled starvation, breeding or lazy aging, those events are scheduled.
+     * With a population storage, ages and hunger are kept in the storage.
+     * With vegetation, herbivores graze on the vegetation of the biome.
+     *
+     * @param biome the biome of the ecosystem
+     * @return the created ecosystem
+     */
+    public Ecosystem newEcosystem(Biome biome) {
+        return newEcosystem(biome, new IdAllocator());
+    }
+
+    /**
+     * Creates an ecosystem assigning the ids of its animals from the given allocator.
+     *
+     * @param biome       the biome of the ecosystem
+     * @param idAllocator the allocator of the animal ids
+     * @return the created ecosystem
+     * @see #newEcosystem(Biome)
+     */
+    private Ecosystem newEcosystem(Biome biome, IdAllocator idAllocator) {
+        Map<AnimalType, Map<String, List<Animal>>> groupedAnimals = new EnumMap<>(AnimalType.class);
+        groupedAnimals.put(CARNIVORE, new HashMap<>());
+        groupedAnimals.put(HERBIVORE, new HashMap<>());
+        Ecosystem ecosystem = new Ecosystem(biome, groupedAnimals, probabilitiesService, feedingService, idAllocator);
+        ecosystem.setDeferredRemoval(true);
+        ecosystem.setScheduledStarvation(scheduledStarvation);
+        ecosystem.setScheduledBreeding(scheduledBreeding);
+        ecosystem.setLazyAging(lazyAging);
+        ecosystem.setPopulationStorage(populationStorageFactory);
+        if (maxPooledAnimalsPerKind > 0) {
+            ecosystem.setAnimalPool(new AnimalPool(maxPooledAnimalsPerKind));
+        }
+        if (vegetationCells > 0) {
+            ecosystem.setVegetation(new Vegetation(biome, vegetationCells));
+        }
+        return ecosystem;
     }
 
     /**
@@ -237,30 +422,140 @@ public class SimulationRunner {
      * This phase includes:
      * <ul>
      *     <li>Increasing the hunger level of all carnivores</li>
+     *     <li>Letting all herbivores graze, if the ecosystem has vegetation</li>
      *     <li>Checking for extinction of carnivores and herbivores</li>
-     *     <li>Performing attacks: each alive carnivore attacks a randomly selected alive herbivore</li>
+     *     <li>Performing attacks: each alive carnivore attacks an alive herbivore of its diet chosen by the victim selector</li>
      * </ul>
-     * The method ensures that each carnivore, if alive, attempts an attack.
-     * If no herbivores remain, attacks are skipped for the rest of the carnivores.
+     * The alive animals are split by habitat once, and the carnivores of each habitat only choose among
+     * the herbivores of the habitats they can hunt in. The method ensures that each carnivore, if alive,
+     * attempts an attack. Carnivores finding no herbivore of their diet skip their attack.
      *
      * @param ecosystem the ecosystem being processed for this simulation iteration
+     * @return false if an animal type is extinct and the simulation has to end, true otherwise
      */
-    private void executeLifecyclePhase(Ecosystem ecosystem) {
+    private boolean executeLifecyclePhase(Ecosystem ecosystem) {
         ecosystem.increaseHungerOfCarnivore(ecosystem.getEcosystemGroupedAnimals().get(CARNIVORE));
-        Collection<List<Animal>> carnivoreLists = getAnimalGroupsByType(ecosystem, CARNIVORE);
-        Collection<List<Animal>> herbivoreLists = getAnimalGroupsByType(ecosystem, HERBIVORE);
-
-        checkExtinction(carnivoreLists, CARNIVORE);
-        checkExtinction(herbivoreLists, HERBIVORE);
-
-        for (List<Animal> carnivoreGroup : carnivoreLists) {
-            for (Animal carnivore : carnivoreGroup) {
-                List<Animal> currentAliveVictims = getCurrentAliveAnimals(herbivoreLists);
-                if (currentAliveVictims.isEmpty()) return;
-                Animal victim = currentAliveVictims.get(random.nextInt(currentAliveVictims.size()));
-                ecosystem.attack(carnivore.getId(), victim.getId());
+        ecosystem.grazeHerbivores(ecosystem.getEcosystemGroupedAnimals().get(HERBIVORE));
+        HabitatPartitions partitions = new HabitatPartitions(getAnimalGroupsByType(ecosystem, CARNIVORE),
+                getAnimalGroupsByType(ecosystem, HERBIVORE));
+
+        if (checkExtinction(partitions, CARNIVORE) || checkExtinction(partitions, HERBIVORE)) {
+            return false;
+        }
+
+        if (predationMode == PredationMode.TAU_LEAPING) {
+            huntInBulk(ecosystem, partitions);
+            return true;
+        }
+        PreyPools preyPools = preyPoolsByEcosystem.computeIfAbsent(ecosystem,
+                hunted -> new PreyPools(dietMatrix, victimSelectorFactory));
+        for (Habitat habitat : partitions.getHabitats(CARNIVORE)) {
+            preyPools.prepare(partitions.getAlivePrey(habitat));
+            for (Animal carnivore : partitions.getAnimals(CARNIVORE, habitat)) {
+                if (!carnivore.isAlive()) continue;
+                Animal victim = preyPools.select(carnivore);
+                if (victim == null) continue;
+                ecosystem.attack((Carnivore) carnivore, (Herbivore) victim);
+                if (!victim.isAlive()) {
+                    preyPools.removeSelected();
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lets every alive carnivore attack a randomly chosen alive herbivore, drawing the number of
+     * kills per pair of odds classes instead of drawing every attack (tau-leaping).
+     * <p>
+     * Animals of the same kind, weight, scaled points and group flag have the same attack odds.
+     * The attacks of each predator class are split over the victim classes in proportion to their
+     * size times the predators' diet preference for them, so no attack is aimed at prey outside the diet
+     * or the habitats the predators hunt in. The kills of every class pair are drawn from a binomial distribution with the exact odds,
+     * and then applied to randomly chosen victims. As in a leap all attacks are aimed at the herbivores
+     * alive at its start, the kills of a victim class are capped by its size instead of
+     * shrinking the odds of the following attacks.
+     *
+     * @param ecosystem  the ecosystem being processed
+     * @param partitions the alive animals split by habitat
+     */
+    private void huntInBulk(Ecosystem ecosystem, HabitatPartitions partitions) {
+        Map<OddsClass, List<Carnivore>> predatorClasses = new LinkedHashMap<>();
+        for (Animal carnivore : partitions.getAnimals(CARNIVORE)) {
+            predatorClasses.computeIfAbsent(OddsClass.of(carnivore), oddsClass -> new ArrayList<>()).add((Carnivore) carnivore);
+        }
+        Map<OddsClass, List<Herbivore>> victimClasses = new LinkedHashMap<>();
+        for (Animal herbivore : partitions.getAnimals(HERBIVORE)) {
+            victimClasses.computeIfAbsent(OddsClass.of(herbivore), oddsClass -> new ArrayList<>()).add((Herbivore) herbivore);
+        }
+        List<List<Herbivore>> victims = new ArrayList<>(victimClasses.values());
+        victims.forEach(victimClass -> Collections.shuffle(victimClass, random));
+        int[] killedVictims = new int[victims.size()];
+        for (List<Carnivore> predators : predatorClasses.values()) {
+            Collections.shuffle(predators, random);
+            Carnivore predator = predators.getFirst();
+            double[] victimWeights = new double[victims.size()];
+            double remainingWeight = 0;
+            for (int victimClass = 0; victimClass < victims.size(); victimClass++) {
+                List<Herbivore> victimClassMembers = victims.get(victimClass);
+                Herbivore victim = victimClassMembers.getFirst();
+                if (!predator.getMainHabitat().canHunt(victim.getMainHabitat())) continue;
+                victimWeights[victimClass] = dietMatrix.getPreference(predator.getAnimalKind(), victim.getAnimalKind())
+                        * victimClassMembers.size();
+                remainingWeight += victimWeights[victimClass];
+            }
+            int nextAttacker = 0;
+            for (int victimClass = 0; victimClass < victims.size() && nextAttacker < predators.size(); victimClass++) {
+                if (victimWeights[victimClass] <= 0) continue;
+                List<Herbivore> victimClassMembers = victims.get(victimClass);
+                int remainingAttacks = predators.size() - nextAttacker;
+                int attacks = probabilitiesService.getBinomialSample(remainingAttacks,
+                        Math.min(1, victimWeights[victimClass] / remainingWeight));
+                remainingWeight -= victimWeights[victimClass];
+                int succeedAttackChance = ecosystem.getSucceedAttackChance(predators.get(nextAttacker), victimClassMembers.getFirst());
+                int kills = Math.min(probabilitiesService.getSucceededAttacks(attacks, succeedAttackChance),
+                        victimClassMembers.size() - killedVictims[victimClass]);
+                for (int kill = 0; kill < kills; kill++) {
+                    ecosystem.applySuccessfulAttack(predators.get(nextAttacker + kill),
+                            victimClassMembers.get(killedVictims[victimClass]++));
+                }
+                nextAttacker += attacks;
+            }
+        }
+    }
+
+    /**
+     * Lets every alive animal leave for a random neighboring ecosystem of one of its biomes
+     * with the migration rate. Neighbors which stopped accepting migrants are skipped. The
+     * migrants are chosen before any of them leaves, so the groups are not changed while they
+     * are visited, and then leave together.
+     *
+     * @param ecosystem the ecosystem the migrants leave
+     */
+    private void emigrateAnimals(Ecosystem ecosystem) {
+        if (migrationRate <= 0) return;
+        List<Ecosystem> openNeighbors = ecosystem.getNeighbors().stream()
+                .filter(Ecosystem::isAcceptingMigrants)
+                .toList();
+        if (openNeighbors.isEmpty()) return;
+        Random migrationRandom = ThreadLocalRandom.current();
+        Map<Animal, Ecosystem> destinations = new LinkedHashMap<>();
+        for (Map<String, List<Animal>> groups : ecosystem.getEcosystemGroupedAnimals().values()) {
+            for (List<Animal> animals : groups.values()) {
+                for (Animal animal : animals) {
+                    if (!animal.isAlive() || migrationRandom.nextDouble() >= migrationRate) continue;
+                    List<Ecosystem> reachable = openNeighbors.stream()
+                            .filter(neighbor -> animal.getBiomes().contains(neighbor.getBiome()))
+                            .toList();
+                    if (!reachable.isEmpty()) {
+                        destinations.put(animal, reachable.get(migrationRandom.nextInt(reachable.size())));
+                    }
+                }
             }
         }
+        if (!destinations.isEmpty()) {
+            ecosystem.emigrate(destinations);
+        }
     }
 
     /**
@@ -287,18 +582,34 @@ public class SimulationRunner {
 
     /**
      * Breeds animals when their age matches their reproductive rate.
-     * Each animal breeds with itself if its age > 0 and divisible by its reproductive rate.
+     * Each alive animal breeds with itself if its age > 0 and divisible by its reproductive rate.
+     * Animals which died earlier in the iteration, e.g. of old age, bear no newborn.
+     * The offspring reuses a dead animal of the same kind if the ecosystem pools them.
      *
-     * @param carnivores Collection of animal lists to process
+     * @param ecosystem   Ecosystem containing the animals
+     * @param animalLists Collection of animal lists to process
+     * @param newborns    list collecting the born animals
      */
-    private void breedAllAnimals(Collection<List<Animal>> carnivores) {
-        carnivores.forEach(animals -> animals.forEach(animal -> {
-            if (animal.getCurrentAge() > 0 && animal.getCurrentAge() % animal.getReproductiveRate() == 0) {
-                animal.breed(animal);
+    private void breedAllAnimals(Ecosystem ecosystem, Collection<List<Animal>> animalLists, List<Animal> newborns) {
+        animalLists.forEach(animals -> animals.forEach(animal -> {
+            if (animal.isAlive() && animal.getCurrentAge() > 0 && animal.getCurrentAge() % animal.getReproductiveRate() == 0) {
+                newborns.add(breed(ecosystem, animal));
             }
         }));
     }
 
+    /**
+     * Lets an animal bear a newborn, reusing a dead animal of the same kind if the ecosystem pools them.
+     *
+     * @param ecosystem Ecosystem containing the parent
+     * @param parent    the breeding animal
+     * @return the newborn, which still has to be added to the ecosystem
+     */
+    private Animal breed(Ecosystem ecosystem, Animal parent) {
+        Animal offspring = ecosystem.reuseAnimalFor(parent);
+        return offspring != null ? offspring : parent.breed(parent);
+    }
+
     /**
      * Initiates the process of adding animals to a chosen ecosystem.
      * Displays a list of allowed animals and prompts the user to select one or more for creation.
@@ -344,7 +655,11 @@ public class SimulationRunner {
         if (input.hasNextInt()) {
             int amount = input.nextInt();
             input.nextLine();
-            animalCreatorService.createAnimals(ecosystem, kind, group, amount);
+            try {
+                animalCreatorService.createAnimals(ecosystem, kind, group, amount);
+            } catch (AnimalNotFoundException | SpeciesNotInBiomeException e) {
+                System.out.println(e.getMessage());
+            }
             return false;
         } else {
             System.out.println("Invalid input! Please enter a valid integer.");
@@ -353,6 +668,121 @@ public class SimulationRunner {
         }
     }
 
+    /**
+     * Sets the exporter receiving the statistics of every simulated iteration.
+     *
+     * @param statisticsExporter the exporter, or {@code null} to disable the export
+     */
+    public void setStatisticsExporter(StatisticsExporter statisticsExporter) {
+        this.statisticsExporter = statisticsExporter;
+    }
+
+    /**
+     * Enables the reuse of dead animals for newborns in ecosystems created afterwards.
+     *
+     * @param maxPooledAnimalsPerKind the maximum number of dead animals kept per kind, or 0 to disable pooling
+     */
+    public void setMaxPooledAnimalsPerKind(int maxPooledAnimalsPerKind) {
+        this.maxPooledAnimalsPerKind = maxPooledAnimalsPerKind;
+    }
+
+    /**
+     * Gives ecosystems created afterwards vegetation their herbivores graze on.
+     *
+     * @param vegetationCells the number of cells of the vegetated area, or 0 to let herbivores live without food
+     */
+    public void setVegetationCells(int vegetationCells) {
+        this.vegetationCells = vegetationCells;
+    }
+
+    /**
+     * Selects how the attacks of the carnivores are simulated.
+     *
+     * @param predationMode {@link PredationMode#EXACT} to draw every attack,
+     *                      {@link PredationMode#TAU_LEAPING} to draw the kills in bulk
+     */
+    public void setPredationMode(PredationMode predationMode) {
+        this.predationMode = predationMode;
+    }
+
+    /**
+     * Enables scheduled starvation in ecosystems created afterwards.
+     *
+     * @param scheduledStarvation true to predict when carnivores starve instead of checking them every iteration
+     * @see Ecosystem#setScheduledStarvation(boolean)
+     */
+    public void setScheduledStarvation(boolean scheduledStarvation) {
+        this.scheduledStarvation = scheduledStarvation;
+    }
+
+    /**
+     * Enables scheduled breeding in ecosystems created afterwards.
+     *
+     * @param scheduledBreeding true to only visit the animals due to breed instead of testing every animal
+     * @see Ecosystem#setScheduledBreeding(boolean)
+     */
+    public void setScheduledBreeding(boolean scheduledBreeding) {
+        this.scheduledBreeding = scheduledBreeding;
+    }
+
+    /**
+     * Enables lazy aging in ecosystems created afterwards.
+     *
+     * @param lazyAging true to derive the age of the animals from a clock instead of aging every animal
+     * @see Ecosystem#setLazyAging(boolean)
+     */
+    public void setLazyAging(boolean lazyAging) {
+        this.lazyAging = lazyAging;
+    }
+
+    /**
+     * Keeps the ages and the hunger of the animals of ecosystems created afterwards in population storages,
+     * ticked once per iteration instead of aging and starving every animal object. Cannot be combined with
+     * lazy aging or scheduled starvation.
+     *
+     * @param populationStorageFactory creates a storage per ecosystem and compaction, or {@code null} to age every animal
+     * @see Ecosystem#setPopulationStorage(Supplier)
+     */
+    public void setPopulationStorage(Supplier<? extends PopulationStorage> populationStorageFactory) {
+        this.populationStorageFactory = populationStorageFactory;
+    }
+
+    /**
+     * Sets the strategy choosing the herbivore each carnivore attacks. Only used by exact predation.
+     *
+     * @param victimSelectorFactory creates a victim selector per prey pool, uniform selectors by default
+     */
+    public void setVictimSelector(Supplier<VictimSelector> victimSelectorFactory) {
+        this.victimSelectorFactory = victimSelectorFactory;
+        preyPoolsByEcosystem.clear();
+    }
+
+    /**
+     * Restricts the herbivores each carnivore hunts.
+     *
+     * @param dietMatrix the diets of the carnivores, unrestricted by default
+     * @see SpeciesCatalog#getDietMatrix()
+     */
+    public void setDietMatrix(DietMatrix dietMatrix) {
+        this.dietMatrix = dietMatrix;
+        preyPoolsByEcosystem.clear();
+    }
+
+    /**
+     * Sets the share of the animals leaving for a neighboring ecosystem at the end of every iteration.
+     * Only animals living in the biome of a neighbor can migrate to it.
+     *
+     * @param migrationRate the probability of an animal to migrate per iteration, 0 to disable migration
+     * @throws IllegalArgumentException if the rate is outside 0 to 1
+     * @see #newRegion(Biome...)
+     */
+    public void setMigrationRate(double migrationRate) {
+        if (migrationRate < 0 || migrationRate > 1) {
+            throw new IllegalArgumentException("Migration rate must be between 0 and 1");
+        }
+        this.migrationRate = migrationRate;
+    }
+
     /**
      * Checks whether a valid ecosystem has been chosen.
      *
@@ -362,4 +792,14 @@ public class SimulationRunner {
     private boolean isEcosystemChosen(Ecosystem ecosystem) {
         return ecosystem != null;
     }
+
+    /**
+     * The traits deciding the attack odds and the reachable prey of an animal, shared by all animals of an odds class.
+     */
+    private record OddsClass(String kind, Habitat habitat, int weight, int scaledPoints, boolean isInGroup) {
+        static OddsClass of(Animal animal) {
+            return new OddsClass(animal.getAnimalKind(), animal.getMainHabitat(), animal.getWeight(),
+                    AttackOddsTable.calculateScaledPoints(animal.getCurrentAge(), animal.getMaxAge()), animal.isInGroup());
+        }
+    }
 }
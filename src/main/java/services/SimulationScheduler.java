@@ -0,0 +1,206 @@
+package services;
+
+import models.Ecosystem;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Steps the simulation of an ecosystem under a time and iteration budget instead of
+ * running it until extinction, so one process can host many simulations with a
+ * predictable latency.
+ * <p>
+ * The scheduler measures the cost of every iteration and keeps an exponentially weighted
+ * moving average of it. A new iteration is only started when the average predicts that it
+ * finishes within the budget, and the thread yields between iterations so other
+ * simulations sharing the carrier threads get their turn.
+ * <p>
+ * Frames advance the simulation at a fixed rate of iterations per second, scaled by the
+ * speed multiplier. Iterations which did not fit into the budget of a frame are carried
+ * over to the next frames, up to one second of simulation time.
+ * <p>
+ * The iteration which finds the simulation ended is neither counted nor measured.
+ * <p>
+ * The measurements, the owed iterations and the end of the simulation are not synchronized:
+ * the run and frame methods must only be called by one thread at a time, or under a lock
+ * like {@link SimulationSession#runWithin(Duration)} does. Pausing, resuming and the speed
+ * multiplier can be changed from any thread.
+ *
+ * @see SimulationRunner#runIteration(Ecosystem, int)
+ * @see SimulationSession#getScheduler()
+ */
+public class SimulationScheduler {
+    private static final double COST_SMOOTHING_FACTOR = 0.2;
+    private final BooleanSupplier iteration;
+    private final double iterationsPerSecond;
+    private volatile boolean isPaused;
+    private volatile double speedMultiplier = 1;
+    private double averageIterationNanos;
+    private double owedIterations;
+    private int completedIterations;
+    private boolean isFinished;
+
+    /**
+     * @param simulationRunner    the runner executing the iterations
+     * @param ecosystem           the simulated ecosystem
+     * @param iterationsPerSecond the number of iterations per second of simulation time at normal speed
+     * @throws IllegalArgumentException if the rate is not positive
+     */
+    public SimulationScheduler(SimulationRunner simulationRunner, Ecosystem ecosystem, double iterationsPerSecond) {
+        this(new EcosystemIteration(simulationRunner, ecosystem), iterationsPerSecond);
+    }
+
+    /**
+     * @param iteration           runs the next iteration and returns false instead once the simulation has ended
+     * @param iterationsPerSecond the number of iterations per second of simulation time at normal speed
+     * @throws IllegalArgumentException if the rate is not positive
+     */
+    public SimulationScheduler(BooleanSupplier iteration, double iterationsPerSecond) {
+        if (iterationsPerSecond <= 0) {
+            throw new IllegalArgumentException("Iterations per second must be positive");
+        }
+        this.iteration = iteration;
+        this.iterationsPerSecond = iterationsPerSecond;
+    }
+
+    /**
+     * Runs as many iterations as fit into the given time budget.
+     *
+     * @param budget the time available for the iterations
+     * @return the number of iterations which were run
+     */
+    public int runWithin(Duration budget) {
+        return runIterations(Integer.MAX_VALUE, budget);
+    }
+
+    /**
+     * Runs up to the given number of iterations as long as they fit into the time budget.
+     * At least one iteration is run whenever the budget is positive, so a simulation whose
+     * iterations exceed the budget still makes progress.
+     *
+     * @param maxIterations the maximum number of iterations to run
+     * @param budget        the time available for the iterations
+     * @return the number of iterations which were run
+     */
+    public int runIterations(int maxIterations, Duration budget) {
+        long startNanos = System.nanoTime();
+        long budgetNanos = budget.toNanos();
+        int steppedIterations = 0;
+        while (steppedIterations < maxIterations && !isPaused && !isFinished) {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            if (budgetNanos <= 0 || steppedIterations > 0 && elapsedNanos + averageIterationNanos > budgetNanos) break;
+            if (!runNextIteration()) break;
+            steppedIterations++;
+            Thread.yield();
+        }
+        return steppedIterations;
+    }
+
+    /**
+     * Advances the simulation by one frame: runs the iterations which became due during the
+     * frame time at the current speed, as far as they fit into the budget.
+     *
+     * @param frameTime the wall-clock time passed since the previous frame
+     * @param budget    the time available for the iterations of this frame
+     * @return the number of iterations which were run
+     */
+    public int runFrame(Duration frameTime, Duration budget) {
+        if (isPaused || isFinished) return 0;
+        double frameSeconds = frameTime.toNanos() / 1e9;
+        owedIterations = Math.min(owedIterations + frameSeconds * iterationsPerSecond * speedMultiplier,
+                iterationsPerSecond * speedMultiplier);
+        int steppedIterations = runIterations((int) owedIterations, budget);
+        owedIterations -= steppedIterations;
+        return steppedIterations;
+    }
+
+    /**
+     * Pauses the simulation. Can be called from any thread; a running
+     * {@code run} call stops after its current iteration.
+     */
+    public void pause() {
+        isPaused = true;
+    }
+
+    /**
+     * Resumes a paused simulation.
+     */
+    public void resume() {
+        isPaused = false;
+    }
+
+    public boolean isPaused() {
+        return isPaused;
+    }
+
+    /**
+     * Sets how much faster than normal the simulation runs its frames.
+     *
+     * @param speedMultiplier the speed multiplier, e.g. 2 for double speed
+     * @throws IllegalArgumentException if the multiplier is not positive
+     */
+    public void setSpeedMultiplier(double speedMultiplier) {
+        if (speedMultiplier <= 0) {
+            throw new IllegalArgumentException("Speed multiplier must be positive");
+        }
+        this.speedMultiplier = speedMultiplier;
+    }
+
+    public double getSpeedMultiplier() {
+        return speedMultiplier;
+    }
+
+    public Duration getAverageIterationCost() {
+        return Duration.ofNanos(Math.round(averageIterationNanos));
+    }
+
+    public int getCompletedIterations() {
+        return completedIterations;
+    }
+
+    public boolean isFinished() {
+        return isFinished;
+    }
+
+    /**
+     * Runs the next iteration and measures its cost, or notes the end of the simulation.
+     *
+     * @return true if an iteration was run, false if the simulation has ended
+     */
+    private boolean runNextIteration() {
+        long iterationStartNanos = System.nanoTime();
+        if (!iteration.getAsBoolean()) {
+            isFinished = true;
+            return false;
+        }
+        long iterationNanos = System.nanoTime() - iterationStartNanos;
+        averageIterationNanos = completedIterations == 0
+                ? iterationNanos
+                : averageIterationNanos + COST_SMOOTHING_FACTOR * (iterationNanos - averageIterationNanos);
+        completedIterations++;
+        return true;
+    }
+
+    /**
+     * Runs the iterations of an ecosystem until an animal type is extinct.
+     */
+    private static final class EcosystemIteration implements BooleanSupplier {
+        private final SimulationRunner simulationRunner;
+        private final Ecosystem ecosystem;
+        private int iterationNumber;
+
+        private EcosystemIteration(SimulationRunner simulationRunner, Ecosystem ecosystem) {
+            this.simulationRunner = simulationRunner;
+            this.ecosystem = ecosystem;
+        }
+
+        @Override
+        public boolean getAsBoolean() {
+            if (ecosystem.hasExtinctAnimalType() || !simulationRunner.runIteration(ecosystem, iterationNumber + 1)) {
+                return false;
+            }
+            iterationNumber++;
+            return true;
+        }
+    }
+}
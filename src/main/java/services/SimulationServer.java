@@ -0,0 +1,265 @@
+package services;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import enums.Biome;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A lightweight local HTTP server hosting many independent simulation sessions at once.
+ * <p>
+ * Every request is handled on its own virtual thread, so idle sessions cost nothing but
+ * their ecosystem and busy sessions step their simulation without an OS thread per session.
+ * Every session gets its own runner from the runner factory, so all sessions are simulated
+ * with the same options without sharing the state of a runner.
+ * <p>
+ * Supported endpoints:
+ * <ul>
+ *   <li>{@code POST /sessions?biome=SAVANNA} - creates a session and returns its statistics</li>
+ *   <li>{@code POST /sessions/{id}/animals?kind=zebra&group=herd&count=10} - adds animals</li>
+ *   <li>{@code POST /sessions/{id}/step?iterations=N} - runs up to N iterations</li>
+ *   <li>{@code POST /sessions/{id}/run?millis=M} - runs as many iterations as fit into M milliseconds</li>
+ *   <li>{@code GET /sessions/{id}} - returns the session statistics</li>
+ *   <li>{@code DELETE /sessions/{id}} - removes the session</li>
+ * </ul>
+ * Unknown sessions and actions are answered with 404, unsupported methods with 405 and
+ * invalid parameters with 400. Any other failure is answered with 500.
+ *
+ * @see SimulationSession
+ */
+public class SimulationServer {
+    private static final String SESSIONS_PATH = "/sessions";
+    private final AnimalCreatorService animalCreatorService;
+    private final Supplier<SimulationRunner> runnerFactory;
+    private final Map<Long, SimulationSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextSessionId = new AtomicLong(1);
+    private HttpServer httpServer;
+    private ExecutorService executor;
+
+    public SimulationServer(ProbabilitiesService probabilitiesService,
+                            AnimalCreatorService animalCreatorService,
+                            FeedingService feedingService) {
+
+        this(animalCreatorService, () -> new SimulationRunner(probabilitiesService, animalCreatorService, feedingService));
+    }
+
+    /**
+     * @param animalCreatorService the service creating the animals added to the sessions
+     * @param runnerFactory        creates a configured runner for every new session
+     */
+    public SimulationServer(AnimalCreatorService animalCreatorService, Supplier<SimulationRunner> runnerFactory) {
+        this.animalCreatorService = animalCreatorService;
+        this.runnerFactory = runnerFactory;
+    }
+
+    /**
+     * Starts listening on the given port of the loopback interface.
+     *
+     * @param port the port to listen on, or 0 to pick a free port
+     * @return the port the server listens on
+     * @throws IOException if the server cannot be started
+     */
+    public int start(int port) throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        httpServer.setExecutor(executor);
+        httpServer.createContext(SESSIONS_PATH, this::handle);
+        httpServer.start();
+        System.out.println("Simulation server listening on port " + httpServer.getAddress().getPort());
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, waiting for running requests to complete.
+     */
+    public void stop() {
+        httpServer.stop(0);
+        executor.close();
+    }
+
+    /**
+     * Routes a request to the matching session operation and writes the response.
+     *
+     * @param exchange the HTTP exchange
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] pathSegments = exchange.getRequestURI().getPath().substring(SESSIONS_PATH.length()).split("/");
+            Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+            String method = exchange.getRequestMethod();
+            try {
+                if (pathSegments.length <= 1) {
+                    requireMethod(method, "POST");
+                    SimulationSession session = createSession(parameters);
+                    respond(exchange, 201, session.getStatisticsJson());
+                    return;
+                }
+                SimulationSession session = findSession(pathSegments[1]);
+                String action = pathSegments.length > 2 ? pathSegments[2] : "";
+                switch (action) {
+                    case "" -> {
+                        if (method.equals("DELETE")) {
+                            sessions.remove(session.getId());
+                            session.close();
+                            respond(exchange, 204, null);
+                        } else {
+                            requireMethod(method, "GET");
+                            respond(exchange, 200, session.getStatisticsJson());
+                        }
+                    }
+                    case "animals" -> {
+                        requireMethod(method, "POST");
+                        session.addAnimals(requireParameter(parameters, "kind"), requireParameter(parameters, "group"),
+                                Integer.parseInt(requireParameter(parameters, "count")));
+                        respond(exchange, 200, session.getStatisticsJson());
+                    }
+                    case "step" -> {
+                        requireMethod(method, "POST");
+                        session.step(Integer.parseInt(parameters.getOrDefault("iterations", "1")));
+                        respond(exchange, 200, session.getStatisticsJson());
+                    }
+                    case "run" -> {
+                        requireMethod(method, "POST");
+                        session.runWithin(Duration.ofMillis(Long.parseLong(requireParameter(parameters, "millis"))));
+                        respond(exchange, 200, session.getStatisticsJson());
+                    }
+                    default -> throw new HttpStatusException(404, "Unknown session action " + action);
+                }
+            } catch (HttpStatusException e) {
+                respond(exchange, e.getStatus(), errorJson(e.getMessage()));
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, errorJson(e.getMessage()));
+            } catch (RuntimeException e) {
+                System.err.println("Request " + method + " " + exchange.getRequestURI() + " failed: " + e);
+                respond(exchange, 500, errorJson("Internal server error"));
+            }
+        }
+    }
+
+    /**
+     * Creates and registers a session for the biome given by the {@code biome} parameter.
+     *
+     * @param parameters the request parameters
+     * @return the created session
+     */
+    private SimulationSession createSession(Map<String, String> parameters) {
+        Biome biome = Biome.valueOf(requireParameter(parameters, "biome").toUpperCase());
+        long sessionId = nextSessionId.getAndIncrement();
+        SimulationSession session = new SimulationSession(sessionId, biome, runnerFactory.get(), animalCreatorService);
+        sessions.put(sessionId, session);
+        return session;
+    }
+
+    /**
+     * Finds a session by its id.
+     *
+     * @param sessionId the id of the session
+     * @return the found session
+     * @throws HttpStatusException with status 404 if no session with the given id exists
+     */
+    private SimulationSession findSession(String sessionId) {
+        try {
+            SimulationSession session = sessions.get(Long.parseLong(sessionId));
+            if (session != null) return session;
+        } catch (NumberFormatException e) {
+            // a malformed id names no session either
+        }
+        throw new HttpStatusException(404, "Session with id " + sessionId + " not found");
+    }
+
+    /**
+     * Checks that the request uses the expected HTTP method.
+     *
+     * @throws HttpStatusException with status 405 if another method is used
+     */
+    private void requireMethod(String method, String expectedMethod) {
+        if (!method.equals(expectedMethod)) {
+            throw new HttpStatusException(405, "Expected " + expectedMethod + " but was " + method);
+        }
+    }
+
+    /**
+     * Returns a mandatory request parameter.
+     *
+     * @throws IllegalArgumentException if the parameter is missing
+     */
+    private String requireParameter(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing parameter " + name);
+        }
+        return value;
+    }
+
+    /**
+     * Decodes the query string of a request into its parameters.
+     *
+     * @param rawQuery the raw query string, may be {@code null}
+     * @return the decoded parameters
+     */
+    private Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) return parameters;
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator <= 0) continue;
+            parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    /**
+     * Describes an error as a JSON object.
+     */
+    private String errorJson(String errorMessage) {
+        String message = String.valueOf(errorMessage).replace("\\", "\\\\").replace("\"", "\\\"");
+        return "{\"error\":\"" + message + "\"}";
+    }
+
+    /**
+     * Sends the response status and the JSON body, if any.
+     */
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    /**
+     * Ends the handling of a request with the given HTTP status.
+     */
+    private static final class HttpStatusException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private final int status;
+
+        private HttpStatusException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        private int getStatus() {
+            return status;
+        }
+    }
+}
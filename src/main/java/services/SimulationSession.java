@@ -0,0 +1,284 @@
+package services;
+
+import enums.AnimalType;
+import enums.Biome;
+import models.Ecosystem;
+import models.EcosystemSnapshot;
+import models.IterationDelta;
+import models.IterationDeltaRecorder;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A single user's simulation hosted by the {@link SimulationServer}. Each session owns
+ * its ecosystem and runner, so sessions never share mutable state. Requests of the same
+ * session are serialized with a lock which does not pin the virtual thread running them.
+ * <p>
+ * Every iteration produces an {@link IterationDelta} which is returned by {@link #step()}
+ * and published to all subscribers. Publishing never waits for a subscriber: deltas which do
+ * not fit into a slow subscriber's buffer are dropped for it, so it neither piles up deltas in
+ * memory nor stalls the session's requests. Subscribers can tell a gap from the iteration
+ * numbers and read the statistics or request a snapshot to catch up.
+ * Statistics are read from the population counts taken after the last step, so reading
+ * them never waits for a running step. The population itself is only copied for a
+ * {@link #requestSnapshot() requested snapshot}.
+ *
+ * @see SimulationServer
+ * @see SimulationRunner
+ */
+public class SimulationSession implements AutoCloseable {
+    private static final double HUNGER_REPORT_THRESHOLD = 5;
+    private static final double SCHEDULED_ITERATIONS_PER_SECOND = 10;
+    private final long id;
+    private final SimulationRunner simulationRunner;
+    private final AnimalCreatorService animalCreatorService;
+    private final Ecosystem ecosystem;
+    private final IterationDeltaRecorder deltaRecorder = new IterationDeltaRecorder(HUNGER_REPORT_THRESHOLD);
+    private final SubmissionPublisher<IterationDelta> deltaPublisher = new SubmissionPublisher<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SimulationScheduler scheduler;
+    private volatile int completedIterations;
+    private volatile boolean isFinished;
+    private volatile Map<AnimalType, Integer> populations = Map.of();
+
+    public SimulationSession(long id,
+                             Biome biome,
+                             ProbabilitiesService probabilitiesService,
+                             AnimalCreatorService animalCreatorService,
+                             FeedingService feedingService) {
+
+        this(id, biome, new SimulationRunner(probabilitiesService, animalCreatorService, feedingService), animalCreatorService);
+    }
+
+    /**
+     * @param id                   the id of the session
+     * @param biome                the biome of the session's ecosystem
+     * @param simulationRunner     the configured runner, owned by this session from now on
+     * @param animalCreatorService the service creating the animals added to the session
+     */
+    public SimulationSession(long id, Biome biome, SimulationRunner simulationRunner, AnimalCreatorService animalCreatorService) {
+        this.id = id;
+        this.animalCreatorService = animalCreatorService;
+        this.simulationRunner = simulationRunner;
+        this.ecosystem = simulationRunner.newEcosystem(biome);
+        ecosystem.setDeltaRecorder(deltaRecorder);
+        this.scheduler = new SimulationScheduler(this::stepIfRunning, SCHEDULED_ITERATIONS_PER_SECOND);
+    }
+
+    /**
+     * Creates animals of the given kind in the session's ecosystem.
+     *
+     * @param animalKind the kind of the animals to create
+     * @param groupName  the group of the animals
+     * @param count      the number of animals to create
+     */
+    public void addAnimals(String animalKind, String groupName, int count) {
+        lock.lock();
+        try {
+            animalCreatorService.createAnimals(ecosystem, animalKind, groupName, count);
+            countPopulations();
+        } finally {
+            lock.unlock();
+            publishRequestedSnapshotIfIdle();
+        }
+    }
+
+    /**
+     * Runs a single iteration and publishes its changes to the subscribers.
+     *
+     * @return the changes of the iteration
+     * @throws IllegalStateException if the simulation has already ended
+     */
+    public IterationDelta step() {
+        lock.lock();
+        try {
+            if (isFinished) {
+                throw new IllegalStateException("Simulation of session " + id + " has already ended");
+            }
+            IterationDelta delta = runNextIteration();
+            countPopulations();
+            return delta;
+        } finally {
+            lock.unlock();
+            publishRequestedSnapshotIfIdle();
+        }
+    }
+
+    /**
+     * Runs up to the given number of iterations, stopping early once an animal type is extinct.
+     *
+     * @param iterations the maximum number of iterations to run
+     * @return the number of iterations which were run
+     */
+    public int step(int iterations) {
+        lock.lock();
+        try {
+            int initialIterations = completedIterations;
+            while (completedIterations - initialIterations < iterations && !isFinished) {
+                runNextIteration();
+            }
+            countPopulations();
+            return completedIterations - initialIterations;
+        } finally {
+            lock.unlock();
+            publishRequestedSnapshotIfIdle();
+        }
+    }
+
+    /**
+     * Runs as many iterations as fit into the given time budget with the scheduler of the session.
+     * The scheduler runs while holding the lock, so concurrent calls are serialized like the other
+     * requests of the session and never lose each other's measurements.
+     *
+     * @param budget the time available for the iterations
+     * @return the number of iterations which were run
+     */
+    public int runWithin(Duration budget) {
+        lock.lock();
+        try {
+            return scheduler.runWithin(budget);
+        } finally {
+            lock.unlock();
+            publishRequestedSnapshotIfIdle();
+        }
+    }
+
+    /**
+     * Returns the scheduler which steps this session under a time budget, e.g. once per frame.
+     * Its iterations publish their changes to the subscribers like {@link #step()}. It can be paused,
+     * resumed and sped up from any thread, but must only be run by one thread at a time;
+     * {@link #runWithin(Duration)} serializes the runs with the other requests of the session.
+     *
+     * @return the scheduler of the session
+     */
+    public SimulationScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Subscribes to the changes of all following iterations.
+     * The subscriber is completed once the simulation ends or the session is closed.
+     *
+     * @param subscriber the subscriber
+     */
+    public void subscribe(Flow.Subscriber<? super IterationDelta> subscriber) {
+        deltaPublisher.subscribe(subscriber);
+    }
+
+    /**
+     * Requests a snapshot of the population. While a step is running, the snapshot is taken
+     * at the end of its current iteration, otherwise right away.
+     *
+     * @return a future completed with the snapshot
+     */
+    public CompletableFuture<EcosystemSnapshot> requestSnapshot() {
+        CompletableFuture<EcosystemSnapshot> request = ecosystem.requestSnapshot();
+        publishRequestedSnapshotIfIdle();
+        return request;
+    }
+
+    /**
+     * Completes all subscribers of the session, and all pending snapshot requests
+     * unless a running step completes them.
+     */
+    @Override
+    public void close() {
+        deltaPublisher.close();
+        publishRequestedSnapshotIfIdle();
+    }
+
+    /**
+     * Describes the state of the session after its last step as a JSON object.
+     *
+     * @return the session statistics
+     */
+    public String getStatisticsJson() {
+        Map<AnimalType, Integer> currentPopulations = populations;
+        StringBuilder json = new StringBuilder()
+                .append("{\"id\":").append(id)
+                .append(",\"biome\":\"").append(ecosystem.getBiome()).append('"')
+                .append(",\"iterations\":").append(completedIterations)
+                .append(",\"finished\":").append(isFinished);
+        for (AnimalType type : AnimalType.values()) {
+            json.append(",\"").append(type.name().toLowerCase()).append("s\":").append(currentPopulations.getOrDefault(type, 0));
+        }
+        return json.append('}').toString();
+    }
+
+    /**
+     * Runs the next iteration, unless an animal type is already extinct, and publishes its changes.
+     * Must be called while holding the lock.
+     *
+     * @return the changes of the iteration
+     */
+    private IterationDelta runNextIteration() {
+        int iterationNumber = completedIterations + 1;
+        if (ecosystem.hasExtinctAnimalType() || !simulationRunner.runIteration(ecosystem, iterationNumber)) {
+            isFinished = true;
+        } else {
+            completedIterations++;
+        }
+        IterationDelta delta = deltaRecorder.drain(iterationNumber);
+        deltaPublisher.offer(delta, (subscriber, droppedDelta) -> false);
+        if (isFinished) {
+            deltaPublisher.close();
+            ecosystem.publishRequestedSnapshot(completedIterations);
+        }
+        return delta;
+    }
+
+    /**
+     * Runs a single iteration for the scheduler unless the simulation has already ended.
+     *
+     * @return true if an iteration was run
+     */
+    private boolean stepIfRunning() {
+        lock.lock();
+        try {
+            if (isFinished) return false;
+            runNextIteration();
+            countPopulations();
+            return !isFinished;
+        } finally {
+            lock.unlock();
+            publishRequestedSnapshotIfIdle();
+        }
+    }
+
+    /**
+     * Copies the population counts of the ecosystem for the statistics.
+     * Must be called while holding the lock.
+     */
+    private void countPopulations() {
+        Map<AnimalType, Integer> counts = new EnumMap<>(AnimalType.class);
+        for (AnimalType type : AnimalType.values()) {
+            counts.put(type, ecosystem.getPopulation(type));
+        }
+        populations = counts;
+    }
+
+    /**
+     * Takes the requested snapshots unless a step is running. A running step takes them at the
+     * end of its current iteration, and checks for requests again after releasing the lock,
+     * so no request is left waiting once the session is idle.
+     */
+    private void publishRequestedSnapshotIfIdle() {
+        if (lock.tryLock()) {
+            try {
+                ecosystem.publishRequestedSnapshot(completedIterations);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+}
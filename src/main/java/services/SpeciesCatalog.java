@@ -0,0 +1,319 @@
+package services;
+
+import enums.AnimalType;
+import enums.Biome;
+import enums.Habitat;
+import enums.LivingType;
+import models.DietMatrix;
+import models.SpeciesDefinition;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The table of all species which can be created, loaded from a CSV file so new species
+ * can be added per scenario without recompiling.
+ * <p>
+ * Every non-empty line which does not start with {@code #} describes one species:
+ * <pre>
+ * kind,animal_type,name,biomes,max_age,weight,reproductive_rate,habitat,living_type,in_group,points,hunger_rate,diet
+ * lion,CARNIVORE,Lion,SAVANNA,30,150,6,LAND,ALONE,true,110,20,zebra:3;buffalo:2;gazelle
+ * </pre>
+ * Biomes are separated by {@code ;}. The optional diet lists the kinds of the herbivores a carnivore
+ * hunts, separated by {@code ;} and each followed by an optional {@code :weight} of preference, 1 by default.
+ * A carnivore without a diet hunts every herbivore. The species are indexed by kind and partitioned by
+ * biome once, so listing the species of a biome neither searches nor allocates.
+ * A parsed catalog can be stored in a compact binary cache which is read instead of
+ * the CSV file as long as the file has not changed.
+ *
+ * @see SpeciesDefinition
+ * @see AnimalCreatorService
+ */
+public class SpeciesCatalog {
+    private static final String DEFAULT_RESOURCE = "/species.csv";
+    private static final int CACHE_MAGIC = 0x53504332;
+    private static final int FIELD_COUNT = 13;
+    private final Map<String, SpeciesDefinition> speciesByKind;
+    private final Map<Biome, List<SpeciesDefinition>> speciesByBiome = new EnumMap<>(Biome.class);
+    private final Map<Biome, Map<String, SpeciesDefinition>> speciesKindsByBiome = new EnumMap<>(Biome.class);
+    private final DietMatrix dietMatrix;
+
+    private SpeciesCatalog(List<SpeciesDefinition> species) {
+        Map<String, SpeciesDefinition> kinds = new LinkedHashMap<>();
+        Map<Biome, List<SpeciesDefinition>> biomes = new EnumMap<>(Biome.class);
+        for (SpeciesDefinition definition : species) {
+            if (kinds.put(definition.kind(), definition) != null) {
+                throw new IllegalArgumentException("Species " + definition.kind() + " is defined twice");
+            }
+            for (Biome biome : definition.biomes()) {
+                biomes.computeIfAbsent(biome, b -> new ArrayList<>()).add(definition);
+            }
+        }
+        this.speciesByKind = Collections.unmodifiableMap(kinds);
+        for (Biome biome : Biome.values()) {
+            List<SpeciesDefinition> biomeSpecies = List.copyOf(biomes.getOrDefault(biome, List.of()));
+            Map<String, SpeciesDefinition> biomeKinds = new LinkedHashMap<>();
+            biomeSpecies.forEach(definition -> biomeKinds.put(definition.kind(), definition));
+            speciesByBiome.put(biome, biomeSpecies);
+            speciesKindsByBiome.put(biome, Collections.unmodifiableMap(biomeKinds));
+        }
+        this.dietMatrix = new DietMatrix(species);
+    }
+
+    /**
+     * Loads the catalog of predefined species shipped with the application.
+     *
+     * @return the loaded catalog
+     * @throws UncheckedIOException if the catalog cannot be read
+     */
+    public static SpeciesCatalog loadDefault() {
+        try (InputStream input = SpeciesCatalog.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (input == null) {
+                throw new FileNotFoundException("Species catalog " + DEFAULT_RESOURCE + " not found on the classpath");
+            }
+            return parse(new InputStreamReader(input, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read species catalog " + DEFAULT_RESOURCE, e);
+        }
+    }
+
+    /**
+     * Loads a catalog from a CSV file.
+     *
+     * @param csvFile the CSV file
+     * @return the loaded catalog
+     * @throws UncheckedIOException     if the file cannot be read
+     * @throws IllegalArgumentException if a line of the file is malformed
+     */
+    public static SpeciesCatalog load(Path csvFile) {
+        try (Reader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read species catalog " + csvFile, e);
+        }
+    }
+
+    /**
+     * Loads a catalog from its binary cache if the cache is newer than the CSV file,
+     * otherwise parses the CSV file and rewrites the cache. A cache written in an older
+     * format is rewritten as well.
+     *
+     * @param csvFile   the CSV file
+     * @param cacheFile the binary cache of the CSV file
+     * @return the loaded catalog
+     * @throws UncheckedIOException     if the files cannot be read or written
+     * @throws IllegalArgumentException if a line of the CSV file is malformed
+     */
+    public static SpeciesCatalog loadCached(Path csvFile, Path cacheFile) {
+        try {
+            if (Files.exists(cacheFile)
+                    && Files.getLastModifiedTime(cacheFile).compareTo(Files.getLastModifiedTime(csvFile)) > 0) {
+                SpeciesCatalog cachedCatalog = readCache(cacheFile);
+                if (cachedCatalog != null) {
+                    return cachedCatalog;
+                }
+            }
+            SpeciesCatalog catalog = load(csvFile);
+            catalog.writeCache(cacheFile);
+            return catalog;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load species catalog " + csvFile, e);
+        }
+    }
+
+    /**
+     * Writes the catalog to a binary cache file.
+     *
+     * @param cacheFile the file to write to
+     * @throws IOException if the file cannot be written
+     */
+    public void writeCache(Path cacheFile) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(cacheFile)))) {
+            output.writeInt(CACHE_MAGIC);
+            output.writeInt(speciesByKind.size());
+            for (SpeciesDefinition definition : speciesByKind.values()) {
+                output.writeUTF(definition.kind());
+                output.writeByte(definition.animalType().ordinal());
+                output.writeUTF(definition.name());
+                int biomeMask = 0;
+                for (Biome biome : definition.biomes()) {
+                    biomeMask |= 1 << biome.ordinal();
+                }
+                output.writeInt(biomeMask);
+                output.writeInt(definition.maxAge());
+                output.writeInt(definition.weight());
+                output.writeInt(definition.reproductiveRate());
+                output.writeByte(definition.habitat().ordinal());
+                output.writeByte(definition.livingType().ordinal());
+                output.writeBoolean(definition.inGroup());
+                output.writeInt(definition.points());
+                output.writeInt(definition.hungerRate());
+                output.writeInt(definition.diet().size());
+                for (Map.Entry<String, Double> prey : definition.diet().entrySet()) {
+                    output.writeUTF(prey.getKey());
+                    output.writeDouble(prey.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds a species by its kind, ignoring the case.
+     *
+     * @param kind the kind of the species
+     * @return the species, or an empty optional if the kind is unknown
+     */
+    public Optional<SpeciesDefinition> find(String kind) {
+        return Optional.ofNullable(speciesByKind.get(kind.toLowerCase()));
+    }
+
+    /**
+     * Returns all species living in the given biome, in catalog order.
+     *
+     * @param biome the biome
+     * @return the species of the biome
+     */
+    public List<SpeciesDefinition> getSpecies(Biome biome) {
+        return speciesByBiome.get(biome);
+    }
+
+    /**
+     * Returns the species living in the given biome by their kind, so creating animals
+     * for an ecosystem needs neither a scan of all species nor a biome check per lookup.
+     *
+     * @param biome the biome
+     * @return the species of the biome by kind
+     */
+    public Map<String, SpeciesDefinition> getSpeciesByKind(Biome biome) {
+        return speciesKindsByBiome.get(biome);
+    }
+
+    public Collection<SpeciesDefinition> getAllSpecies() {
+        return speciesByKind.values();
+    }
+
+    /**
+     * Returns the diets of all carnivores of the catalog.
+     *
+     * @return the diet matrix of the catalog
+     */
+    public DietMatrix getDietMatrix() {
+        return dietMatrix;
+    }
+
+    /**
+     * Parses all species of a CSV catalog.
+     */
+    private static SpeciesCatalog parse(Reader reader) throws IOException {
+        List<SpeciesDefinition> species = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            species.add(parseSpecies(line, lineNumber));
+        }
+        return new SpeciesCatalog(species);
+    }
+
+    /**
+     * Parses a single species line.
+     *
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    private static SpeciesDefinition parseSpecies(String line, int lineNumber) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != FIELD_COUNT && fields.length != FIELD_COUNT - 1) {
+            throw new IllegalArgumentException("Line " + lineNumber + " of species catalog must have "
+                    + (FIELD_COUNT - 1) + " or " + FIELD_COUNT + " fields but has " + fields.length);
+        }
+        try {
+            Set<Biome> biomes = EnumSet.noneOf(Biome.class);
+            for (String biome : fields[3].split(";")) {
+                biomes.add(Biome.valueOf(biome.strip()));
+            }
+            return new SpeciesDefinition(fields[0].strip().toLowerCase(),
+                    AnimalType.valueOf(fields[1].strip()),
+                    fields[2].strip(),
+                    biomes,
+                    Integer.parseInt(fields[4].strip()),
+                    Integer.parseInt(fields[5].strip()),
+                    Integer.parseInt(fields[6].strip()),
+                    Habitat.valueOf(fields[7].strip()),
+                    LivingType.valueOf(fields[8].strip()),
+                    Boolean.parseBoolean(fields[9].strip()),
+                    Integer.parseInt(fields[10].strip()),
+                    Integer.parseInt(fields[11].strip()),
+                    fields.length == FIELD_COUNT ? parseDiet(fields[12]) : Map.of());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + " of species catalog is malformed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses the diet of a carnivore, e.g. {@code zebra:3;gazelle}.
+     *
+     * @throws IllegalArgumentException if a preference weight is not a positive number
+     */
+    private static Map<String, Double> parseDiet(String field) {
+        Map<String, Double> diet = new LinkedHashMap<>();
+        for (String prey : field.split(";")) {
+            if (prey.isBlank()) continue;
+            String[] kindAndWeight = prey.split(":", 2);
+            double weight = kindAndWeight.length == 2 ? Double.parseDouble(kindAndWeight[1].strip()) : 1;
+            if (!(weight > 0)) {
+                throw new IllegalArgumentException("Diet weight of " + kindAndWeight[0].strip() + " must be positive");
+            }
+            diet.put(kindAndWeight[0].strip().toLowerCase(), weight);
+        }
+        return diet;
+    }
+
+    /**
+     * Reads a catalog from its binary cache.
+     *
+     * @return the cached catalog, or null if the cache was written in another format
+     */
+    private static SpeciesCatalog readCache(Path cacheFile) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (input.readInt() != CACHE_MAGIC) {
+                return null;
+            }
+            int count = input.readInt();
+            List<SpeciesDefinition> species = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String kind = input.readUTF();
+                AnimalType animalType = AnimalType.values()[input.readByte()];
+                String name = input.readUTF();
+                int biomeMask = input.readInt();
+                Set<Biome> biomes = EnumSet.noneOf(Biome.class);
+                for (Biome biome : Biome.values()) {
+                    if ((biomeMask & 1 << biome.ordinal()) != 0) {
+                        biomes.add(biome);
+                    }
+                }
+                int maxAge = input.readInt();
+                int weight = input.readInt();
+                int reproductiveRate = input.readInt();
+                Habitat habitat = Habitat.values()[input.readByte()];
+                LivingType livingType = LivingType.values()[input.readByte()];
+                boolean inGroup = input.readBoolean();
+                int points = input.readInt();
+                int hungerRate = input.readInt();
+                int dietSize = input.readInt();
+                Map<String, Double> diet = new LinkedHashMap<>();
+                for (int prey = 0; prey < dietSize; prey++) {
+                    diet.put(input.readUTF(), input.readDouble());
+                }
+                species.add(new SpeciesDefinition(kind, animalType, name, biomes, maxAge, weight, reproductiveRate,
+                        habitat, livingType, inGroup, points, hungerRate, diet));
+            }
+            return new SpeciesCatalog(species);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package services;
+
+import enums.AnimalType;
+import models.Animal;
+import models.Carnivore;
+import models.Ecosystem;
+import models.IterationStatistics;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams per-iteration statistics of ecosystems to a CSV file, optionally gzip compressed.
+ * <p>
+ * Each iteration writes one row per animal group with the biome of its ecosystem, its alive
+ * population, the average hunger of its carnivores and the births, deaths, kills, emigrations
+ * and immigrations recorded during the iteration. The ecosystems of a region may export from
+ * their own threads; the rows of an iteration are written together.
+ * <p>
+ * Rows go through a buffered file channel and are flushed whenever the iteration number
+ * advanced by {@code FLUSH_INTERVAL} since the last flush, however many ecosystems export,
+ * so no history is kept in memory however long the simulation runs.
+ *
+ * @see IterationStatistics
+ * @see SimulationRunner
+ */
+public class StatisticsExporter implements Closeable {
+    private static final String HEADER = "iteration,ecosystem,animal_type,group,population,average_hunger,births,deaths,kills,emigrations,immigrations";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_INTERVAL = 100;
+    private final Writer writer;
+    private int lastFlushedIteration;
+
+    /**
+     * Opens the statistics file, replacing any existing one, and writes the header.
+     *
+     * @param path       the file to write to
+     * @param compressed whether to gzip compress the file
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    public StatisticsExporter(Path path, boolean compressed) {
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            OutputStream output = Channels.newOutputStream(channel);
+            if (compressed) {
+                output = new GZIPOutputStream(output, BUFFER_SIZE);
+            }
+            writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+            writer.write(HEADER);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open statistics file " + path, e);
+        }
+    }
+
+    /**
+     * Writes the statistics of all groups of the ecosystem for the given iteration.
+     * Groups which went extinct or left during the iteration are still reported with their deaths
+     * and emigrations. Can be called by the threads of several ecosystems at once.
+     *
+     * @param iterationNumber the finished iteration
+     * @param ecosystem       the simulated ecosystem
+     * @throws UncheckedIOException if the statistics cannot be written
+     */
+    public synchronized void exportIteration(int iterationNumber, Ecosystem ecosystem) {
+        IterationStatistics statistics = ecosystem.getStatistics();
+        try {
+            for (AnimalType type : AnimalType.values()) {
+                Map<String, List<Animal>> groups = ecosystem.getEcosystemGroupedAnimals().getOrDefault(type, Map.of());
+                Set<String> groupNames = new TreeSet<>(groups.keySet());
+                groupNames.addAll(statistics.getGroupNames(type));
+                for (String groupName : groupNames) {
+                    writeRow(iterationNumber, ecosystem, type, groupName, groups.getOrDefault(groupName, List.of()), statistics);
+                }
+            }
+            if (iterationNumber >= lastFlushedIteration + FLUSH_INTERVAL) {
+                writer.flush();
+                lastFlushedIteration = iterationNumber;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write statistics of iteration " + iterationNumber, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Writes a single CSV row describing a group.
+     */
+    private void writeRow(int iterationNumber, Ecosystem ecosystem, AnimalType type, String groupName, List<Animal> group,
+                          IterationStatistics statistics) throws IOException {
+        int population = 0;
+        int carnivores = 0;
+        double totalHunger = 0;
+        for (Animal animal : group) {
+            if (!animal.isAlive()) continue;
+            population++;
+            if (animal instanceof Carnivore carnivore) {
+                carnivores++;
+                totalHunger += carnivore.getCurrentHunger();
+            }
+        }
+        String averageHunger = carnivores == 0 ? "" : String.format(Locale.ROOT, "%.1f", totalHunger / carnivores);
+        writer.write(iterationNumber + "," + ecosystem.getBiome() + "," + type + "," + escape(groupName) + ","
+                + population + "," + averageHunger + ","
+                + statistics.getBirths(type, groupName) + ","
+                + statistics.getDeaths(type, groupName) + ","
+                + statistics.getKills(type, groupName) + ","
+                + statistics.getEmigrations(type, groupName) + ","
+                + statistics.getImmigrations(type, groupName) + "\n");
+    }
+
+    /**
+     * Quotes a value if it contains characters with a special meaning in CSV.
+     */
+    private String escape(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,46 @@
+package services;
+
+import models.Animal;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Chooses every remaining victim with the same probability. Remaining victims are kept in a
+ * dense array, and a removed victim is replaced by the last one, so selecting and removing
+ * both take constant time.
+ */
+public class UniformVictimSelector implements VictimSelector {
+    private final Random random = new Random();
+    private int[] remainingVictims = new int[0];
+    private int[] positions = new int[0];
+    private int remainingCount;
+
+    @Override
+    public void prepare(List<? extends Animal> victims) {
+        if (remainingVictims.length < victims.size()) {
+            remainingVictims = new int[victims.size()];
+            positions = new int[victims.size()];
+        }
+        for (int index = 0; index < victims.size(); index++) {
+            remainingVictims[index] = index;
+            positions[index] = index;
+        }
+        remainingCount = victims.size();
+    }
+
+    @Override
+    public int select() {
+        if (remainingCount == 0) return -1;
+        return remainingVictims[random.nextInt(remainingCount)];
+    }
+
+    @Override
+    public void remove(int index) {
+        int position = positions[index];
+        if (position >= remainingCount || remainingVictims[position] != index) return;
+        int lastVictim = remainingVictims[--remainingCount];
+        remainingVictims[position] = lastVictim;
+        positions[lastVictim] = position;
+    }
+}
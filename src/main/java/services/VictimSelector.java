@@ -0,0 +1,38 @@
+package services;
+
+import models.Animal;
+
+import java.util.List;
+
+/**
+ * Chooses the herbivore each carnivore attacks during the hunting phase of an iteration.
+ * A selector is prepared once per iteration with the alive herbivores, and killed victims are
+ * removed from it, so choosing a victim never scans the herbivores again.
+ *
+ * @see UniformVictimSelector
+ * @see WeightedVictimSelector
+ * @see SimulationRunner#setVictimSelector(java.util.function.Supplier)
+ */
+public interface VictimSelector {
+
+    /**
+     * Prepares the selection among the given victims.
+     *
+     * @param victims the alive herbivores, indexed by the following calls
+     */
+    void prepare(List<? extends Animal> victims);
+
+    /**
+     * Chooses the victim of the next attack.
+     *
+     * @return the index of the chosen victim, or -1 if no victim is left
+     */
+    int select();
+
+    /**
+     * Removes a victim which died, so it is never chosen again.
+     *
+     * @param index the index of the victim
+     */
+    void remove(int index);
+}
@@ -0,0 +1,77 @@
+package services;
+
+import models.Animal;
+import models.AttackOddsTable;
+import models.FenwickTree;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Chooses victims with a probability proportional to their weakness, so predators prefer
+ * easy prey. The weaknesses are kept in a {@link FenwickTree}, which is built once per
+ * iteration in linear time; choosing a victim and removing a killed one take {@code O(log n)}.
+ */
+public class WeightedVictimSelector implements VictimSelector {
+    private static final double OLD_AGE_FACTOR = 2;
+    private static final double LONER_FACTOR = 1.5;
+    private static final double REFERENCE_WEIGHT = 100;
+    private final Random random = new Random();
+    private final ToDoubleFunction<Animal> weakness;
+    private FenwickTree weaknesses = new FenwickTree(new double[0]);
+
+    /**
+     * Creates a selector preferring prey as scored by {@link #preyWeakness(Animal)}.
+     */
+    public WeightedVictimSelector() {
+        this(WeightedVictimSelector::preyWeakness);
+    }
+
+    /**
+     * @param weakness the score of a victim, a non-negative weight of its chance to be chosen
+     */
+    public WeightedVictimSelector(ToDoubleFunction<Animal> weakness) {
+        this.weakness = weakness;
+    }
+
+    /**
+     * Scores how easy a herbivore is to catch: animals past half of their max age, which have
+     * no escape points left according to {@link AttackOddsTable#calculateScaledPoints(int, int)},
+     * count twice, loners one and a half times, and lighter animals more than heavier ones.
+     *
+     * @param victim the herbivore
+     * @return the weakness of the herbivore
+     */
+    public static double preyWeakness(Animal victim) {
+        double weakness = REFERENCE_WEIGHT / (REFERENCE_WEIGHT + victim.getWeight());
+        if (AttackOddsTable.calculateScaledPoints(victim.getCurrentAge(), victim.getMaxAge()) <= 0) {
+            weakness *= OLD_AGE_FACTOR;
+        }
+        if (!victim.isInGroup()) {
+            weakness *= LONER_FACTOR;
+        }
+        return weakness;
+    }
+
+    @Override
+    public void prepare(List<? extends Animal> victims) {
+        double[] victimWeaknesses = new double[victims.size()];
+        for (int index = 0; index < victimWeaknesses.length; index++) {
+            victimWeaknesses[index] = weakness.applyAsDouble(victims.get(index));
+        }
+        weaknesses = new FenwickTree(victimWeaknesses);
+    }
+
+    @Override
+    public int select() {
+        double totalWeakness = weaknesses.total();
+        if (totalWeakness <= 0) return -1;
+        return weaknesses.find(random.nextDouble() * totalWeakness);
+    }
+
+    @Override
+    public void remove(int index) {
+        weaknesses.set(index, 0);
+    }
+}
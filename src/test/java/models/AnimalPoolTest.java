@@ -0,0 +1,74 @@
+package models;
+
+import static enums.AnimalType.CARNIVORE;
+import static enums.AnimalType.HERBIVORE;
+import static enums.Biome.SAVANNA;
+import static enums.Habitat.LAND;
+import static enums.LivingType.ALONE;
+import static enums.LivingType.GROUP;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+class AnimalPoolTest {
+
+    private AnimalPool animalPool;
+    private Carnivore deadTiger;
+    private Carnivore tigerParent;
+
+    @BeforeEach
+    void setUp() {
+        animalPool = new AnimalPool(1);
+        deadTiger = new Carnivore(Set.of(SAVANNA), 12, false, 20, 200, 6, LAND, CARNIVORE, ALONE, "tiger", false, 75, "Loners", 18);
+        deadTiger.setCurrentHunger(100);
+        deadTiger.assignId(7);
+        tigerParent = new Carnivore(Set.of(SAVANNA), 6, true, 20, 180, 6, LAND, CARNIVORE, ALONE, "tiger", false, 75, "Loners", 18);
+    }
+
+    @Test
+    void testAcquire_whenDeadAnimalPooled_thenReusedWithResetStateAndWithoutStaleId() {
+        //given
+        animalPool.release(deadTiger);
+
+        //when
+        Animal newborn = animalPool.acquire(tigerParent);
+
+        //then
+        assertSame(deadTiger, newborn, "Dead tiger object is reused");
+        assertEquals(Animal.UNASSIGNED_ID, newborn.getId(), "Reused tiger drops its stale id until it is added again");
+        assertTrue(newborn.isAlive(), "Reused tiger is alive");
+        assertEquals(0, newborn.getCurrentAge(), "Reused tiger is a newborn");
+        assertEquals(0, deadTiger.getCurrentHunger(), "Reused tiger is not hungry");
+        assertEquals(tigerParent.getWeight(), newborn.getWeight(), "Reused tiger weighs like a newborn bred by the parent");
+        assertEquals(0, animalPool.size("tiger"), "Reused tiger left the pool");
+    }
+
+    @Test
+    void testAcquire_whenNoAnimalOfKindPooled_thenReturnNull() {
+        //given
+        animalPool.release(deadTiger);
+        Herbivore zebra = new Herbivore(Set.of(SAVANNA), 10, true, 50, 300, 10, LAND, HERBIVORE, "zebra", GROUP, true, 80, "herd");
+
+        //when
+        Animal newborn = animalPool.acquire(zebra);
+
+        //then
+        assertNull(newborn, "No zebra can be reused");
+    }
+
+    @Test
+    void testRelease_whenAliveOrPoolFull_thenAnimalNotPooled() {
+        //given
+        Carnivore secondDeadTiger = new Carnivore(Set.of(SAVANNA), 12, false, 20, 200, 6, LAND, CARNIVORE, ALONE, "tiger", false, 75, "Loners", 18);
+        animalPool.release(deadTiger);
+
+        //when
+        animalPool.release(secondDeadTiger);
+
+        //then
+        assertEquals(1, animalPool.size("tiger"), "Pool keeps at most one tiger");
+        assertThrows(IllegalArgumentException.class, () -> animalPool.release(tigerParent), "Alive tiger cannot be pooled");
+    }
+}
@@ -0,0 +1,52 @@
+package models;
+
+import static enums.AnimalType.CARNIVORE;
+import static enums.AnimalType.HERBIVORE;
+import static enums.Biome.SAVANNA;
+import static enums.Habitat.LAND;
+import static enums.LivingType.ALONE;
+import static enums.LivingType.GROUP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import enums.Biome;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+class AttackOddsTableTest {
+    private final Set<Biome> biomes = Set.of(SAVANNA);
+    private final AttackOddsTable attackOddsTable = new AttackOddsTable();
+
+    @Test
+    void testGetSucceedAttackChance_whenLonerAttacksGroupMember_thenReturnsCalculatedChance() {
+        //given
+        Carnivore cheetah = new Carnivore(biomes, 10, true, 30, 60, 5, LAND, CARNIVORE, ALONE, "CHEETAH", false, 110, "Loners", 15);
+        Herbivore zebra = new Herbivore(biomes, 10, true, 50, 300, 10, LAND, HERBIVORE, "ZEBRA", GROUP, true, 80, "zebra test");
+
+        //when
+        int chance = attackOddsTable.getSucceedAttackChance(cheetah, zebra);
+
+        //then
+        assertEquals(33, chance, "Loner with one attack point against a herd member with two escape points");
+    }
+
+    @Test
+    void testGetSucceedAttackChance_whenAgesVary_thenMatchesDirectCalculation() {
+        //given
+        for (int predatorAge = 0; predatorAge <= 60; predatorAge++) {
+            for (int victimAge = 0; victimAge <= 100; victimAge += 5) {
+                Carnivore hyena = new Carnivore(biomes, predatorAge, true, 24, 50, 5, LAND, CARNIVORE, GROUP, "HYENA", true, 80, "hyenas", 14);
+                Herbivore gazelle = new Herbivore(biomes, victimAge, true, 25, 25, 5, LAND, HERBIVORE, "GAZELLE", GROUP, true, 80, "gazelles");
+                int expected = AttackOddsTable.calculateSucceedAttackChance(
+                        (int) Math.round(1 - ((double) predatorAge / 24)),
+                        (int) Math.round(1 - ((double) victimAge / 25)),
+                        true, true, 50, 25);
+
+                //when
+                int chance = attackOddsTable.getSucceedAttackChance(hyena, gazelle);
+
+                //then
+                assertEquals(expected, chance, "Cached chance equals the directly calculated one");
+            }
+        }
+    }
+}
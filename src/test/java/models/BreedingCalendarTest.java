@@ -0,0 +1,75 @@
+package models;
+
+import static enums.AnimalType.HERBIVORE;
+import static enums.Biome.SAVANNA;
+import static enums.Habitat.LAND;
+import static enums.LivingType.GROUP;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+class BreedingCalendarTest {
+
+    private BreedingCalendar breedingCalendar;
+    private Herbivore zebra;
+
+    @BeforeEach
+    void setUp() {
+        breedingCalendar = new BreedingCalendar();
+        zebra = new Herbivore(Set.of(SAVANNA), 3, true, 50, 300, 10, LAND, HERBIVORE, "zebra", GROUP, true, 80, "Herd");
+    }
+
+    @Test
+    void testAdvance_whenAnimalScheduled_thenDueEveryReproductiveRateTicks() {
+        //given
+        breedingCalendar.schedule(zebra);
+        List<Integer> breedingTicks = new ArrayList<>();
+
+        //when
+        for (int tick = 1; tick <= 30; tick++) {
+            if (breedingCalendar.advance().contains(zebra)) {
+                breedingTicks.add(tick);
+            }
+        }
+
+        //then
+        assertEquals(List.of(7, 17, 27), breedingTicks, "Zebra of age 3 breeds at ages 10, 20 and 30");
+    }
+
+    @Test
+    void testAdvance_whenDueBeyondSeveralWheelLevels_thenDueAtExactTick() {
+        //given
+        breedingCalendar.schedule(zebra, 300_000);
+
+        //when
+        int dueTick = 0;
+        for (int tick = 1; tick <= 300_000 && dueTick == 0; tick++) {
+            if (!breedingCalendar.advance().isEmpty()) {
+                dueTick = tick;
+            }
+        }
+
+        //then
+        assertEquals(300_000, dueTick, "Far breeding is cascaded down to its exact tick");
+    }
+
+    @Test
+    void testAdvance_whenAnimalDied_thenItIsDropped() {
+        //given
+        breedingCalendar.schedule(zebra);
+        zebra.setAlive(false);
+
+        //when
+        List<Animal> dueAnimals = new ArrayList<>();
+        for (int tick = 1; tick <= 20; tick++) {
+            dueAnimals.addAll(breedingCalendar.advance());
+        }
+
+        //then
+        assertTrue(dueAnimals.isEmpty(), "Dead zebra does not breed");
+    }
+}
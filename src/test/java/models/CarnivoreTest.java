@@ -30,6 +30,7 @@ class CarnivoreTest {
         assertEquals("tiger", newBornTiger.getAnimalKind(), "Created animal belongs to the same kind, passed");
         assertTrue(newBornTiger.getBiomes().contains(SAVANNA), "Created animal contains biome Savanna, passed");
         assertFalse(newBornTiger.getCurrentAge() > 0, "Age of created animal is 0, passed");
+        assertEquals(200, newBornTiger.getWeight(), "Created animal has the weight of its parent, passed");
     }
 
     @Test
@@ -55,4 +56,51 @@ class CarnivoreTest {
         assertNotEquals(initHunger, tiger.getCurrentHunger());
         assertEquals(18.0, tiger.getCurrentHunger(), "Increased hunger rate, passed");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetCurrentHunger_whenHungerClockAdvances_thenHungerGrowsWithoutUpdates() {
+        //given
+        SimulationClock hungerClock = new SimulationClock();
+        tiger.setCurrentHunger(10);
+        tiger.setHungerClock(hungerClock);
+
+        //when
+        hungerClock.advance();
+        hungerClock.advance();
+
+        //then
+        assertEquals(46.0, tiger.getCurrentHunger(), "Hunger grew by the rate for every tick");
+        assertEquals(6, tiger.getStarvationTick(), "Tiger starts tick 6 with a hunger of 100");
+    }
+
+    @Test
+    void testSetCurrentHunger_whenHungerClockSet_thenHungerGrowsFromTheNewValue() {
+        //given
+        SimulationClock hungerClock = new SimulationClock();
+        tiger.setHungerClock(hungerClock);
+        hungerClock.advance();
+
+        //when
+        tiger.setCurrentHunger(5);
+        hungerClock.advance();
+
+        //then
+        assertEquals(23.0, tiger.getCurrentHunger(), "Hunger grows from the tick it was set at");
+        assertEquals(8, tiger.getStarvationTick(), "Tiger starts tick 8 with a hunger of 113");
+    }
+
+    @Test
+    void testGetStarvationTick_whenHungerAlreadyReached100_thenTigerStarvesInTheNextTick() {
+        //given
+        SimulationClock hungerClock = new SimulationClock();
+        tiger.setHungerClock(hungerClock);
+        tiger.setCurrentHunger(150);
+
+        //when
+        hungerClock.advance();
+        hungerClock.advance();
+
+        //then
+        assertEquals(3, tiger.getStarvationTick(), "Starvation is never predicted for a past tick");
+    }
+}
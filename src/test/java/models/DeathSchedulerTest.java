@@ -0,0 +1,75 @@
+package models;
+
+import static enums.AnimalType.CARNIVORE;
+import static enums.Biome.SAVANNA;
+import static enums.Habitat.LAND;
+import static enums.LivingType.ALONE;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+class DeathSchedulerTest {
+
+    private DeathScheduler deathScheduler;
+    private Carnivore tiger;
+    private Carnivore cheetah;
+
+    @BeforeEach
+    void setUp() {
+        deathScheduler = new DeathScheduler();
+        tiger = new Carnivore(Set.of(SAVANNA), 5, true, 20, 200, 6, LAND, CARNIVORE, ALONE, "tiger", false, 75, "Loners", 18);
+        cheetah = new Carnivore(Set.of(SAVANNA), 5, true, 30, 60, 5, LAND, CARNIVORE, ALONE, "cheetah", false, 110, "Loners", 15);
+        tiger.assignId(1);
+        cheetah.assignId(2);
+    }
+
+    @Test
+    void testPollDue_whenDeathsScheduled_thenOnlyDueAnimalsReturnedInTickOrder() {
+        //given
+        deathScheduler.schedule(tiger, 7);
+        deathScheduler.schedule(cheetah, 3);
+
+        //when
+        List<Animal> dueAtFirstTicks = deathScheduler.pollDue(2);
+        List<Animal> dueUntilSeventhTick = deathScheduler.pollDue(7);
+
+        //then
+        assertTrue(dueAtFirstTicks.isEmpty(), "No death is due before tick 3");
+        assertEquals(List.of(cheetah, tiger), dueUntilSeventhTick, "Due deaths are returned by tick");
+        assertEquals(0, deathScheduler.size(), "Returned deaths are no longer scheduled");
+    }
+
+    @Test
+    void testPollDue_whenRescheduled_thenOnlyLatestDeathCounts() {
+        //given
+        deathScheduler.schedule(tiger, 3);
+        deathScheduler.schedule(tiger, 5);
+
+        //when
+        List<Animal> dueAtThirdTick = deathScheduler.pollDue(3);
+        List<Animal> dueAtFifthTick = deathScheduler.pollDue(5);
+
+        //then
+        assertTrue(dueAtThirdTick.isEmpty(), "Outdated death is skipped");
+        assertEquals(List.of(tiger), dueAtFifthTick, "Rescheduled death is due once");
+    }
+
+    @Test
+    void testPollDue_whenAnimalDiedOrWasCancelled_thenDeathIsDropped() {
+        //given
+        deathScheduler.schedule(tiger, 2);
+        deathScheduler.schedule(cheetah, 2);
+        tiger.setAlive(false);
+        deathScheduler.cancel(cheetah);
+
+        //when
+        List<Animal> dueAnimals = deathScheduler.pollDue(2);
+
+        //then
+        assertTrue(dueAnimals.isEmpty(), "Dead and cancelled animals do not die again");
+        assertEquals(0, deathScheduler.size(), "Dropped deaths are no longer scheduled");
+    }
+}
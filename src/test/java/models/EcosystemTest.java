@@ -3,6 +3,7 @@ package models;
 import static enums.AnimalType.CARNIVORE;
 import static enums.AnimalType.HERBIVORE;
 import static enums.Biome.SAVANNA;
+import static enums.Habitat.AIR;
 import static enums.Habitat.LAND;
 import static enums.LivingType.ALONE;
 import static enums.LivingType.GROUP;
@@ -11,6 +12,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import enums.AnimalType;
 import enums.Biome;
+import enums.DeathCause;
 import exceptions.AnimalNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +21,7 @@ import services.FeedingService;
 import services.ProbabilitiesService;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 class EcosystemTest {
     private static final String ZEBRA_GROUP_NAME = "zebra test";
@@ -94,6 +97,21 @@ class EcosystemTest {
         assertTrue(groupedHerbivores.get(GAZELLE_GROUP_NAME).contains(gazelle), "Gazelle should remain in ecosystem");
     }
 
+    @Test
+    void testGetPopulation_whenAnimalsAddedAndKilled_thenCountsAliveAnimals() {
+        //given
+        ecosystem.addAnimalsToEcosystem(List.of(zebra, gazelle));
+        ecosystem.addAnimalToEcosystem(cheetah);
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(0);
+
+        //when
+        ecosystem.attack(cheetah.getId(), gazelle.getId());
+
+        //then
+        assertEquals(1, ecosystem.getPopulation(HERBIVORE), "Killed herbivore is no longer counted");
+        assertEquals(1, ecosystem.getPopulation(CARNIVORE), "Predator is counted");
+    }
+
     @Test
     void testAddAnimalToEcosystem_whenNewGroup_thenCreatesNewGroup() {
         //given
@@ -200,6 +218,153 @@ class EcosystemTest {
         assertEquals(25.3, currentHungerHyenaTwo, "Current hunger of hyena one is equal to 25.3");
     }
 
+    @Test
+    void testAttack_whenLonerSucceeds_thenOnlyHungerOfPredatorRecorded() {
+        //given
+        Carnivore otherCheetah = new Carnivore(biomes, 10, true, 30, 60, 5, LAND, CARNIVORE, ALONE, "CHEETAH", false, 110, LONERS_GROUP, 15);
+        ecosystem.addAnimalToEcosystem(gazelle);
+        ecosystem.addAnimalToEcosystem(cheetah);
+        ecosystem.addAnimalToEcosystem(otherCheetah);
+        cheetah.increaseHunger();
+        otherCheetah.increaseHunger();
+        IterationDeltaRecorder deltaRecorder = new IterationDeltaRecorder(0);
+        ecosystem.setDeltaRecorder(deltaRecorder);
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(0);
+
+        //when
+        ecosystem.attack(cheetah.getId(), gazelle.getId());
+
+        //then
+        List<IterationDelta.HungerChange> hungerChanges = deltaRecorder.drain(1).hungerChanges();
+        assertEquals(1, hungerChanges.size(), "Only the fed loner should be recorded");
+        assertEquals(cheetah.getId(), hungerChanges.get(0).animalId(), "The recorded hunger should be the predator's");
+    }
+
+    @Test
+    void testAttack_whenGroupSpansHabitats_thenOnlyMembersOfPredatorHabitatFed() {
+        //given
+        Carnivore flyingHyena = new Carnivore(biomes, 10, true, 24, 50, 5, AIR, CARNIVORE, GROUP, "HYENA", true, 80, HYENA_GROUP_NAME, 14);
+        ecosystem.addAnimalToEcosystem(gazelle);
+        ecosystem.addAnimalToEcosystem(hyenaOne);
+        ecosystem.addAnimalToEcosystem(flyingHyena);
+        for (int i = 0; i < 3; i++) {
+            hyenaOne.increaseHunger();
+            flyingHyena.increaseHunger();
+        }
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(0);
+
+        //when
+        ecosystem.attack(hyenaOne, gazelle);
+
+        //then
+        assertEquals(0, hyenaOne.getCurrentHunger(), "Land hyena got the whole gazelle");
+        assertEquals(42, flyingHyena.getCurrentHunger(), "Hyena of another habitat got no share");
+    }
+
+    @Test
+    void testGrazeHerbivores_whenNoVegetationGrows_thenHerbivoresStarveAndAreRemoved() {
+        //given
+        ecosystem.setVegetation(new Vegetation(1, 0, 0));
+        ecosystem.addAnimalToEcosystem(zebra);
+        ecosystem.addAnimalToEcosystem(gazelle);
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            ecosystem.grazeHerbivores(groupedHerbivores);
+        }
+
+        //then
+        assertFalse(groupedHerbivores.containsKey(ZEBRA_GROUP_NAME), "Starved zebra was removed with its extinct group");
+        assertFalse(groupedHerbivores.containsKey(GAZELLE_GROUP_NAME), "Starved gazelle was removed with its extinct group");
+        assertFalse(zebra.isAlive(), "Zebra starved after four iterations without food");
+    }
+
+    @Test
+    void testGrazeHerbivores_whenVegetationCoversHalfTheDemand_thenOnlyUnfedHalfStarves() {
+        //given
+        List<Herbivore> zebras = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            zebras.add(new Herbivore(biomes, 10, true, 50, 300, 10, LAND, HERBIVORE, "ZEBRA", GROUP, true, 80, ZEBRA_GROUP_NAME));
+        }
+        ecosystem.addAnimalsToEcosystem(zebras);
+        double halfDemand = zebras.size() * zebras.get(0).getFoodDemand() / 2;
+        ecosystem.setVegetation(new Vegetation(1, halfDemand, 1));
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            ecosystem.grazeHerbivores(groupedHerbivores);
+        }
+
+        //then
+        long survivors = zebras.stream().filter(Animal::isAlive).count();
+        assertEquals(5, survivors, "Half of the zebras was fed and survived");
+        assertEquals(5, groupedHerbivores.get(ZEBRA_GROUP_NAME).size(), "Starved zebras were removed");
+        assertTrue(zebras.stream().filter(Animal::isAlive).allMatch(zebra -> zebra.getCurrentHunger() == 0), "Fed zebras are not hungry");
+    }
+
+    @Test
+    void testAddAnimalToEcosystem_whenSeparateEcosystems_thenEachAssignsItsOwnIds() {
+        //given
+        Ecosystem otherEcosystem = new Ecosystem(SAVANNA, new EnumMap<>(AnimalType.class), mockedProbabilitiesService, feedingService);
+
+        //when
+        ecosystem.addAnimalToEcosystem(zebra);
+        ecosystem.addAnimalToEcosystem(gazelle);
+        otherEcosystem.addAnimalToEcosystem(cheetah);
+
+        //then
+        assertEquals(0, zebra.getId(), "First animal of an ecosystem gets its first id");
+        assertEquals(1, gazelle.getId(), "Ids of an ecosystem are dense");
+        assertEquals(0, cheetah.getId(), "Another ecosystem starts its own ids");
+        assertThrows(IllegalArgumentException.class, () -> ecosystem.addNeighbor(otherEcosystem),
+                "Neighbors have to share their id allocator");
+    }
+
+    @Test
+    void testEmigrate_whenNeighborStoppedAcceptingMigrants_thenAnimalStays() {
+        //given
+        Ecosystem neighbor = new Ecosystem(Biome.DESERT, new EnumMap<>(AnimalType.class), mockedProbabilitiesService, feedingService, ecosystem.getIdAllocator());
+        ecosystem.addNeighbor(neighbor);
+        Herbivore camel = new Herbivore(Set.of(SAVANNA, Biome.DESERT), 10, true, 40, 600, 4, LAND, HERBIVORE, "CAMEL", GROUP, true, 70, "caravan");
+        Herbivore otherCamel = new Herbivore(Set.of(SAVANNA, Biome.DESERT), 10, true, 40, 600, 4, LAND, HERBIVORE, "CAMEL", GROUP, true, 70, "caravan");
+        ecosystem.addAnimalsToEcosystem(List.of(camel, otherCamel));
+        neighbor.stopAcceptingMigrants();
+
+        //when
+        int emigrated = ecosystem.emigrate(Map.of(camel, neighbor, otherCamel, neighbor));
+
+        //then
+        assertEquals(0, emigrated, "No camel left for the ended neighbor");
+        assertEquals(2, groupedHerbivores.get("caravan").size(), "Both camels stayed in their group");
+        assertEquals(2, ecosystem.getPopulation(HERBIVORE), "Both camels are still counted");
+        assertEquals(0, neighbor.admitMigrants(), "Nothing waits in the inbox of the ended neighbor");
+    }
+
+    @Test
+    void testEmigrate_whenNeighborAdmitsMigrants_thenAnimalMovesWithFreshId() {
+        //given
+        Map<AnimalType, Map<String, List<Animal>>> neighborAnimals = new EnumMap<>(AnimalType.class);
+        Ecosystem neighbor = new Ecosystem(Biome.DESERT, neighborAnimals, mockedProbabilitiesService, feedingService, ecosystem.getIdAllocator());
+        ecosystem.addNeighbor(neighbor);
+        Herbivore camel = new Herbivore(Set.of(SAVANNA, Biome.DESERT), 10, true, 40, 600, 4, LAND, HERBIVORE, "CAMEL", GROUP, true, 70, "caravan");
+        ecosystem.addAnimalToEcosystem(camel);
+        long staleId = camel.getId();
+
+        //when
+        ecosystem.emigrate(camel, neighbor);
+        boolean isInNeighborBeforeAdmission = neighborAnimals.containsKey(HERBIVORE);
+        int admitted = neighbor.admitMigrants();
+
+        //then
+        assertFalse(groupedHerbivores.containsKey("caravan"), "Camel left its group, which became extinct");
+        assertFalse(isInNeighborBeforeAdmission, "Camel only joins the neighbor once admitted");
+        assertEquals(1, admitted, "Neighbor admitted the camel");
+        assertEquals(List.of(camel), neighborAnimals.get(HERBIVORE).get("caravan"), "Camel joined its group in the neighbor");
+        assertNotEquals(staleId, camel.getId(), "Migrant got a fresh id");
+        assertEquals(List.of(ecosystem), neighbor.getNeighbors(), "Neighbors are connected both ways");
+        assertThrows(IllegalArgumentException.class, () -> ecosystem.emigrate(zebra, neighbor), "Zebra cannot live in the desert");
+    }
+
     @Test
     void testAttackIllegalTarget_whenTargetCarnivore_thenShouldThrowClassCastException() {
         //given
@@ -258,4 +423,275 @@ class EcosystemTest {
         int finalGroupSize = groups.size();
         assertNotEquals(initialGroupSize, finalGroupSize, "Herbivore was added");
     }
+
+    @Test
+    void testCompactDeadAnimals_whenDeadAnimalsPresent_thenRemovesThemAndEmptyGroups() {
+        //given
+        ecosystem.addAnimalToEcosystem(zebra);
+        ecosystem.addAnimalToEcosystem(gazelle);
+        ecosystem.addAnimalToEcosystem(hyenaOne);
+        ecosystem.addAnimalToEcosystem(hyenaTwo);
+        zebra.setAlive(false);
+        hyenaOne.setAlive(false);
+
+        //when
+        int removedAnimals = ecosystem.compactDeadAnimals();
+
+        //then
+        assertEquals(2, removedAnimals, "Both dead animals were removed");
+        assertFalse(groupedHerbivores.containsKey(ZEBRA_GROUP_NAME), "Empty zebra group was removed");
+        assertEquals(List.of(gazelle), groupedHerbivores.get(GAZELLE_GROUP_NAME), "Alive gazelle remains");
+        assertEquals(List.of(hyenaTwo), groupedCarnivores.get(HYENA_GROUP_NAME), "Alive hyena remains");
+    }
+
+    @Test
+    void testAttack_whenDeferredRemoval_thenVictimKeptAsTombstoneUntilRemoved() {
+        //given
+        ecosystem.setDeferredRemoval(true);
+        ecosystem.addAnimalToEcosystem(cheetah);
+        ecosystem.addAnimalToEcosystem(zebra);
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(0);
+
+        //when
+        ecosystem.attack(cheetah.getId(), zebra.getId());
+
+        //then
+        assertFalse(zebra.isAlive(), "Killed zebra is marked as dead");
+        assertTrue(groupedHerbivores.get(ZEBRA_GROUP_NAME).contains(zebra), "Killed zebra is kept until cleanup");
+        assertTrue(ecosystem.hasExtinctAnimalType(), "Tombstones are not counted as alive");
+        assertEquals(1, ecosystem.removeTombstones(), "One tombstone was removed");
+        assertFalse(groupedHerbivores.containsKey(ZEBRA_GROUP_NAME), "Extinct zebra group was removed");
+    }
+
+    @Test
+    void testIncreaseHungerOfCarnivore_whenDeferredRemovalAndStarved_thenKeptAsTombstone() {
+        //given
+        ecosystem.setDeferredRemoval(true);
+        ecosystem.addAnimalToEcosystem(hyenaOne);
+        ecosystem.addAnimalToEcosystem(hyenaTwo);
+        hyenaOne.setCurrentHunger(100);
+
+        //when
+        ecosystem.increaseHungerOfCarnivore(groupedCarnivores);
+        ecosystem.removeTombstones();
+
+        //then
+        assertFalse(hyenaOne.isAlive(), "Starved hyena is dead");
+        assertEquals(List.of(hyenaTwo), groupedCarnivores.get(HYENA_GROUP_NAME), "Only the alive hyena remains");
+    }
+
+    @Test
+    void testRequestSnapshot_whenPublished_thenCompletedWithConsistentView() throws Exception {
+        //given
+        ecosystem.addAnimalToEcosystem(zebra);
+        ecosystem.addAnimalToEcosystem(cheetah);
+        CompletableFuture<EcosystemSnapshot> snapshotRequest = ecosystem.requestSnapshot();
+
+        //when
+        ecosystem.publishRequestedSnapshot(3);
+        ecosystem.addAnimalToEcosystem(gazelle);
+        zebra.setAlive(false);
+        EcosystemSnapshot snapshot = snapshotRequest.get();
+
+        //then
+        assertEquals(3, snapshot.iterationNumber(), "Snapshot belongs to the published iteration");
+        assertSame(snapshot, ecosystem.getLatestSnapshot(), "Published snapshot is the latest one");
+        assertEquals(1, snapshot.getPopulation(HERBIVORE), "Later changes are not visible in the snapshot");
+        assertEquals(zebra.getId(), snapshot.groupedAnimals().get(HERBIVORE).get(ZEBRA_GROUP_NAME).get(0).id(),
+                "Snapshot holds the zebra");
+        assertThrows(UnsupportedOperationException.class,
+                () -> snapshot.groupedAnimals().get(CARNIVORE).remove(LONERS_GROUP), "Snapshot is immutable");
+    }
+
+    @Test
+    void testPublishRequestedSnapshot_whenNothingRequested_thenLatestSnapshotKept() {
+        //given
+        EcosystemSnapshot initialSnapshot = ecosystem.getLatestSnapshot();
+        ecosystem.addAnimalToEcosystem(zebra);
+
+        //when
+        ecosystem.publishRequestedSnapshot(1);
+
+        //then
+        assertSame(initialSnapshot, ecosystem.getLatestSnapshot(), "No snapshot is taken without a request");
+    }
+
+    @Test
+    void testAddAnimalsToEcosystem_whenSeveralGroups_thenEachAnimalJoinsItsGroup() {
+        //given
+        List<Animal> animals = List.of(hyenaOne, hyenaTwo, zebra, cheetah);
+
+        //when
+        ecosystem.addAnimalsToEcosystem(animals);
+
+        //then
+        assertEquals(List.of(hyenaOne, hyenaTwo), groupedCarnivores.get(HYENA_GROUP_NAME), "Hyenas joined their group");
+        assertEquals(List.of(zebra), groupedHerbivores.get(ZEBRA_GROUP_NAME), "Zebra joined its group");
+        assertEquals(List.of(cheetah), groupedCarnivores.get(LONERS_GROUP), "Cheetah joined the loners");
+    }
+
+    @Test
+    void testReuseAnimalFor_whenPoolingAndDeadAnimalCompacted_thenStaleIdNotFound() {
+        //given
+        ecosystem.setAnimalPool(new AnimalPool(10));
+        ecosystem.addAnimalToEcosystem(gazelle);
+        ecosystem.addAnimalToEcosystem(zebra);
+        ecosystem.addAnimalToEcosystem(cheetah);
+        long staleId = gazelle.getId();
+        gazelle.setAlive(false);
+        ecosystem.compactDeadAnimals();
+        Herbivore gazelleParent = new Herbivore(biomes, 10, true, 25, 25, 5, LAND, HERBIVORE, "GAZELLE", GROUP, true, 80, ZEBRA_GROUP_NAME);
+
+        //when
+        Animal newborn = ecosystem.reuseAnimalFor(gazelleParent);
+        ecosystem.addNewbornToEcosystem(newborn);
+
+        //then
+        assertSame(gazelle, newborn, "Dead gazelle is reused");
+        assertEquals(ZEBRA_GROUP_NAME, newborn.getGroupName(), "Reused gazelle joins the parent's group");
+        assertThrows(AnimalNotFoundException.class, () -> ecosystem.attack(cheetah.getId(), staleId),
+                "Stale id does not find the reused gazelle");
+        assertNull(ecosystem.reuseAnimalFor(gazelleParent), "Reused gazelle left the pool");
+    }
+
+    @Test
+    void testTickPopulationStorage_whenAnimalsDie_thenBuriedWithTheirCause() {
+        //given
+        Herbivore oldZebra = new Herbivore(biomes, 49, true, 50, 300, 10, LAND, HERBIVORE, "ZEBRA", GROUP, true, 80, ZEBRA_GROUP_NAME);
+        cheetah.setCurrentHunger(100);
+        hyenaOne.setCurrentHunger(20);
+        ecosystem.addAnimalToEcosystem(oldZebra);
+        ecosystem.addAnimalToEcosystem(gazelle);
+        ecosystem.addAnimalToEcosystem(cheetah);
+        ecosystem.addAnimalToEcosystem(hyenaOne);
+        ecosystem.setPopulationStorage(PopulationStore::new);
+        IterationDeltaRecorder deltaRecorder = new IterationDeltaRecorder(0);
+        ecosystem.setDeltaRecorder(deltaRecorder);
+
+        //when
+        int deaths = ecosystem.tickPopulationStorage();
+
+        //then
+        IterationDelta delta = deltaRecorder.drain(1);
+        assertEquals(2, deaths, "Old zebra and starving cheetah died");
+        Map<Long, DeathCause> causes = new HashMap<>();
+        delta.deaths().forEach(death -> causes.put(death.animalId(), death.cause()));
+        assertEquals(Map.of(oldZebra.getId(), DeathCause.OLD_AGE, cheetah.getId(), DeathCause.HUNGER), causes,
+                "Zebra died of old age and cheetah of hunger");
+        assertFalse(oldZebra.isAlive() || cheetah.isAlive(), "Dead animals are marked as dead");
+        assertEquals(11, gazelle.getCurrentAge(), "Gazelle aged in the storage");
+        assertEquals(34, hyenaOne.getCurrentHunger(), "Hyena got hungry in the storage");
+        assertEquals(List.of(new IterationDelta.HungerChange(hyenaOne.getId(), 34)), delta.hungerChanges(), "Hunger of the alive hyena was recorded");
+        assertEquals(2, ecosystem.removeTombstones(), "Dead animals were buried");
+    }
+
+    @Test
+    void testIncreaseHungerOfCarnivore_whenPopulationStorage_thenHungerNotIncreasedTwice() {
+        //given
+        ecosystem.addAnimalToEcosystem(cheetah);
+        ecosystem.setPopulationStorage(PopulationStore::new);
+
+        //when
+        ecosystem.tickPopulationStorage();
+        ecosystem.increaseHungerOfCarnivore(groupedCarnivores);
+
+        //then
+        assertEquals(15, cheetah.getCurrentHunger(), "Hunger increased once by the storage tick");
+    }
+
+    @Test
+    void testCompactDeadAnimals_whenPopulationStorage_thenAliveAnimalsKeepTheirFields() {
+        //given
+        ecosystem.setPopulationStorage(PopulationStore::new);
+        ecosystem.addAnimalToEcosystem(zebra);
+        ecosystem.addAnimalToEcosystem(cheetah);
+        ecosystem.tickPopulationStorage();
+        zebra.setAlive(false);
+
+        //when
+        ecosystem.compactDeadAnimals();
+        ecosystem.tickPopulationStorage();
+
+        //then
+        assertEquals(12, cheetah.getCurrentAge(), "Cheetah kept its age in the new storage");
+        assertEquals(30, cheetah.getCurrentHunger(), "Cheetah kept its hunger in the new storage");
+        assertFalse(zebra.isAlive(), "Dead zebra is not revived");
+    }
+
+    @Test
+    void testSetPopulationStorage_whenRemoved_thenFieldsCopiedBackToAnimals() {
+        //given
+        ecosystem.addAnimalToEcosystem(cheetah);
+        ecosystem.setPopulationStorage(PopulationStore::new);
+        ecosystem.tickPopulationStorage();
+
+        //when
+        ecosystem.setPopulationStorage(null);
+        ecosystem.increaseHungerOfCarnivore(groupedCarnivores);
+
+        //then
+        assertFalse(ecosystem.hasPopulationStorage(), "Population storage was removed");
+        assertEquals(11, cheetah.getCurrentAge(), "Cheetah kept its age");
+        assertEquals(30, cheetah.getCurrentHunger(), "Hunger grows in the cheetah again");
+    }
+
+    @Test
+    void testSetPopulationStorage_whenLazyAging_thenThrowsIllegalStateException() {
+        //given
+        ecosystem.setLazyAging(true);
+
+        //when
+        Executable setStorage = () -> ecosystem.setPopulationStorage(PopulationStore::new);
+
+        //then
+        assertThrows(IllegalStateException.class, setStorage, "Population storage cannot be combined with lazy aging");
+    }
+
+    @Test
+    void testEmigrate_whenPopulationStorage_thenMigrantLeavesTheStorage() {
+        //given
+        Ecosystem neighbor = new Ecosystem(Biome.DESERT, new EnumMap<>(AnimalType.class), mockedProbabilitiesService, feedingService, ecosystem.getIdAllocator());
+        ecosystem.addNeighbor(neighbor);
+        Herbivore camel = new Herbivore(Set.of(SAVANNA, Biome.DESERT), 39, true, 40, 600, 4, LAND, HERBIVORE, "CAMEL", GROUP, true, 70, "caravan");
+        ecosystem.addAnimalToEcosystem(camel);
+        ecosystem.addAnimalToEcosystem(zebra);
+        ecosystem.setPopulationStorage(PopulationStore::new);
+
+        //when
+        ecosystem.emigrate(camel, neighbor);
+        int deaths = ecosystem.tickPopulationStorage();
+
+        //then
+        assertEquals(0, deaths, "Migrant is not aged to death by the storage it left");
+        assertTrue(camel.isAlive(), "Migrant is alive");
+        assertEquals(39, camel.getCurrentAge(), "Migrant kept its age");
+        assertEquals(11, zebra.getCurrentAge(), "Zebra which stayed was aged");
+    }
+
+    @Test
+    void testCompactDeadAnimals_whenPoolingAndPopulationStorage_thenPooledAnimalsDetachedFromStorage() {
+        //given
+        List<PopulationStorage> storages = new ArrayList<>();
+        ecosystem.setDeferredRemoval(true);
+        ecosystem.setAnimalPool(new AnimalPool(10));
+        ecosystem.setPopulationStorage(() -> {
+            OffHeapPopulationStore storage = OffHeapPopulationStore.allocate();
+            storages.add(storage);
+            return storage;
+        });
+        Herbivore oldZebra = new Herbivore(biomes, 49, true, 50, 300, 10, LAND, HERBIVORE, "ZEBRA", GROUP, true, 80, ZEBRA_GROUP_NAME);
+        ecosystem.addAnimalToEcosystem(oldZebra);
+        ecosystem.addAnimalToEcosystem(zebra);
+        ecosystem.tickPopulationStorage();
+        ecosystem.removeTombstones();
+
+        //when
+        ecosystem.compactDeadAnimals();
+
+        //then
+        assertEquals(2, storages.size(), "Compaction replaced the storage");
+        assertNull(oldZebra.getStorage(), "Pooled zebra keeps no storage reachable");
+        assertEquals(50, oldZebra.getCurrentAge(), "Pooled zebra kept its age");
+        assertSame(storages.get(1), zebra.getStorage(), "Alive zebra moved into the new storage");
+    }
 }
@@ -0,0 +1,64 @@
+package models;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class FenwickTreeTest {
+
+    @Test
+    void testFind_whenTargetFallsIntoWeight_thenReturnsItsIndex() {
+        //given
+        FenwickTree fenwickTree = new FenwickTree(new double[]{1, 0, 2, 3, 4});
+
+        //when
+        int first = fenwickTree.find(0.5);
+        int third = fenwickTree.find(1);
+        int fourth = fenwickTree.find(5.9);
+        int last = fenwickTree.find(9.99);
+
+        //then
+        assertEquals(10, fenwickTree.total(), 1e-9, "Total is the sum of all weights");
+        assertEquals(0, first, "Target below the first weight picks the first index");
+        assertEquals(2, third, "Zero weights are skipped");
+        assertEquals(3, fourth, "Target inside the fourth weight picks it");
+        assertEquals(4, last, "Target just below the total picks the last index");
+    }
+
+    @Test
+    void testSet_whenWeightChanged_thenSumsAndSearchFollow() {
+        //given
+        FenwickTree fenwickTree = new FenwickTree(new double[]{1, 2, 3, 4, 5, 6, 7});
+
+        //when
+        fenwickTree.set(3, 0);
+        fenwickTree.set(6, 1);
+
+        //then
+        assertEquals(18, fenwickTree.total(), 1e-9, "Total follows the updated weights");
+        assertEquals(4, fenwickTree.find(6), "Removed weight is skipped");
+        assertEquals(6, fenwickTree.find(17.5), "Lowered weight still covers the end");
+    }
+
+    @Test
+    void testFind_whenAllWeightsRemoved_thenReturnsMinusOne() {
+        //given
+        FenwickTree fenwickTree = new FenwickTree(new double[]{0.1, 0.2, 0.3});
+
+        //when
+        for (int index = 0; index < 3; index++) {
+            fenwickTree.set(index, 0);
+        }
+
+        //then
+        assertEquals(-1, fenwickTree.find(0), "No index has a weight left");
+    }
+
+    @Test
+    void testConstructor_whenWeightNegative_thenThrowsException() {
+        //given
+        double[] weights = {1, -1};
+
+        //when //then
+        assertThrows(IllegalArgumentException.class, () -> new FenwickTree(weights), "Negative weights are rejected");
+    }
+}
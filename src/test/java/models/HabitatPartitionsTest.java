@@ -0,0 +1,48 @@
+package models;
+
+import static enums.AnimalType.CARNIVORE;
+import static enums.AnimalType.HERBIVORE;
+import static enums.Biome.SAVANNA;
+import static enums.Habitat.AIR;
+import static enums.Habitat.LAND;
+import static enums.Habitat.WATER;
+import static enums.LivingType.ALONE;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+class HabitatPartitionsTest {
+    private final Carnivore eagle = new Carnivore(Set.of(SAVANNA), 1, true, 30, 5, 6, AIR, CARNIVORE, ALONE, "eagle", false, 90, "Loners", 5);
+    private final Carnivore crocodile = new Carnivore(Set.of(SAVANNA), 1, true, 30, 100, 6, WATER, CARNIVORE, ALONE, "crocodile", false, 90, "Loners", 5);
+    private final Herbivore hare = new Herbivore(Set.of(SAVANNA), 1, true, 24, 5, 3, LAND, HERBIVORE, "hare", ALONE, false, 100, "Loners");
+    private final Herbivore deadHare = new Herbivore(Set.of(SAVANNA), 1, false, 24, 5, 3, LAND, HERBIVORE, "hare", ALONE, false, 100, "Loners");
+    private final Herbivore duck = new Herbivore(Set.of(SAVANNA), 1, true, 10, 2, 3, AIR, HERBIVORE, "duck", ALONE, false, 100, "Loners");
+
+    @Test
+    void testGetAlivePrey_whenPredatorFlies_thenAirAndLandPreyReachable() {
+        //given
+        HabitatPartitions partitions = new HabitatPartitions(List.of(List.of(eagle, crocodile)), List.of(List.of(hare, deadHare, duck)));
+
+        //when
+        List<Animal> eaglePrey = partitions.getAlivePrey(AIR);
+        List<Animal> crocodilePrey = partitions.getAlivePrey(WATER);
+
+        //then
+        assertEquals(List.of(hare, duck), eaglePrey, "Eagle reaches alive land and air prey");
+        assertTrue(crocodilePrey.isEmpty(), "Water predators are isolated");
+        assertEquals(List.of(eagle), partitions.getAnimals(CARNIVORE, AIR), "Eagle is partitioned by its habitat");
+    }
+
+    @Test
+    void testIsExtinct_whenOnlyDeadAnimalsLeft_thenTypeIsExtinct() {
+        //given //when
+        HabitatPartitions partitions = new HabitatPartitions(List.of(List.of(eagle)), List.of(List.of(deadHare)));
+
+        //then
+        assertFalse(partitions.isExtinct(CARNIVORE), "Eagle is alive");
+        assertTrue(partitions.isExtinct(HERBIVORE), "Dead hare leaves no herbivore partition");
+        assertEquals(Set.of(AIR), partitions.getHabitats(CARNIVORE), "Only the air partition holds carnivores");
+    }
+}
@@ -52,4 +52,81 @@ class HerbivoreTest {
         assertTrue(newBornZebra.getBiomes().contains(SAVANNA), "Created animal contains biome Savanna");
         assertFalse(newBornZebra.getCurrentAge() > 0, "Age of created animal is 0");
     }
+
+    @Test
+    void testHasDiedFromOldAge_whenMaxAgeReached_thenReturnTrueAndDies() {
+        //given
+        for (int i = zebra.getCurrentAge(); i < ZEBRA_MAX_AGE; i++) {
+            zebra.growUp(zebra.getCurrentAge());
+        }
+
+        //when
+        boolean hasDied = zebra.hasDiedFromOldAge();
+
+        //then
+        assertTrue(hasDied, "Zebra has died of old age");
+        assertFalse(zebra.isAlive(), "Zebra is not alive anymore");
+    }
+
+    @Test
+    void testHasDiedFromOldAge_whenBelowMaxAge_thenReturnFalse() {
+        //given //when
+        boolean hasDied = zebra.hasDiedFromOldAge();
+
+        //then
+        assertFalse(hasDied, "Zebra is still young");
+        assertTrue(zebra.isAlive(), "Zebra is alive");
+    }
+
+    @Test
+    void testGetCurrentAge_whenAgeClockAdvances_thenAgeGrowsWithoutUpdates() {
+        //given
+        SimulationClock ageClock = new SimulationClock();
+        zebra.setAgeClock(ageClock);
+        int oldAgeTick = zebra.getOldAgeTick();
+
+        //when
+        for (int i = 0; i < 40; i++) {
+            ageClock.advance();
+        }
+
+        //then
+        assertEquals(40, oldAgeTick, "Zebra of age 10 reaches its max age of 50 in tick 40");
+        assertEquals(50, zebra.getCurrentAge(), "Age grew by one for every tick");
+        assertTrue(zebra.hasDiedFromOldAge(), "Zebra died at its max age");
+    }
+
+    @Test
+    void testGraze_whenNothingEatenForFourIterations_thenZebraStarves() {
+        //given
+        zebra.graze(0);
+        zebra.graze(0);
+        zebra.graze(0);
+        boolean hasDiedWhenHungry = zebra.hasDiedFromHunger();
+
+        //when
+        zebra.graze(0);
+        boolean hasDied = zebra.hasDiedFromHunger();
+
+        //then
+        assertFalse(hasDiedWhenHungry, "Zebra survives a hunger of 75");
+        assertTrue(hasDied, "Zebra starved with a hunger of 100");
+        assertFalse(zebra.isAlive(), "Starved zebra is dead");
+        assertEquals(15, zebra.getFoodDemand(), "Zebra of weight 300 needs 15 biomass");
+    }
+
+    @Test
+    void testGraze_whenFullyFed_thenHungerDropsButNotBelowZero() {
+        //given
+        zebra.setCurrentHunger(30);
+
+        //when
+        zebra.graze(1);
+        double hungerAfterFirstMeal = zebra.getCurrentHunger();
+        zebra.graze(1);
+
+        //then
+        assertEquals(5, hungerAfterFirstMeal, "Hunger dropped by the hunger rate");
+        assertEquals(0, zebra.getCurrentHunger(), "Hunger never drops below 0");
+    }
 }
@@ -0,0 +1,61 @@
+package models;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class IdAllocatorTest {
+
+    @Test
+    void testNextId_whenSingleThread_thenIdsAreConsecutive() {
+        //given
+        IdAllocator idAllocator = new IdAllocator(4);
+
+        //when
+        List<Long> ids = List.of(idAllocator.nextId(), idAllocator.nextId(), idAllocator.nextId(),
+                idAllocator.nextId(), idAllocator.nextId());
+
+        //then
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), ids, "Ids are dense within a thread");
+    }
+
+    @Test
+    void testNextId_whenManyThreads_thenIdsAreUnique() throws Exception {
+        //given
+        IdAllocator idAllocator = new IdAllocator(8);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int idsPerThread = 1000;
+
+        //when
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < idsPerThread; j++) {
+                        ids.add(idAllocator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        //then
+        assertEquals(threads * idsPerThread, ids.size(), "No duplicate ids were generated");
+    }
+
+    @Test
+    void testConstructor_whenBlockSizeNotPositive_thenThrowIllegalArgumentException() {
+        //given //when //then
+        assertThrows(IllegalArgumentException.class, () -> new IdAllocator(0));
+    }
+}
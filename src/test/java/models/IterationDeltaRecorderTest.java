@@ -0,0 +1,74 @@
+package models;
+
+import static enums.AnimalType.CARNIVORE;
+import static enums.Biome.SAVANNA;
+import static enums.Habitat.LAND;
+import static enums.LivingType.ALONE;
+import static org.junit.jupiter.api.Assertions.*;
+import enums.DeathCause;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+class IterationDeltaRecorderTest {
+
+    private IterationDeltaRecorder deltaRecorder;
+    private Carnivore tiger;
+
+    @BeforeEach
+    void setUp() {
+        deltaRecorder = new IterationDeltaRecorder(10);
+        tiger = new Carnivore(Set.of(SAVANNA), 5, true, 20, 200, 6, LAND, CARNIVORE, ALONE, "tiger", false, 75, "Loners", 6);
+    }
+
+    @Test
+    void testRecordHunger_whenChangeBelowThreshold_thenNotReported() {
+        //given
+        tiger.increaseHunger();
+
+        //when
+        deltaRecorder.recordHunger(tiger);
+        IterationDelta delta = deltaRecorder.drain(1);
+
+        //then
+        assertTrue(delta.hungerChanges().isEmpty(), "Small hunger change is not reported");
+        assertTrue(delta.isEmpty(), "Delta is empty");
+    }
+
+    @Test
+    void testRecordHunger_whenChangesAddUpOverIterations_thenReportedOnce() {
+        //given
+        tiger.increaseHunger();
+        deltaRecorder.recordHunger(tiger);
+        IterationDelta firstDelta = deltaRecorder.drain(1);
+
+        //when
+        tiger.increaseHunger();
+        deltaRecorder.recordHunger(tiger);
+        IterationDelta secondDelta = deltaRecorder.drain(2);
+
+        //then
+        assertTrue(firstDelta.hungerChanges().isEmpty(), "First change is below threshold");
+        assertEquals(List.of(new IterationDelta.HungerChange(tiger.getId(), 12.0)), secondDelta.hungerChanges(),
+                "Accumulated change is reported");
+    }
+
+    @Test
+    void testRecordDeath_whenHungerPending_thenOnlyDeathReported() {
+        //given
+        tiger.setCurrentHunger(50);
+        deltaRecorder.recordHunger(tiger);
+
+        //when
+        deltaRecorder.recordDeath(tiger, DeathCause.HUNGER);
+        IterationDelta delta = deltaRecorder.drain(3);
+
+        //then
+        assertEquals(3, delta.iterationNumber(), "Delta belongs to the drained iteration");
+        assertTrue(delta.hungerChanges().isEmpty(), "Hunger of dead animal is dropped");
+        assertEquals(DeathCause.HUNGER, delta.deaths().get(0).cause(), "Death cause is reported");
+        assertTrue(deltaRecorder.drain(4).isEmpty(), "Drained changes are not reported again");
+    }
+}
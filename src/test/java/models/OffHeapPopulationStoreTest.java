@@ -0,0 +1,80 @@
+package models;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+class OffHeapPopulationStoreTest extends PopulationStorageTest {
+    private final List<OffHeapPopulationStore> openedStores = new ArrayList<>();
+
+    @TempDir
+    private Path tempDir;
+
+    @Override
+    protected PopulationStorage newStorage() {
+        OffHeapPopulationStore store = OffHeapPopulationStore.allocate();
+        openedStores.add(store);
+        return store;
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (OffHeapPopulationStore store : openedStores) {
+            store.close();
+        }
+    }
+
+    @Test
+    void testAdd_whenCalled_thenRecordHoldsAnimalFields() throws IOException {
+        //given
+        cheetah.setCurrentHunger(30);
+
+        //when
+        int index;
+        try (OffHeapPopulationStore store = OffHeapPopulationStore.allocate()) {
+            store.add(oldZebra);
+            index = store.add(cheetah);
+
+            //then
+            assertEquals(1, index, "Cheetah stored after the zebra");
+            assertEquals(cheetah.getId(), store.getId(index), "Id is stored");
+            assertEquals(10, store.getAge(index), "Age is stored");
+            assertEquals(30.0, store.getHunger(index), "Hunger is stored");
+            assertEquals(60, store.getWeight(index), "Weight is stored");
+            assertEquals(110, store.getPoints(index), "Attack points are stored");
+            assertTrue(store.isCarnivore(index), "Cheetah is a carnivore");
+            assertFalse(store.isInGroup(index), "Cheetah lives alone");
+            assertTrue(store.isAlive(index), "Cheetah is alive");
+        }
+    }
+
+    @Test
+    void testTick_whenFileBacked_thenMarksDeadAnimalsAndWritesRecords() throws IOException {
+        //given
+        Path populationFile = tempDir.resolve("population.bin");
+        cheetah.setCurrentHunger(100);
+        boolean[] deathMask = new boolean[2];
+
+        //when
+        int deaths;
+        try (OffHeapPopulationStore store = OffHeapPopulationStore.map(populationFile)) {
+            store.add(oldZebra);
+            store.add(cheetah);
+            deaths = store.tick(deathMask);
+
+            //then
+            assertFalse(store.isAlive(0), "Old zebra died");
+            assertFalse(store.isAlive(1), "Starving cheetah died");
+        }
+        assertEquals(2, deaths, "Zebra died of old age and cheetah of hunger");
+        assertTrue(deathMask[0] && deathMask[1], "Both animals are marked in the mask");
+        assertTrue(Files.size(populationFile) >= 2L * OffHeapPopulationStore.RECORD_SIZE, "Records were written to the file");
+    }
+}
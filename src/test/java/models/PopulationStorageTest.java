@@ -0,0 +1,145 @@
+package models;
+
+import static enums.AnimalType.CARNIVORE;
+import static enums.AnimalType.HERBIVORE;
+import static enums.Biome.SAVANNA;
+import static enums.Habitat.LAND;
+import static enums.LivingType.ALONE;
+import static enums.LivingType.GROUP;
+import static org.junit.jupiter.api.Assertions.*;
+import enums.Biome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+/**
+ * Cases of the {@link PopulationStorage} contract which every implementation has to pass.
+ */
+abstract class PopulationStorageTest {
+    protected final Set<Biome> biomes = Set.of(SAVANNA);
+    protected final Herbivore oldZebra = new Herbivore(biomes, 49, true, 50, 300, 10, LAND, HERBIVORE, "ZEBRA", GROUP, true, 80, "zebra test");
+    protected final Herbivore youngZebra = new Herbivore(biomes, 1, true, 50, 300, 10, LAND, HERBIVORE, "ZEBRA", GROUP, true, 80, "zebra test");
+    protected final Carnivore cheetah = new Carnivore(biomes, 10, true, 30, 60, 5, LAND, CARNIVORE, ALONE, "CHEETAH", false, 110, "Loners", 15);
+    private PopulationStorage storage;
+
+    protected abstract PopulationStorage newStorage();
+
+    @BeforeEach
+    void setUpStorage() {
+        storage = newStorage();
+    }
+
+    @Test
+    void testTick_whenCalled_thenAgesAndHungerIncreased() {
+        //given
+        storage.add(youngZebra);
+        storage.add(cheetah);
+        boolean[] deathMask = new boolean[storage.size()];
+
+        //when
+        int deaths = storage.tick(deathMask);
+
+        //then
+        assertEquals(0, deaths, "Nobody died");
+        assertEquals(2, storage.getAge(0), "Young zebra was aged");
+        assertEquals(0, storage.getHunger(0), "Herbivore hunger is not changed");
+        assertEquals(11, storage.getAge(1), "Cheetah was aged");
+        assertEquals(15, storage.getHunger(1), "Cheetah hunger increased by its hunger rate");
+    }
+
+    @Test
+    void testTick_whenMaxAgeReached_thenMarkedAsDead() {
+        //given
+        storage.add(oldZebra);
+        storage.add(youngZebra);
+        boolean[] deathMask = new boolean[storage.size()];
+
+        //when
+        int deaths = storage.tick(deathMask);
+
+        //then
+        assertEquals(1, deaths, "Old zebra died");
+        assertTrue(deathMask[0], "Old zebra died of old age");
+        assertFalse(storage.isAlive(0), "Old zebra is dead in the storage");
+        assertFalse(deathMask[1], "Young zebra is alive");
+        assertTrue(storage.isAlive(1), "Young zebra is alive in the storage");
+    }
+
+    @Test
+    void testTick_whenHungerReachesMax_thenDiesOnlyInNextTick() {
+        //given
+        cheetah.setCurrentHunger(90);
+        storage.add(cheetah);
+        boolean[] deathMask = new boolean[storage.size()];
+
+        //when
+        int firstDeaths = storage.tick(deathMask);
+        double hungerAfterFirstTick = storage.getHunger(0);
+        int secondDeaths = storage.tick(deathMask);
+
+        //then
+        assertEquals(0, firstDeaths, "Cheetah survives the tick its hunger reaches the max");
+        assertEquals(105, hungerAfterFirstTick, "Cheetah hunger increased by its hunger rate");
+        assertEquals(1, secondDeaths, "Cheetah died of hunger in the next tick");
+        assertTrue(deathMask[0], "Cheetah is marked in the mask");
+        assertEquals(105, storage.getHunger(0), "Hunger of the dead cheetah is not increased");
+    }
+
+    @Test
+    void testTick_whenAnimalAlreadyDead_thenNeitherAgedNorMarkedAgain() {
+        //given
+        storage.add(oldZebra);
+        storage.add(cheetah);
+        storage.setAlive(1, false);
+        boolean[] deathMask = {false, true};
+        storage.tick(deathMask);
+
+        //when
+        int deaths = storage.tick(deathMask);
+
+        //then
+        assertEquals(0, deaths, "Dead animals do not die again");
+        assertFalse(deathMask[0], "Zebra which died in the previous tick is not marked again");
+        assertFalse(deathMask[1], "Cheetah marked as dead is not marked");
+        assertEquals(50, storage.getAge(0), "Dead zebra is not aged");
+        assertEquals(10, storage.getAge(1), "Dead cheetah is not aged");
+        assertEquals(0, storage.getHunger(1), "Dead cheetah does not get hungry");
+    }
+
+    @Test
+    void testAdd_whenAnimalDead_thenStoredAsDead() {
+        //given
+        cheetah.setAlive(false);
+
+        //when
+        int index = storage.add(cheetah);
+
+        //then
+        assertFalse(storage.isAlive(index), "Dead cheetah is stored as dead");
+    }
+
+    @Test
+    void testSetAgeAndHunger_whenCalled_thenStored() {
+        //given
+        int index = storage.add(cheetah);
+
+        //when
+        storage.setAge(index, 20);
+        storage.setHunger(index, 40);
+
+        //then
+        assertEquals(20, storage.getAge(index), "Age is stored");
+        assertEquals(40, storage.getHunger(index), "Hunger is stored");
+    }
+
+    @Test
+    void testTick_whenMaskTooShort_thenThrowsIllegalArgumentException() {
+        //given
+        storage.add(cheetah);
+
+        //when //then
+        assertThrows(IllegalArgumentException.class, () -> storage.tick(new boolean[0]),
+                "Mask must cover every animal");
+    }
+}
@@ -0,0 +1,40 @@
+package models;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class PopulationStoreTest extends PopulationStorageTest {
+
+    @Override
+    protected PopulationStorage newStorage() {
+        return new PopulationStore();
+    }
+
+    @Test
+    void testOf_whenGroupsGiven_thenStoresAnimalsInGroupOrder() {
+        //given //when
+        PopulationStore store = PopulationStore.of(List.of(List.of(oldZebra, youngZebra), List.of(cheetah)));
+
+        //then
+        assertEquals(3, store.size(), "Every animal is stored");
+        assertEquals(oldZebra.getId(), store.getId(0), "Old zebra stored first");
+        assertEquals(cheetah.getId(), store.getId(2), "Cheetah stored last");
+    }
+
+    @Test
+    void testAdd_whenCapacityExceeded_thenStoreGrows() {
+        //given
+        PopulationStore smallStore = new PopulationStore(1);
+
+        //when
+        smallStore.add(oldZebra);
+        int index = smallStore.add(cheetah);
+
+        //then
+        assertEquals(1, index, "Cheetah stored after the zebra");
+        assertEquals(cheetah.getId(), smallStore.getId(1), "Cheetah id is stored");
+        assertTrue(smallStore.isAlive(1), "Cheetah alive status is stored");
+    }
+}
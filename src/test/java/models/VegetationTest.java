@@ -0,0 +1,54 @@
+package models;
+
+import static enums.Biome.SAVANNA;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+class VegetationTest {
+
+    @Test
+    void testGraze_whenDemandCanBeMet_thenBiomassTakenAndRegrown() {
+        //given
+        Vegetation vegetation = new Vegetation(4, 10, 0.5);
+
+        //when
+        double eaten = vegetation.graze(10);
+        double grazedBiomass = vegetation.getTotalBiomass();
+        double regrownBiomass = vegetation.regrow();
+
+        //then
+        assertEquals(10, eaten, 1e-6, "Whole demand was eaten");
+        assertEquals(30, grazedBiomass, 1e-6, "Grazing left 30 of the 40 biomass");
+        assertEquals(35, regrownBiomass, 1e-6, "Vegetation regrew half of its missing 10");
+    }
+
+    @Test
+    void testGraze_whenDemandExceedsBiomass_thenOnlyAvailableBiomassEaten() {
+        //given
+        Vegetation vegetation = new Vegetation(4, 10, 0.5);
+
+        //when
+        double eaten = vegetation.graze(100);
+        double eatenFromBareVegetation = vegetation.graze(100);
+
+        //then
+        assertEquals(40, eaten, 1e-6, "Herbivores ate all biomass");
+        assertEquals(0, eatenFromBareVegetation, "Nothing is left to eat");
+    }
+
+    @Test
+    void testRegrow_whenCreatedForBiome_thenCapacityAndRateOfBiomeUsed() {
+        //given
+        int cellCount = 1 << 17;
+        Vegetation vegetation = new Vegetation(SAVANNA, cellCount);
+
+        //when
+        vegetation.graze(5.0 * cellCount);
+        double regrownBiomass = vegetation.regrow();
+
+        //then
+        assertEquals(10.0 * cellCount, vegetation.getCapacity(), 1e-6, "Every savanna cell holds 10 biomass");
+        assertEquals(6.0 * cellCount, regrownBiomass, 1e-3, "Savanna regrew a fifth of its missing half");
+        assertThrows(IllegalArgumentException.class, () -> new Vegetation(0, 10, 0.5), "Vegetation needs cells");
+    }
+}
@@ -1,11 +1,20 @@
 package services;
 
 import static enums.Biome.SAVANNA;
+import static enums.AnimalType.CARNIVORE;
+import static enums.AnimalType.HERBIVORE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import enums.AnimalType;
+import exceptions.AnimalNotFoundException;
+import exceptions.SpeciesNotInBiomeException;
 import models.Animal;
 import models.Ecosystem;
+import models.SpeciesDefinition;
 import org.junit.jupiter.api.Test;
 
 import java.util.EnumMap;
@@ -30,4 +39,62 @@ class AnimalCreatorServiceTest {
         //then
         assertNotEquals(initGroupsSize, ecosystemGroupedAnimals.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreatePopulation_whenCalled_thenAddAllGroupsToEcosystem() {
+        //given
+        Map<String, Map<String, Integer>> populationSpec = Map.of(
+                "zebra", Map.of("herd one", 20, "herd two", 5),
+                "lion", Map.of("pride", 3));
+
+        //when
+        animalCreatorService.createPopulation(ecosystem, populationSpec);
+
+        //then
+        assertEquals(20, ecosystemGroupedAnimals.get(HERBIVORE).get("herd one").size(), "First herd was created");
+        assertEquals(5, ecosystemGroupedAnimals.get(HERBIVORE).get("herd two").size(), "Second herd was created");
+        assertEquals(3, ecosystemGroupedAnimals.get(CARNIVORE).get("pride").size(), "Pride was created");
+    }
+
+    @Test
+    void testCreateAnimals_whenSpeciesNotInBiome_thenThrowSpeciesNotInBiomeException() {
+        //given //when //then
+        assertThrows(SpeciesNotInBiomeException.class,
+                () -> animalCreatorService.createAnimals(ecosystem, "lemming", "Loners", 3),
+                "Tundra species cannot be created in the savanna");
+        assertTrue(ecosystemGroupedAnimals.isEmpty(), "No animal was added");
+    }
+
+    @Test
+    void testCreateAnimals_whenKindUnknown_thenThrowAnimalNotFoundException() {
+        //given //when //then
+        assertThrows(AnimalNotFoundException.class,
+                () -> animalCreatorService.createAnimals(ecosystem, "unicorn", "herd", 3),
+                "Unknown kinds are reported as not found");
+        assertTrue(ecosystemGroupedAnimals.isEmpty(), "No animal was added");
+    }
+
+    @Test
+    void testCreatePopulation_whenOneSpeciesNotInBiome_thenNothingCreated() {
+        //given
+        Map<String, Map<String, Integer>> populationSpec = Map.of(
+                "zebra", Map.of("herd", 20),
+                "jaguar", Map.of("Loners", 1));
+
+        //when //then
+        assertThrows(SpeciesNotInBiomeException.class,
+                () -> animalCreatorService.createPopulation(ecosystem, populationSpec),
+                "Tropical forest species cannot be created in the savanna");
+        assertTrue(ecosystemGroupedAnimals.isEmpty(), "Population is validated before creation");
+    }
+
+    @Test
+    void testGetAvailableSpecies_whenCalled_thenOnlySpeciesOfBiomeReturned() {
+        //given //when
+        Map<String, SpeciesDefinition> availableSpecies = animalCreatorService.getAvailableSpecies(SAVANNA);
+
+        //then
+        assertTrue(availableSpecies.containsKey("zebra"), "Zebra lives in the savanna");
+        assertFalse(availableSpecies.containsKey("lemming"), "Lemming does not live in the savanna");
+    }
+}
@@ -0,0 +1,229 @@
+package services;
+
+import static enums.AnimalType.CARNIVORE;
+import static enums.AnimalType.HERBIVORE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import enums.AnimalType;
+import enums.Biome;
+import enums.DeathCause;
+import models.Animal;
+import models.CohortPopulation;
+import models.CohortPopulation.Cohort;
+import models.Ecosystem;
+import models.IterationStatistics;
+import models.SpeciesDefinition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+class CohortSimulationTest {
+    private static final int ALWAYS_SUCCEEDING_ATTACK = 0;
+    private static final int SIMULATED_ITERATIONS = 12;
+    private final PrintStream originalOut = System.out;
+    private final SpeciesCatalog speciesCatalog = SpeciesCatalog.loadDefault();
+    private ProbabilitiesService probabilitiesService;
+    private CohortPopulation population;
+    private CohortSimulation cohortSimulation;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        probabilitiesService = mock(ProbabilitiesService.class);
+        population = new CohortPopulation();
+        cohortSimulation = new CohortSimulation(probabilitiesService, population);
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void testRunIteration_whenAgeIsDivisibleByReproductiveRate_thenEveryAnimalBreeds() {
+        //given
+        when(probabilitiesService.getSucceededAttacks(anyLong(), anyInt())).thenReturn(0L);
+        population.addNewborns(species("tiger"), "loners", 1);
+        population.addNewborns(species("hare"), "field", 1_000_000_000L);
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            cohortSimulation.runIteration();
+        }
+
+        //then
+        assertEquals(2_000_000_000L, population.getCount("hare"), "Every hare bore one newborn at age 3");
+        assertEquals(1_000_000_000L, cohortSimulation.getBirths(), "Births of the last iteration are counted");
+        assertEquals(3, population.getCohortCount(), "Two billion hares and a tiger are kept in three cohorts");
+    }
+
+    @Test
+    void testRunIteration_whenMaxAgeIsReached_thenCohortDiesOfOldAge() {
+        //given
+        when(probabilitiesService.getSucceededAttacks(anyLong(), anyInt())).thenReturn(0L);
+        SpeciesDefinition zebra = species("zebra");
+        population.addNewborns(species("tiger"), "loners", 1);
+        population.add(new Cohort(zebra, "herd", zebra.maxAge() - 1, 0), 500);
+        population.addNewborns(zebra, "herd", 10);
+
+        //when
+        cohortSimulation.runIteration();
+
+        //then
+        assertEquals(500, cohortSimulation.getDeaths(DeathCause.OLD_AGE), "Old zebras died of old age");
+        assertEquals(10, population.getCount("zebra"), "Only the young zebras are left");
+    }
+
+    @Test
+    void testRunIteration_whenCarnivoreCannotHunt_thenItStarvesAfterReachingFullHunger() {
+        //given
+        when(probabilitiesService.getSucceededAttacks(anyLong(), anyInt())).thenReturn(0L);
+        population.addNewborns(species("tiger"), "loners", 1);
+        population.addNewborns(species("zebra"), "herd", 10);
+
+        //when
+        for (int i = 0; i < 6; i++) {
+            cohortSimulation.runIteration();
+        }
+        long starvedBeforeFullHunger = cohortSimulation.getDeaths(DeathCause.HUNGER);
+        cohortSimulation.runIteration();
+
+        //then
+        assertEquals(0, starvedBeforeFullHunger, "Tiger survives while its hunger is below 100");
+        assertEquals(1, cohortSimulation.getDeaths(DeathCause.HUNGER), "Tiger starved with a hunger of 108");
+        assertEquals(1, population.getCount(CARNIVORE), "Only the cub born at age 6 is left");
+    }
+
+    @Test
+    void testRunIteration_whenAttacksSucceed_thenSameCountsAsIndividualSimulation() {
+        //given
+        when(probabilitiesService.getChanceForAttack()).thenReturn(ALWAYS_SUCCEEDING_ATTACK);
+        when(probabilitiesService.getSucceededAttacks(anyLong(), anyInt())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(probabilitiesService.getBinomialSample(anyLong(), anyDouble()))
+                .thenAnswer(invocation -> Math.round((long) invocation.getArgument(0) * (double) invocation.getArgument(1)));
+        population.addNewborns(species("cheetah"), "loners", 1);
+        population.addNewborns(species("zebra"), "herd", 20);
+        SimulationRunner simulationRunner = new SimulationRunner(probabilitiesService, new AnimalCreatorService(), new FeedingService());
+        Ecosystem ecosystem = simulationRunner.newEcosystem(Biome.SAVANNA);
+        AnimalCreatorService animalCreatorService = new AnimalCreatorService();
+        animalCreatorService.createAnimals(ecosystem, "cheetah", "loners", 1);
+        animalCreatorService.createAnimals(ecosystem, "zebra", "herd", 20);
+
+        //when
+        for (int iteration = 1; iteration <= 8; iteration++) {
+            boolean isCohortRunning = cohortSimulation.runIteration();
+            boolean isIndividualRunning = simulationRunner.runIteration(ecosystem, iteration);
+
+            //then
+            assertEquals(isIndividualRunning, isCohortRunning, "Both simulations run in iteration " + iteration);
+            assertEquals(countAlive(ecosystem, CARNIVORE), population.getCount(CARNIVORE),
+                    "Carnivore count matches in iteration " + iteration);
+            assertEquals(countAlive(ecosystem, HERBIVORE), population.getCount(HERBIVORE),
+                    "Herbivore count matches in iteration " + iteration);
+        }
+        assertEquals(8, population.getCount(HERBIVORE), "Two cheetahs hunted since the first bred at age 5");
+    }
+
+    @Test
+    void testRunIteration_whenGroupHunts_thenAttackerAndSupportersAreFed() {
+        //given
+        when(probabilitiesService.getSucceededAttacks(anyLong(), anyInt())).thenReturn(1L);
+        SpeciesDefinition hyena = species("hyena");
+        population.add(new Cohort(hyena, "clan", 1, 50), 3);
+        population.addNewborns(species("gazelle"), "herd", 10);
+
+        //when
+        cohortSimulation.runIteration();
+
+        //then
+        double hungerDecreasePerAnimal = 25.0 / 50 * 100 / 4;
+        assertEquals(1, population.getCount(new Cohort(hyena, "clan", 2, Math.round((64 - hungerDecreasePerAnimal * 2) * 10.0) / 10.0)),
+                "Attacker got a double share");
+        assertEquals(2, population.getCount(new Cohort(hyena, "clan", 2, Math.round((64 - hungerDecreasePerAnimal) * 10.0) / 10.0)),
+                "Supporters got a single share");
+    }
+
+    @Test
+    void testRunIteration_whenOddsAreIntermediate_thenKillsAndStarvationMatchIndividualSimulationOnAverage() {
+        //given
+        int repetitions = 200;
+        ProbabilitiesService realProbabilitiesService = new ProbabilitiesService();
+
+        //when
+        double[] cohortDeaths = averageCohortDeaths(realProbabilitiesService, repetitions);
+        double[] individualDeaths = averageIndividualDeaths(realProbabilitiesService, repetitions);
+
+        //then
+        assertEquals(individualDeaths[0], cohortDeaths[0], 2.0, "Both simulations kill as many herbivores on average");
+        assertEquals(individualDeaths[1], cohortDeaths[1], 0.25, "As many carnivores starve in both simulations on average");
+    }
+
+    private SpeciesDefinition species(String kind) {
+        return speciesCatalog.find(kind).orElseThrow();
+    }
+
+    /**
+     * Runs the cohort simulation repeatedly and averages its kills and starved carnivores.
+     */
+    private double[] averageCohortDeaths(ProbabilitiesService realProbabilitiesService, int repetitions) {
+        double[] deaths = new double[2];
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            CohortPopulation cohortPopulation = new CohortPopulation();
+            CohortSimulation simulation = new CohortSimulation(realProbabilitiesService, cohortPopulation);
+            cohortPopulation.addNewborns(species("cheetah"), "loners", 3);
+            cohortPopulation.addNewborns(species("hyena"), "clan", 3);
+            cohortPopulation.addNewborns(species("buffalo"), "herd", 40);
+            for (int iteration = 1; iteration <= SIMULATED_ITERATIONS && simulation.runIteration(); iteration++) {
+                deaths[0] += simulation.getDeaths(DeathCause.PREDATION);
+                deaths[1] += simulation.getDeaths(DeathCause.HUNGER);
+            }
+        }
+        deaths[0] /= repetitions;
+        deaths[1] /= repetitions;
+        return deaths;
+    }
+
+    /**
+     * Runs the individual simulation repeatedly and averages its kills and starved carnivores.
+     */
+    private double[] averageIndividualDeaths(ProbabilitiesService realProbabilitiesService, int repetitions) {
+        AnimalCreatorService animalCreatorService = new AnimalCreatorService();
+        double[] deaths = new double[2];
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            SimulationRunner simulationRunner = new SimulationRunner(realProbabilitiesService, animalCreatorService, new FeedingService());
+            Ecosystem ecosystem = simulationRunner.newEcosystem(Biome.SAVANNA);
+            animalCreatorService.createAnimals(ecosystem, "cheetah", "loners", 3);
+            animalCreatorService.createAnimals(ecosystem, "hyena", "clan", 3);
+            animalCreatorService.createAnimals(ecosystem, "buffalo", "herd", 40);
+            for (int iteration = 1; iteration <= SIMULATED_ITERATIONS && simulationRunner.runIteration(ecosystem, iteration); iteration++) {
+                deaths[0] += countDeaths(ecosystem, HERBIVORE);
+                deaths[1] += countDeaths(ecosystem, CARNIVORE);
+            }
+        }
+        deaths[0] /= repetitions;
+        deaths[1] /= repetitions;
+        return deaths;
+    }
+
+    private long countDeaths(Ecosystem ecosystem, AnimalType type) {
+        IterationStatistics statistics = ecosystem.getStatistics();
+        return statistics.getGroupNames(type).stream()
+                .mapToLong(groupName -> statistics.getDeaths(type, groupName))
+                .sum();
+    }
+
+    private long countAlive(Ecosystem ecosystem, AnimalType type) {
+        return ecosystem.getEcosystemGroupedAnimals().get(type).values().stream()
+                .flatMap(List::stream)
+                .filter(Animal::isAlive)
+                .count();
+    }
+}
@@ -124,4 +124,20 @@ class FeedingServiceTest {
         //then
         assertEquals(40.0, hyenaTwo.getCurrentHunger(), 0.1);
     }
+
+    @Test
+    void testProcessSuccessfulHunt_whenGroupMemberDead_thenDeadMemberSkipped() {
+        //given
+        hyenaOne.setCurrentHunger(80.0);
+        hyenaTwo.setCurrentHunger(80.0);
+        hyenaTwo.setAlive(false);
+        List<Animal> hyenaGroup = List.of(hyenaOne, hyenaTwo);
+
+        //when
+        feedingService.processSuccessfulHunt(hyenaOne, gazelle, hyenaGroup);
+
+        //then
+        assertEquals(30.0, hyenaOne.getCurrentHunger(), "Attacker shares the food only with alive members");
+        assertEquals(80.0, hyenaTwo.getCurrentHunger(), "Dead member is not fed");
+    }
 }
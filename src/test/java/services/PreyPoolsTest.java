@@ -0,0 +1,48 @@
+package services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import models.Animal;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class PreyPoolsTest {
+    private final SpeciesCatalog speciesCatalog = SpeciesCatalog.loadDefault();
+    private final Animal lion = speciesCatalog.find("lion").orElseThrow().create("pride");
+    private final Animal zebra = speciesCatalog.find("zebra").orElseThrow().create("herd");
+    private final Animal gazelle = speciesCatalog.find("gazelle").orElseThrow().create("herd");
+    private final Animal hare = speciesCatalog.find("hare").orElseThrow().create("field");
+
+    @Test
+    void testSelect_whenDietRestricted_thenPoolsChosenByPreferenceAndSize() {
+        //given
+        PreyPools preyPools = new PreyPools(speciesCatalog.getDietMatrix(), UniformVictimSelector::new);
+        preyPools.prepare(List.of(zebra, gazelle, hare));
+
+        //when
+        int zebraSelections = 0;
+        for (int i = 0; i < 10_000; i++) {
+            Animal victim = preyPools.select(lion);
+            assertNotSame(hare, victim, "Lion never hunts hares");
+            if (victim == zebra) zebraSelections++;
+        }
+
+        //then
+        assertEquals(7_500, zebraSelections, 300, "Lion chooses zebras three times as often as gazelles");
+    }
+
+    @Test
+    void testRemoveSelected_whenLastPreyOfDietKilled_thenNoVictimLeft() {
+        //given
+        PreyPools preyPools = new PreyPools(speciesCatalog.getDietMatrix(), UniformVictimSelector::new);
+        preyPools.prepare(List.of(zebra, hare));
+
+        //when
+        Animal victim = preyPools.select(lion);
+        preyPools.removeSelected();
+
+        //then
+        assertSame(zebra, victim, "Zebra is the only prey of the lion");
+        assertNull(preyPools.select(lion), "Lion finds no prey once the zebra died");
+    }
+}
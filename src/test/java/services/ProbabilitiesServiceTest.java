@@ -1,5 +1,6 @@
 package services;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
@@ -23,4 +24,44 @@ class ProbabilitiesServiceTest {
         //then
         assertTrue(chance <= 100, "Chance is lower than 100");
     }
+
+    @Test
+    void testGetBinomialSample_whenProbabilityIsCertain_thenReturnsBounds() {
+        //given, when
+        int impossibleSuccesses = service.getBinomialSample(1_000, 0);
+        int certainSuccesses = service.getBinomialSample(1_000, 1);
+
+        //then
+        assertEquals(0, impossibleSuccesses, "No trial succeeds with probability 0");
+        assertEquals(1_000, certainSuccesses, "Every trial succeeds with probability 1");
+    }
+
+    @Test
+    void testGetBinomialSample_whenDrawnRepeatedly_thenAverageIsTheMean() {
+        //given
+        int[] trials = {20, 10_000, 1_000_000, 1_000_000};
+        double[] probabilities = {0.3, 0.001, 0.5, 0.9999};
+
+        for (int i = 0; i < trials.length; i++) {
+            //when
+            long successes = 0;
+            for (int draw = 0; draw < 2_000; draw++) {
+                successes += service.getBinomialSample(trials[i], probabilities[i]);
+            }
+
+            //then
+            double mean = trials[i] * probabilities[i];
+            double tolerance = 5 * Math.sqrt(mean * (1 - probabilities[i]) / 2_000);
+            assertEquals(mean, (double) successes / 2_000, tolerance, "Average of " + trials[i] + " trials is the mean");
+        }
+    }
+
+    @Test
+    void testGetSucceededAttacks_whenChanceIsFull_thenEveryAttackSucceeds() {
+        //given, when
+        int succeededAttacks = service.getSucceededAttacks(50, 100);
+
+        //then
+        assertEquals(50, succeededAttacks, "A chance of 100 always succeeds");
+    }
 }
@@ -4,12 +4,24 @@ import static enums.AnimalType.CARNIVORE;
 import static enums.AnimalType.HERBIVORE;
 import static enums.Biome.DESERT;
 import static enums.Biome.SAVANNA;
+import static enums.Habitat.AIR;
+import static enums.Habitat.LAND;
+import static enums.Habitat.WATER;
+import static enums.LivingType.ALONE;
+import static enums.LivingType.GROUP;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import enums.AnimalType;
 import enums.Biome;
+import enums.PredationMode;
+import exceptions.AnimalNotFoundException;
 import models.Animal;
+import models.Carnivore;
 import models.Ecosystem;
+import models.Herbivore;
+import models.IterationDeltaRecorder;
+import models.OffHeapPopulationStore;
+import models.PopulationStore;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +31,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.*;
+import java.util.function.Consumer;
 
 class SimulationRunnerTest {
 
@@ -65,6 +78,23 @@ class SimulationRunnerTest {
         verify(mockAnimal, never()).breed(any());
     }
 
+    @Test
+    void testRunIteration_whenParentDiesOfOldAgeWhileDueToBreed_thenNoNewbornIsBorn() {
+        //given
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(101);
+        Ecosystem ecosystem = simulationRunner.newEcosystem(SAVANNA);
+        ecosystem.addAnimalToEcosystem(new Carnivore(Set.of(SAVANNA), 1, true, 30, 60, 5, LAND, CARNIVORE, ALONE, "cheetah", false, 110, "Loners", 15));
+        ecosystem.addAnimalToEcosystem(new Herbivore(Set.of(SAVANNA), 1, true, 24, 5, 3, LAND, HERBIVORE, "hare", ALONE, false, 100, "Loners"));
+        ecosystem.addAnimalToEcosystem(new Herbivore(Set.of(SAVANNA), 5, true, 6, 5, 3, LAND, HERBIVORE, "hare", ALONE, false, 100, "Loners"));
+
+        //when
+        simulationRunner.runIteration(ecosystem, 1);
+
+        //then
+        assertEquals(0, ecosystem.getStatistics().getBirths(HERBIVORE, "Loners"), "Hare which died of old age at 6 bore no newborn");
+        assertEquals(1, countAlive(ecosystem, HERBIVORE), "Only the young hare is left");
+    }
+
     @Test
     void testCreateMultipleAnimals_whenInvalidThenValid_thenFactoryInvokedOnce() {
         //given
@@ -83,6 +113,21 @@ class SimulationRunnerTest {
         verify(mockedAnimalCreatorService, times(1)).createAnimals(eco, "Lion", "Pride", 2);
     }
 
+    @Test
+    void testCreateMultipleAnimals_whenKindUnknown_thenErrorPrintedInsteadOfCrashing() {
+        //given
+        Ecosystem eco = mock(Ecosystem.class);
+        doThrow(new AnimalNotFoundException("Unknown animal kind unicorn"))
+                .when(mockedAnimalCreatorService).createAnimals(eco, "unicorn", "herd", 2);
+        Scanner sc = new Scanner(new ByteArrayInputStream("2\n".getBytes()));
+
+        //when
+        simulationRunner.createMultipleAnimals(sc, "unicorn", "herd", eco);
+
+        //then
+        assertTrue(outputCapture.toString().contains("Unknown animal kind unicorn"), "Unknown kind is reported to the user");
+    }
+
     @Test
     void testSelectRandomAnimal_whenSingleAnimal_thenReturn() {
         //given
@@ -179,6 +224,7 @@ class SimulationRunnerTest {
         //given
         Ecosystem ecosystem = mock(Ecosystem.class);
         Animal mockAnimal = mock(Animal.class);
+        when(mockAnimal.isAlive()).thenReturn(true);
         when(mockAnimal.getCurrentAge()).thenReturn(10);
         when(mockAnimal.getReproductiveRate()).thenReturn(10);
 
@@ -239,4 +285,352 @@ class SimulationRunnerTest {
         //then
         assertEquals(SAVANNA, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testProcessBreeding_whenAnimalBreeds_thenNewbornAddedToEcosystem() {
+        //given
+        Ecosystem ecosystem = mock(Ecosystem.class);
+        Animal mockAnimal = mock(Animal.class);
+        Animal newborn = mock(Animal.class);
+        when(mockAnimal.isAlive()).thenReturn(true);
+        when(mockAnimal.getCurrentAge()).thenReturn(10);
+        when(mockAnimal.getReproductiveRate()).thenReturn(5);
+        when(mockAnimal.breed(mockAnimal)).thenReturn(newborn);
+
+        when(ecosystem.getEcosystemGroupedAnimals())
+                .thenReturn(Map.of(
+                        CARNIVORE, Map.of(),
+                        HERBIVORE, Map.of("Gazelles", List.of(mockAnimal))
+                ));
+
+        //when
+        simulationRunner.processBreeding(ecosystem);
+
+        //then
+        verify(ecosystem, times(1)).addNewbornToEcosystem(newborn);
+    }
+
+    @Test
+    void testRunIteration_whenTauLeaping_thenDrawnKillsAreAppliedInBulk() {
+        //given
+        AnimalCreatorService animalCreatorService = new AnimalCreatorService();
+        Ecosystem ecosystem = simulationRunner.newEcosystem(SAVANNA);
+        animalCreatorService.createAnimals(ecosystem, "cheetah", "loners", 5);
+        animalCreatorService.createAnimals(ecosystem, "zebra", "herd", 20);
+        when(mockedProbabilitiesService.getBinomialSample(anyInt(), anyDouble())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mockedProbabilitiesService.getSucceededAttacks(anyInt(), anyInt())).thenAnswer(invocation -> invocation.getArgument(0));
+        simulationRunner.setPredationMode(PredationMode.TAU_LEAPING);
+
+        //when
+        boolean isRunning = simulationRunner.runIteration(ecosystem, 1);
+
+        //then
+        assertTrue(isRunning, "Simulation keeps running");
+        assertEquals(15, countAlive(ecosystem, HERBIVORE), "Every cheetah killed a zebra");
+        verify(mockedFeedingService, times(5)).processSuccessfulHunt(any(Carnivore.class), any(Herbivore.class), anyList());
+        verify(mockedProbabilitiesService, never()).getChanceForAttack();
+    }
+
+    @Test
+    void testRunIteration_whenTauLeaping_thenKillsMatchExactPredationOnAverage() {
+        //given
+        int repetitions = 300;
+
+        //when
+        double exactKills = averageKills(PredationMode.EXACT, repetitions);
+        double tauLeapingKills = averageKills(PredationMode.TAU_LEAPING, repetitions);
+
+        //then
+        assertEquals(exactKills, tauLeapingKills, 0.5, "Both modes kill as many herbivores on average");
+    }
+
+    @Test
+    void testRunIteration_whenDietRestricted_thenCarnivoresOnlyAttackTheirPrey() {
+        //given
+        AnimalCreatorService animalCreatorService = new AnimalCreatorService();
+        simulationRunner.setDietMatrix(SpeciesCatalog.loadDefault().getDietMatrix());
+        Ecosystem ecosystem = simulationRunner.newEcosystem(DESERT);
+        animalCreatorService.createAnimals(ecosystem, "fennec_fox", "loners", 3);
+        animalCreatorService.createAnimals(ecosystem, "camel", "caravan", 5);
+        animalCreatorService.createAnimals(ecosystem, "jerboa", "loners", 2);
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(0);
+
+        //when
+        simulationRunner.runIteration(ecosystem, 1);
+
+        //then
+        assertEquals(5, countAlive(ecosystem, HERBIVORE), "Fennec foxes killed only jerboas and left the camels alone");
+        verify(mockedProbabilitiesService, times(2)).getChanceForAttack();
+    }
+
+    @Test
+    void testRunIteration_whenHabitatsDiffer_thenPredatorsOnlyHuntReachablePrey() {
+        //given
+        Ecosystem ecosystem = simulationRunner.newEcosystem(SAVANNA);
+        ecosystem.addAnimalToEcosystem(new Carnivore(Set.of(SAVANNA), 1, true, 30, 100, 6, WATER, CARNIVORE, ALONE, "crocodile", false, 90, "Loners", 5));
+        ecosystem.addAnimalToEcosystem(new Carnivore(Set.of(SAVANNA), 1, true, 30, 5, 6, AIR, CARNIVORE, ALONE, "eagle", false, 90, "Loners", 5));
+        ecosystem.addAnimalToEcosystem(new Herbivore(Set.of(SAVANNA), 1, true, 24, 5, 3, LAND, HERBIVORE, "hare", ALONE, false, 100, "Loners"));
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(0);
+
+        //when
+        boolean isRunning = simulationRunner.runIteration(ecosystem, 1);
+
+        //then
+        assertTrue(isRunning, "Simulation keeps running while carnivores are alive");
+        verify(mockedProbabilitiesService, times(1)).getChanceForAttack();
+        verify(mockedFeedingService).processSuccessfulHunt(argThat(predator -> predator.getMainHabitat() == AIR), any(Herbivore.class), anyList());
+    }
+
+    @Test
+    void testRunRegion_whenAnimalsMigrateOnTheirOwnThreads_thenNoAnimalIsLostOrDuplicated() {
+        //given
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(101);
+        simulationRunner.setMigrationRate(0.5);
+        List<Ecosystem> region = simulationRunner.newRegion(SAVANNA, DESERT);
+        List<Animal> savannaAnimals = new ArrayList<>();
+        List<Animal> desertAnimals = new ArrayList<>();
+        for (Ecosystem ecosystem : region) {
+            for (int i = 0; i < 20; i++) {
+                Animal caracal = new Carnivore(Set.of(SAVANNA, DESERT), 1, true, 100, 15, 1000, LAND, CARNIVORE, ALONE, "caracal", false, 80, "Loners", 5);
+                Animal camel = new Herbivore(Set.of(SAVANNA, DESERT), 1, true, 100, 600, 1000, LAND, HERBIVORE, "camel", GROUP, true, 70, "caravan");
+                ecosystem.addAnimalToEcosystem(caracal);
+                ecosystem.addAnimalToEcosystem(camel);
+                List<Animal> nativeAnimals = ecosystem.getBiome() == SAVANNA ? savannaAnimals : desertAnimals;
+                nativeAnimals.add(caracal);
+                nativeAnimals.add(camel);
+            }
+        }
+
+        //when
+        simulationRunner.runRegion(region, 3);
+
+        //then
+        assertEquals(40, region.stream().mapToLong(ecosystem -> countAlive(ecosystem, CARNIVORE)).sum(), "All caracals are alive in the region");
+        assertEquals(40, region.stream().mapToLong(ecosystem -> countAlive(ecosystem, HERBIVORE)).sum(), "All camels are alive in the region");
+        List<Animal> animalsInSavanna = allAnimals(region.getFirst());
+        List<Animal> animalsInDesert = allAnimals(region.getLast());
+        assertTrue(savannaAnimals.stream().anyMatch(animalsInDesert::contains) || desertAnimals.stream().anyMatch(animalsInSavanna::contains),
+                "Animals migrated between the ecosystems");
+        assertFalse(region.stream().anyMatch(Ecosystem::isAcceptingMigrants), "Ended ecosystems accept no more migrants");
+    }
+
+    @Test
+    void testRunIteration_whenAnimalsMigrate_thenMigrationsRecorded() {
+        //given
+        simulationRunner.setMigrationRate(1);
+        List<Ecosystem> region = simulationRunner.newRegion(SAVANNA, DESERT);
+        Ecosystem savanna = region.getFirst();
+        Ecosystem desert = region.getLast();
+        IterationDeltaRecorder savannaRecorder = new IterationDeltaRecorder(0);
+        IterationDeltaRecorder desertRecorder = new IterationDeltaRecorder(0);
+        savanna.setDeltaRecorder(savannaRecorder);
+        desert.setDeltaRecorder(desertRecorder);
+        for (int i = 0; i < 3; i++) {
+            savanna.addAnimalToEcosystem(new Herbivore(Set.of(SAVANNA, DESERT), 1, true, 100, 600, 1000, LAND, HERBIVORE, "camel", GROUP, true, 70, "caravan"));
+        }
+        savanna.addAnimalToEcosystem(new Carnivore(Set.of(SAVANNA), 1, true, 100, 15, 1000, LAND, CARNIVORE, ALONE, "lion", false, 80, "Loners", 5));
+        desert.addAnimalToEcosystem(new Carnivore(Set.of(DESERT), 1, true, 100, 15, 1000, LAND, CARNIVORE, ALONE, "fennec", false, 80, "Loners", 5));
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(101);
+
+        //when
+        simulationRunner.runIteration(savanna, 1);
+        int savannaEmigrations = savanna.getStatistics().getEmigrations(HERBIVORE, "caravan");
+        simulationRunner.runIteration(desert, 1);
+
+        //then
+        assertEquals(3, savannaEmigrations, "Every camel left the savanna");
+        assertEquals(3, desert.getStatistics().getImmigrations(HERBIVORE, "caravan"), "Every camel arrived in the desert");
+        assertEquals(3, savannaRecorder.drain(1).emigrations().size(), "Emigrations are part of the delta");
+        assertEquals(3, desertRecorder.drain(1).immigrations().size(), "Immigrations are part of the delta");
+    }
+
+    @Test
+    void testRunIteration_whenStarvationScheduled_thenSameOutcomeAsCheckingEveryCarnivore() {
+        //given
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(0);
+        List<Double> checkedHunger = new ArrayList<>();
+        List<Double> scheduledHunger = new ArrayList<>();
+
+        //when
+        int checkedIterations = runUntilExtinction(false, checkedHunger);
+        int scheduledIterations = runUntilExtinction(true, scheduledHunger);
+
+        //then
+        assertEquals(checkedIterations, scheduledIterations, "Both simulations end in the same iteration");
+        assertEquals(checkedHunger, scheduledHunger, "Carnivores have the same hunger in every iteration");
+    }
+
+    @Test
+    void testRunIteration_whenBreedingScheduled_thenSamePopulationAsTestingEveryAnimal() {
+        //given
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(101);
+        List<Long> testedPopulation = new ArrayList<>();
+        List<Long> scheduledPopulation = new ArrayList<>();
+
+        //when
+        runBreedingSimulation(false, testedPopulation);
+        runBreedingSimulation(true, scheduledPopulation);
+
+        //then
+        assertEquals(testedPopulation, scheduledPopulation, "Both simulations have the same population in every iteration");
+    }
+
+    @Test
+    void testRunIteration_whenAgingIsLazy_thenSamePopulationAsAgingEveryAnimal() {
+        //given
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(101);
+        List<Long> agedPopulation = new ArrayList<>();
+        List<Long> lazyPopulation = new ArrayList<>();
+
+        //when
+        runAgingSimulation(runner -> runner.setLazyAging(false), agedPopulation);
+        runAgingSimulation(runner -> runner.setLazyAging(true), lazyPopulation);
+
+        //then
+        assertEquals(agedPopulation, lazyPopulation, "Both simulations have the same population in every iteration");
+        assertEquals(4L, lazyPopulation.get(3), "The oldest zebra died of old age in the second iteration");
+    }
+
+    @Test
+    void testRunIteration_whenPopulationStorage_thenSamePopulationAsAgingEveryAnimal() {
+        //given
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(101);
+        List<Long> agedPopulation = new ArrayList<>();
+        List<Long> storedPopulation = new ArrayList<>();
+        List<Long> offHeapPopulation = new ArrayList<>();
+
+        //when
+        runAgingSimulation(runner -> runner.setPopulationStorage(null), agedPopulation);
+        runAgingSimulation(runner -> runner.setPopulationStorage(PopulationStore::new), storedPopulation);
+        runAgingSimulation(runner -> runner.setPopulationStorage(OffHeapPopulationStore::allocate), offHeapPopulation);
+
+        //then
+        assertEquals(agedPopulation, storedPopulation, "Both simulations have the same population in every iteration");
+        assertEquals(agedPopulation, offHeapPopulation, "Off-heap storage gives the same population in every iteration");
+        assertEquals(4L, storedPopulation.get(3), "The oldest zebra died of old age in the second iteration");
+    }
+
+    @Test
+    void testRunIteration_whenPopulationStorage_thenLionStarves() {
+        //given
+        when(mockedProbabilitiesService.getChanceForAttack()).thenReturn(101);
+        simulationRunner.setPopulationStorage(PopulationStore::new);
+        Ecosystem ecosystem = simulationRunner.newEcosystem(SAVANNA);
+        Carnivore lion = new Carnivore(Set.of(SAVANNA), 1, true, 100, 190, 50, LAND, CARNIVORE, ALONE, "lion", false, 100, "loner", 50);
+        ecosystem.addAnimalToEcosystem(lion);
+        ecosystem.addAnimalToEcosystem(new Herbivore(Set.of(SAVANNA), 1, true, 100, 300, 50, LAND, HERBIVORE, "zebra", GROUP, true, 80, "herd"));
+
+        //when
+        boolean firstContinues = simulationRunner.runIteration(ecosystem, 1);
+        boolean secondContinues = simulationRunner.runIteration(ecosystem, 2);
+        double hungerAfterSecondIteration = lion.getCurrentHunger();
+        int ageAfterSecondIteration = lion.getCurrentAge();
+        boolean thirdContinues = simulationRunner.runIteration(ecosystem, 3);
+
+        //then
+        assertTrue(firstContinues && secondContinues, "Lion survives while its hunger grows to 100");
+        assertEquals(100, hungerAfterSecondIteration, "Hunger of the lion grew in the storage");
+        assertEquals(3, ageAfterSecondIteration, "Lion aged in the storage");
+        assertFalse(thirdContinues, "Lion starved in the third iteration");
+        assertFalse(lion.isAlive(), "Lion is dead");
+    }
+
+    /**
+     * Runs a simulation of old zebras escaping every attack of a lion until an animal type
+     * went extinct, and collects the population after every iteration.
+     */
+    private void runAgingSimulation(Consumer<SimulationRunner> agingMode, List<Long> populationPerIteration) {
+        AnimalCreatorService animalCreatorService = new AnimalCreatorService();
+        SimulationRunner runner = new SimulationRunner(mockedProbabilitiesService, animalCreatorService, new FeedingService());
+        agingMode.accept(runner);
+        Ecosystem ecosystem = runner.newEcosystem(SAVANNA);
+        animalCreatorService.createAnimals(ecosystem, "lion", "pride", 1);
+        for (int age = 44; age <= 48; age++) {
+            ecosystem.addAnimalToEcosystem(new Herbivore(Set.of(SAVANNA), age, true, 50, 300, 10, LAND, HERBIVORE, "zebra", GROUP, true, 80, "herd"));
+        }
+        int iteration = 1;
+        while (runner.runIteration(ecosystem, iteration)) {
+            populationPerIteration.add(countAlive(ecosystem, CARNIVORE));
+            populationPerIteration.add(countAlive(ecosystem, HERBIVORE));
+            iteration++;
+        }
+    }
+
+    /**
+     * Runs a simulation of hares and zebras escaping every attack of a lion
+     * until the lion starved, and collects the population after every iteration.
+     */
+    private void runBreedingSimulation(boolean scheduledBreeding, List<Long> populationPerIteration) {
+        AnimalCreatorService animalCreatorService = new AnimalCreatorService();
+        SimulationRunner runner = new SimulationRunner(mockedProbabilitiesService, animalCreatorService, new FeedingService());
+        runner.setScheduledBreeding(scheduledBreeding);
+        Ecosystem ecosystem = runner.newEcosystem(SAVANNA);
+        animalCreatorService.createAnimals(ecosystem, "lion", "pride", 2);
+        animalCreatorService.createAnimals(ecosystem, "hare", "field", 3);
+        animalCreatorService.createAnimals(ecosystem, "zebra", "herd", 2);
+        int iteration = 1;
+        while (runner.runIteration(ecosystem, iteration)) {
+            populationPerIteration.add(countAlive(ecosystem, CARNIVORE));
+            populationPerIteration.add(countAlive(ecosystem, HERBIVORE));
+            iteration++;
+        }
+    }
+
+    /**
+     * Runs a simulation of tigers hunting gazelles, which they always catch, until the tigers
+     * starved, and collects the hunger of all alive tigers after every iteration.
+     */
+    private int runUntilExtinction(boolean scheduledStarvation, List<Double> hungerPerIteration) {
+        AnimalCreatorService animalCreatorService = new AnimalCreatorService();
+        SimulationRunner runner = new SimulationRunner(mockedProbabilitiesService, animalCreatorService, new FeedingService());
+        runner.setScheduledStarvation(scheduledStarvation);
+        Ecosystem ecosystem = runner.newEcosystem(SAVANNA);
+        animalCreatorService.createAnimals(ecosystem, "tiger", "loners", 2);
+        animalCreatorService.createAnimals(ecosystem, "gazelle", "herd", 20);
+        int iteration = 1;
+        while (iteration < 100 && runner.runIteration(ecosystem, iteration)) {
+            ecosystem.getEcosystemGroupedAnimals().get(CARNIVORE).values().stream()
+                    .flatMap(List::stream)
+                    .filter(Animal::isAlive)
+                    .map(carnivore -> ((Carnivore) carnivore).getCurrentHunger())
+                    .sorted()
+                    .forEach(hungerPerIteration::add);
+            iteration++;
+        }
+        return iteration;
+    }
+
+    /**
+     * Runs single iterations of 10 cheetahs hunting 30 zebras and 30 hares and averages the kills.
+     */
+    private double averageKills(PredationMode predationMode, int repetitions) {
+        ProbabilitiesService probabilitiesService = new ProbabilitiesService();
+        AnimalCreatorService animalCreatorService = new AnimalCreatorService();
+        long kills = 0;
+        for (int i = 0; i < repetitions; i++) {
+            SimulationRunner runner = new SimulationRunner(probabilitiesService, animalCreatorService, new FeedingService());
+            runner.setPredationMode(predationMode);
+            Ecosystem ecosystem = runner.newEcosystem(SAVANNA);
+            animalCreatorService.createAnimals(ecosystem, "cheetah", "loners", 10);
+            animalCreatorService.createAnimals(ecosystem, "zebra", "herd", 30);
+            animalCreatorService.createAnimals(ecosystem, "hare", "field", 30);
+            runner.runIteration(ecosystem, 1);
+            kills += 60 - countAlive(ecosystem, HERBIVORE);
+        }
+        return (double) kills / repetitions;
+    }
+
+    private List<Animal> allAnimals(Ecosystem ecosystem) {
+        return ecosystem.getEcosystemGroupedAnimals().values().stream()
+                .flatMap(groups -> groups.values().stream())
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private long countAlive(Ecosystem ecosystem, AnimalType type) {
+        return ecosystem.getEcosystemGroupedAnimals().get(type).values().stream()
+                .flatMap(List::stream)
+                .filter(Animal::isAlive)
+                .count();
+    }
+}
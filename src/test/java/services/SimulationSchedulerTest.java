@@ -0,0 +1,113 @@
+package services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import models.Ecosystem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class SimulationSchedulerTest {
+
+    private final SimulationRunner mockedSimulationRunner = mock(SimulationRunner.class);
+    private final Ecosystem mockedEcosystem = mock(Ecosystem.class);
+    private SimulationScheduler simulationScheduler;
+
+    @BeforeEach
+    void setUp() {
+        when(mockedSimulationRunner.runIteration(any(Ecosystem.class), anyInt())).thenReturn(true);
+        simulationScheduler = new SimulationScheduler(mockedSimulationRunner, mockedEcosystem, 10);
+    }
+
+    @Test
+    void testRunIterations_whenBudgetLarge_thenRunsMaxIterations() {
+        //given //when
+        int steppedIterations = simulationScheduler.runIterations(5, Duration.ofSeconds(10));
+
+        //then
+        assertEquals(5, steppedIterations, "All requested iterations fit into the budget");
+        verify(mockedSimulationRunner).runIteration(mockedEcosystem, 5);
+        assertEquals(5, simulationScheduler.getCompletedIterations(), "Completed iterations are counted");
+    }
+
+    @Test
+    void testRunWithin_whenIterationsExceedBudget_thenStopsEarly() {
+        //given
+        when(mockedSimulationRunner.runIteration(any(Ecosystem.class), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            return true;
+        });
+
+        //when
+        int steppedIterations = simulationScheduler.runWithin(Duration.ofMillis(50));
+
+        //then
+        assertTrue(steppedIterations >= 1 && steppedIterations <= 3, "Only the iterations fitting into the budget run");
+        assertTrue(simulationScheduler.getAverageIterationCost().toMillis() >= 20, "Iteration cost is measured");
+    }
+
+    @Test
+    void testRunIterations_whenPaused_thenRunsNothingUntilResumed() {
+        //given
+        simulationScheduler.pause();
+
+        //when
+        int pausedIterations = simulationScheduler.runIterations(3, Duration.ofSeconds(1));
+        simulationScheduler.resume();
+        int resumedIterations = simulationScheduler.runIterations(3, Duration.ofSeconds(1));
+
+        //then
+        assertEquals(0, pausedIterations, "Paused simulation does not run");
+        assertEquals(3, resumedIterations, "Resumed simulation runs again");
+    }
+
+    @Test
+    void testRunFrame_whenSpeedDoubled_thenRunsTwiceTheIterations() {
+        //given
+        simulationScheduler.setSpeedMultiplier(2);
+
+        //when
+        int steppedIterations = simulationScheduler.runFrame(Duration.ofMillis(500), Duration.ofSeconds(1));
+
+        //then
+        assertEquals(10, steppedIterations, "Half a second at double speed runs ten iterations");
+        assertThrows(IllegalArgumentException.class, () -> simulationScheduler.setSpeedMultiplier(0),
+                "Speed multiplier must be positive");
+    }
+
+    @Test
+    void testRunIterations_whenAnimalTypeExtinct_thenFinished() {
+        //given
+        when(mockedSimulationRunner.runIteration(any(Ecosystem.class), anyInt())).thenReturn(true, false);
+
+        //when
+        int steppedIterations = simulationScheduler.runIterations(5, Duration.ofSeconds(1));
+
+        //then
+        assertEquals(1, steppedIterations, "The iteration finding the extinction is not counted");
+        assertTrue(simulationScheduler.isFinished(), "Simulation is finished after extinction");
+        assertEquals(1, simulationScheduler.getCompletedIterations(), "Only the first iteration completed");
+        assertEquals(0, simulationScheduler.runWithin(Duration.ofSeconds(1)), "Finished simulation does not run");
+    }
+
+    @Test
+    void testRunFrame_whenSimulationEnds_thenTerminatingIterationNotMeasured() {
+        //given
+        when(mockedSimulationRunner.runIteration(any(Ecosystem.class), anyInt())).thenAnswer(invocation -> {
+            if (invocation.getArgument(1, Integer.class) > 1) return false;
+            Thread.sleep(20);
+            return true;
+        });
+
+        //when
+        int steppedIterations = simulationScheduler.runFrame(Duration.ofSeconds(1), Duration.ofSeconds(1));
+
+        //then
+        assertEquals(1, steppedIterations, "Only the completed iteration is counted");
+        assertTrue(simulationScheduler.getAverageIterationCost().toMillis() >= 20,
+                "The cheap terminating iteration does not lower the average cost");
+    }
+}
@@ -0,0 +1,172 @@
+package services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class SimulationServerTest {
+    private final PrintStream originalOut = System.out;
+    private final PrintStream originalErr = System.err;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private SimulationServer simulationServer;
+    private String baseUri;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        simulationServer = new SimulationServer(new ProbabilitiesService(), new AnimalCreatorService(), new FeedingService());
+        baseUri = "http://localhost:" + simulationServer.start(0) + "/sessions";
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulationServer.stop();
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+    }
+
+    @Test
+    void testSession_whenCreatedPopulatedAndStepped_thenStatisticsReturned() throws Exception {
+        //given
+        HttpResponse<String> created = send("POST", baseUri + "?biome=savanna");
+        String sessionUri = baseUri + "/1";
+        send("POST", sessionUri + "/animals?kind=lion&group=pride&count=2");
+        send("POST", sessionUri + "/animals?kind=zebra&group=herd&count=5");
+
+        //when
+        HttpResponse<String> stepped = send("POST", sessionUri + "/step?iterations=1");
+
+        //then
+        assertEquals(201, created.statusCode(), "Session was created");
+        assertEquals(200, stepped.statusCode(), "Session was stepped");
+        assertTrue(stepped.body().contains("\"biome\":\"SAVANNA\""), "Statistics contain the biome");
+        assertTrue(stepped.body().contains("\"iterations\":1"), "One iteration was run");
+    }
+
+    @Test
+    void testSession_whenUnknownSession_thenNotFound() throws Exception {
+        //given //when
+        HttpResponse<String> response = send("GET", baseUri + "/42");
+
+        //then
+        assertEquals(404, response.statusCode(), "Unknown session is not found");
+    }
+
+    @Test
+    void testSession_whenMissingParameter_thenBadRequest() throws Exception {
+        //given //when
+        HttpResponse<String> response = send("POST", baseUri);
+
+        //then
+        assertEquals(400, response.statusCode(), "Biome parameter is required");
+    }
+
+    @Test
+    void testSession_whenSessionIdNotNumeric_thenNotFound() throws Exception {
+        //given //when
+        HttpResponse<String> response = send("GET", baseUri + "/abc");
+
+        //then
+        assertEquals(404, response.statusCode(), "Non-numeric session id names no session");
+    }
+
+    @Test
+    void testSession_whenUnknownAction_thenNotFound() throws Exception {
+        //given
+        send("POST", baseUri + "?biome=savanna");
+
+        //when
+        HttpResponse<String> response = send("POST", baseUri + "/1/jump");
+
+        //then
+        assertEquals(404, response.statusCode(), "Unknown action is not found");
+    }
+
+    @Test
+    void testSession_whenUnsupportedMethod_thenMethodNotAllowed() throws Exception {
+        //given
+        send("POST", baseUri + "?biome=savanna");
+
+        //when
+        HttpResponse<String> response = send("GET", baseUri + "/1/step");
+
+        //then
+        assertEquals(405, response.statusCode(), "Stepping requires POST");
+    }
+
+    @Test
+    void testSession_whenParameterNotNumeric_thenBadRequest() throws Exception {
+        //given
+        send("POST", baseUri + "?biome=savanna");
+
+        //when
+        HttpResponse<String> response = send("POST", baseUri + "/1/step?iterations=many");
+
+        //then
+        assertEquals(400, response.statusCode(), "Iterations must be a number");
+    }
+
+    @Test
+    void testSession_whenUnexpectedFailure_thenInternalServerError() throws Exception {
+        //given
+        simulationServer.stop();
+        System.setErr(new PrintStream(new ByteArrayOutputStream()));
+        simulationServer = new SimulationServer(new AnimalCreatorService(), () -> {
+            throw new IllegalStateException("Broken runner");
+        });
+        baseUri = "http://localhost:" + simulationServer.start(0) + "/sessions";
+
+        //when
+        HttpResponse<String> response = send("POST", baseUri + "?biome=savanna");
+
+        //then
+        assertEquals(500, response.statusCode(), "Failures of the simulation are server errors");
+        assertTrue(response.body().contains("Internal server error"), "Details of the failure are not sent to the client");
+    }
+
+    @Test
+    void testSession_whenRunnerFactoryGiven_thenEverySessionGetsItsOwnConfiguredRunner() throws Exception {
+        //given
+        simulationServer.stop();
+        AnimalCreatorService animalCreatorService = new AnimalCreatorService();
+        List<SimulationRunner> createdRunners = new CopyOnWriteArrayList<>();
+        simulationServer = new SimulationServer(animalCreatorService, () -> {
+            SimulationRunner runner = new SimulationRunner(new ProbabilitiesService(), animalCreatorService, new FeedingService());
+            runner.setLazyAging(true);
+            createdRunners.add(runner);
+            return runner;
+        });
+        baseUri = "http://localhost:" + simulationServer.start(0) + "/sessions";
+
+        //when
+        send("POST", baseUri + "?biome=savanna");
+        send("POST", baseUri + "?biome=savanna");
+        HttpResponse<String> stepped = send("POST", baseUri + "/1/step?iterations=1");
+
+        //then
+        assertEquals(2, createdRunners.size(), "Every session got a runner from the factory");
+        assertNotSame(createdRunners.get(0), createdRunners.get(1), "Sessions do not share a runner");
+        assertEquals(200, stepped.statusCode(), "Session with a configured runner is stepped");
+    }
+
+    private HttpResponse<String> send(String method, String uri) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
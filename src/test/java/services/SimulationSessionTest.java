@@ -0,0 +1,167 @@
+package services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import enums.AnimalType;
+import enums.Biome;
+import models.EcosystemSnapshot;
+import models.IterationDelta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+class SimulationSessionTest {
+    private final PrintStream originalOut = System.out;
+    private SimulationSession session;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        session = new SimulationSession(1, Biome.SAVANNA, new ProbabilitiesService(), new AnimalCreatorService(), new FeedingService());
+        session.addAnimals("lion", "pride", 2);
+        session.addAnimals("zebra", "herd", 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        session.close();
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void testStep_whenSubscribed_thenSubscriberReceivesReturnedDeltas() throws InterruptedException {
+        //given
+        List<IterationDelta> receivedDeltas = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        session.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(IterationDelta delta) {
+                receivedDeltas.add(delta);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+
+        //when
+        IterationDelta firstDelta = session.step();
+        IterationDelta secondDelta = session.step();
+        session.close();
+
+        //then
+        assertTrue(completed.await(5, TimeUnit.SECONDS), "Subscriber was completed");
+        assertEquals(List.of(firstDelta, secondDelta), receivedDeltas, "Subscriber received every delta");
+        assertEquals(1, firstDelta.iterationNumber(), "First delta belongs to the first iteration");
+        assertEquals(2, secondDelta.iterationNumber(), "Second delta belongs to the second iteration");
+    }
+
+    @Test
+    void testStep_whenAnimalsDie_thenDeathsHaveCause() {
+        //given
+        List<IterationDelta.Death> deaths = new CopyOnWriteArrayList<>();
+
+        //when
+        for (int i = 0; i < 20 && !session.getStatisticsJson().contains("\"finished\":true"); i++) {
+            deaths.addAll(session.step().deaths());
+        }
+
+        //then
+        assertTrue(deaths.stream().allMatch(death -> death.cause() != null), "Every death has a cause");
+    }
+
+    @Test
+    void testRequestSnapshot_whenIdle_thenCompletedRightAway() {
+        //given
+        session.step();
+
+        //when
+        CompletableFuture<EcosystemSnapshot> snapshotRequest = session.requestSnapshot();
+
+        //then
+        assertTrue(snapshotRequest.isDone(), "Snapshot is taken right away while no step runs");
+        assertEquals(1, snapshotRequest.join().iterationNumber(), "Snapshot shows the state after the last step");
+    }
+
+    @Test
+    void testGetStatisticsJson_whenStepped_thenPopulationsMatchSnapshot() {
+        //given
+        session.step(3);
+
+        //when
+        String statistics = session.getStatisticsJson();
+
+        //then
+        EcosystemSnapshot snapshot = session.requestSnapshot().join();
+        assertTrue(statistics.contains("\"carnivores\":" + snapshot.getPopulation(AnimalType.CARNIVORE)), "Carnivore count matches the population");
+        assertTrue(statistics.contains("\"herbivores\":" + snapshot.getPopulation(AnimalType.HERBIVORE)), "Herbivore count matches the population");
+        assertTrue(statistics.contains("\"iterations\":" + snapshot.iterationNumber()), "Iteration count matches the snapshot");
+    }
+
+    @Test
+    void testRequestSnapshot_whenSessionClosed_thenStillCompleted() {
+        //given
+        session.close();
+
+        //when
+        CompletableFuture<EcosystemSnapshot> snapshotRequest = session.requestSnapshot();
+
+        //then
+        assertTrue(snapshotRequest.isDone(), "Snapshot requests of a closed session do not wait for a step");
+    }
+
+    @Test
+    void testGetScheduler_whenRunWithinBudget_thenSessionStepped() {
+        //given
+        SimulationScheduler scheduler = session.getScheduler();
+
+        //when
+        int steppedIterations = scheduler.runIterations(2, Duration.ofSeconds(10));
+
+        //then
+        assertTrue(session.getStatisticsJson().contains("\"iterations\":" + steppedIterations), "Scheduled iterations are iterations of the session");
+        assertEquals(steppedIterations, scheduler.getCompletedIterations(), "Scheduler counts the iterations it ran");
+    }
+
+    @Test
+    void testRunWithin_whenCalledConcurrently_thenEveryIterationCounted() throws InterruptedException {
+        //given
+        Thread[] runners = new Thread[4];
+        int[] steppedIterations = new int[runners.length];
+
+        //when
+        for (int i = 0; i < runners.length; i++) {
+            int runnerIndex = i;
+            runners[i] = Thread.ofVirtual().start(() -> steppedIterations[runnerIndex] = session.runWithin(Duration.ofMillis(20)));
+        }
+        for (Thread runner : runners) {
+            runner.join();
+        }
+
+        //then
+        int totalIterations = Arrays.stream(steppedIterations).sum();
+        assertEquals(totalIterations, session.getScheduler().getCompletedIterations(), "Scheduler counted the iterations of every run");
+        assertTrue(session.getStatisticsJson().contains("\"iterations\":" + totalIterations), "Every scheduled iteration is an iteration of the session");
+    }
+}
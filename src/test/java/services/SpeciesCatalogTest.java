@@ -0,0 +1,113 @@
+package services;
+
+import static enums.Biome.DESERT;
+import static enums.Biome.SAVANNA;
+import static org.junit.jupiter.api.Assertions.*;
+import models.Animal;
+import models.DietMatrix;
+import models.SpeciesDefinition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+class SpeciesCatalogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLoadDefault_whenCalled_thenAllPredefinedSpeciesLoaded() {
+        //given //when
+        SpeciesCatalog speciesCatalog = SpeciesCatalog.loadDefault();
+
+        //then
+        assertEquals(22, speciesCatalog.getAllSpecies().size(), "All predefined species are loaded");
+        assertTrue(speciesCatalog.getSpecies(DESERT).stream().anyMatch(species -> species.kind().equals("camel")),
+                "Camel lives in the desert");
+        assertTrue(speciesCatalog.getSpecies(DESERT).stream().allMatch(species -> species.biomes().contains(DESERT)),
+                "Desert species live in the desert");
+    }
+
+    @Test
+    void testCreate_whenSpeciesLivesAlone_thenAnimalJoinsLoners() {
+        //given
+        SpeciesCatalog speciesCatalog = SpeciesCatalog.loadDefault();
+
+        //when
+        Animal tapir = speciesCatalog.find("TAPIR").orElseThrow().create("herd");
+        Animal zebra = speciesCatalog.find("zebra").orElseThrow().create("herd");
+
+        //then
+        assertEquals(SpeciesDefinition.LONERS_GROUP, tapir.getGroupName(), "Tapir lives alone");
+        assertEquals("herd", zebra.getGroupName(), "Zebra joins the given group");
+        assertEquals("Zebra", zebra.getAnimalKind(), "Zebra has its display name");
+    }
+
+    @Test
+    void testLoadCached_whenCacheIsNewer_thenCacheIsUsed() throws IOException {
+        //given
+        Path csvFile = tempDir.resolve("species.csv");
+        Path cacheFile = tempDir.resolve("species.csv.bin");
+        Files.writeString(csvFile, "kangaroo,HERBIVORE,Kangaroo,DESERT;SAVANNA,20,60,4,LAND,GROUP,true,85,0\n");
+        SpeciesCatalog parsedCatalog = SpeciesCatalog.loadCached(csvFile, cacheFile);
+        Files.setLastModifiedTime(csvFile, FileTime.from(Instant.now().minusSeconds(60)));
+        Files.writeString(csvFile, "kangaroo,HERBIVORE,Kangaroo,broken\n");
+        Files.setLastModifiedTime(csvFile, FileTime.from(Instant.now().minusSeconds(60)));
+
+        //when
+        SpeciesCatalog cachedCatalog = SpeciesCatalog.loadCached(csvFile, cacheFile);
+
+        //then
+        assertTrue(Files.exists(cacheFile), "Cache file was written");
+        assertEquals(List.copyOf(parsedCatalog.getAllSpecies()), List.copyOf(cachedCatalog.getAllSpecies()),
+                "Cached catalog equals the parsed one");
+        assertEquals(List.copyOf(cachedCatalog.getSpecies(SAVANNA)), List.copyOf(cachedCatalog.getSpecies(DESERT)),
+                "Cached species keep their biomes");
+    }
+
+    @Test
+    void testGetDietMatrix_whenDietsListed_thenCarnivoresPreferTheirPrey() {
+        //given
+        SpeciesCatalog speciesCatalog = SpeciesCatalog.loadDefault();
+
+        //when
+        DietMatrix dietMatrix = speciesCatalog.getDietMatrix();
+
+        //then
+        assertEquals(3, dietMatrix.getPreference("Lion", "Zebra"), "Lion prefers zebras");
+        assertEquals(1, dietMatrix.getPreference("Lion", "Gazelle"), "Lion hunts gazelles with the default weight");
+        assertEquals(0, dietMatrix.getPreference("Fennec Fox", "Buffalo"), "Fennec fox does not hunt buffaloes");
+        assertEquals(1, dietMatrix.getPreference("Unknown", "Buffalo"), "Carnivore without a diet hunts every herbivore");
+    }
+
+    @Test
+    void testLoad_whenDietNamesCarnivore_thenThrowIllegalArgumentException() throws IOException {
+        //given
+        Path csvFile = tempDir.resolve("species.csv");
+        Files.writeString(csvFile, """
+                dingo,CARNIVORE,Dingo,DESERT,20,15,4,LAND,GROUP,true,80,12,kangaroo:2;dingo
+                kangaroo,HERBIVORE,Kangaroo,DESERT,20,60,4,LAND,GROUP,true,85,0,
+                """);
+
+        //when //then
+        assertThrows(IllegalArgumentException.class, () -> SpeciesCatalog.load(csvFile), "Dingo cannot hunt dingoes");
+    }
+
+    @Test
+    void testLoad_whenLineMalformed_thenThrowIllegalArgumentException() throws IOException {
+        //given
+        Path csvFile = tempDir.resolve("species.csv");
+        Files.writeString(csvFile, "# comment\nkangaroo,HERBIVORE,Kangaroo,OCEAN,20,60,4,LAND,GROUP,true,85,0\n");
+
+        //when //then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> SpeciesCatalog.load(csvFile), "Unknown biome is rejected");
+        assertTrue(exception.getMessage().contains("Line 2"), "Message names the malformed line");
+    }
+}
@@ -0,0 +1,109 @@
+package services;
+
+import static enums.AnimalType.CARNIVORE;
+import static enums.AnimalType.HERBIVORE;
+import static enums.Biome.SAVANNA;
+import static enums.Habitat.LAND;
+import static enums.LivingType.ALONE;
+import static enums.LivingType.GROUP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import enums.AnimalType;
+import enums.Biome;
+import models.Carnivore;
+import models.Ecosystem;
+import models.Herbivore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+class StatisticsExporterTest {
+    private final Set<Biome> biomes = Set.of(SAVANNA);
+    private final Herbivore zebra = new Herbivore(biomes, 10, true, 50, 300, 10, LAND, HERBIVORE, "ZEBRA", GROUP, true, 80, "zebras");
+    private final Carnivore cheetah = new Carnivore(biomes, 10, true, 30, 60, 5, LAND, CARNIVORE, ALONE, "CHEETAH", false, 110, "Loners", 15);
+    private Ecosystem ecosystem;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        ecosystem = new Ecosystem(SAVANNA, new EnumMap<>(AnimalType.class), mock(ProbabilitiesService.class), new FeedingService());
+        cheetah.setCurrentHunger(45);
+        ecosystem.addAnimalToEcosystem(cheetah);
+        ecosystem.addAnimalToEcosystem(zebra);
+        ecosystem.addNewbornToEcosystem(zebra.breed(zebra));
+    }
+
+    @Test
+    void testExportIteration_whenCalled_thenWritesRowPerGroup() throws IOException {
+        //given
+        Path statisticsFile = tempDir.resolve("statistics.csv");
+
+        //when
+        try (StatisticsExporter exporter = new StatisticsExporter(statisticsFile, false)) {
+            exporter.exportIteration(1, ecosystem);
+        }
+
+        //then
+        assertEquals(List.of(
+                "iteration,ecosystem,animal_type,group,population,average_hunger,births,deaths,kills,emigrations,immigrations",
+                "1,SAVANNA,CARNIVORE,Loners,1,45.0,0,0,0,0,0",
+                "1,SAVANNA,HERBIVORE,zebras,2,,1,0,0,0,0"
+        ), Files.readAllLines(statisticsFile), "Header and one row per group are written");
+    }
+
+    @Test
+    void testExportIteration_whenCompressed_thenWritesGzipFile() throws IOException {
+        //given
+        Path statisticsFile = tempDir.resolve("statistics.csv.gz");
+
+        //when
+        try (StatisticsExporter exporter = new StatisticsExporter(statisticsFile, true)) {
+            exporter.exportIteration(1, ecosystem);
+            exporter.exportIteration(2, ecosystem);
+        }
+
+        //then
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(statisticsFile)), StandardCharsets.UTF_8))) {
+            assertEquals(5, reader.lines().count(), "Header and two rows per iteration are written");
+        }
+    }
+
+    @Test
+    void testExportIteration_whenSeveralEcosystemsExport_thenFlushedByIterationNumber() throws IOException {
+        //given
+        Path statisticsFile = tempDir.resolve("statistics.csv");
+
+        //when
+        long sizeBeforeFlush;
+        long sizeAfterFlush;
+        try (StatisticsExporter exporter = new StatisticsExporter(statisticsFile, false)) {
+            for (int iteration = 1; iteration < 100; iteration++) {
+                for (int ecosystemNumber = 0; ecosystemNumber < 3; ecosystemNumber++) {
+                    exporter.exportIteration(iteration, ecosystem);
+                }
+            }
+            sizeBeforeFlush = Files.size(statisticsFile);
+            exporter.exportIteration(100, ecosystem);
+            sizeAfterFlush = Files.size(statisticsFile);
+        }
+
+        //then
+        assertEquals(0, sizeBeforeFlush, "Exports of three ecosystems do not flush before iteration 100");
+        assertTrue(sizeAfterFlush > 0, "Iteration 100 flushes the rows");
+    }
+}
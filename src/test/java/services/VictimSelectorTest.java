@@ -0,0 +1,86 @@
+package services;
+
+import static enums.AnimalType.HERBIVORE;
+import static enums.Biome.SAVANNA;
+import static enums.Habitat.LAND;
+import static enums.LivingType.ALONE;
+import static enums.LivingType.GROUP;
+import static org.junit.jupiter.api.Assertions.*;
+import models.Animal;
+import models.Herbivore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+class VictimSelectorTest {
+    private final Herbivore youngZebra = new Herbivore(Set.of(SAVANNA), 5, true, 50, 300, 10, LAND, HERBIVORE, "zebra", GROUP, true, 80, "herd");
+    private final Herbivore oldZebra = new Herbivore(Set.of(SAVANNA), 40, true, 50, 300, 10, LAND, HERBIVORE, "zebra", GROUP, true, 80, "herd");
+    private final Herbivore hare = new Herbivore(Set.of(SAVANNA), 5, true, 24, 5, 3, LAND, HERBIVORE, "hare", ALONE, false, 100, "loners");
+
+    @Test
+    void testPreyWeakness_whenPreyIsOldLightOrAlone_thenItIsWeaker() {
+        //given //when
+        double youngZebraWeakness = WeightedVictimSelector.preyWeakness(youngZebra);
+        double oldZebraWeakness = WeightedVictimSelector.preyWeakness(oldZebra);
+        double hareWeakness = WeightedVictimSelector.preyWeakness(hare);
+
+        //then
+        assertEquals(2 * youngZebraWeakness, oldZebraWeakness, 1e-9, "Old zebra is twice as weak");
+        assertTrue(hareWeakness > oldZebraWeakness, "Light lone hare is the weakest");
+    }
+
+    @Test
+    void testSelect_whenVictimsWeighted_thenChosenProportionallyToWeakness() {
+        //given
+        List<Animal> victims = List.of(youngZebra, oldZebra);
+        WeightedVictimSelector selector = new WeightedVictimSelector(victim -> victim == oldZebra ? 3 : 1);
+        selector.prepare(victims);
+
+        //when
+        int oldZebraSelections = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (selector.select() == 1) oldZebraSelections++;
+        }
+
+        //then
+        assertEquals(7_500, oldZebraSelections, 300, "Old zebra is chosen three times as often");
+    }
+
+    @Test
+    void testRemove_whenVictimsKilled_thenNeverChosenAgain() {
+        //given
+        WeightedVictimSelector selector = new WeightedVictimSelector();
+        selector.prepare(List.of(youngZebra, oldZebra, hare));
+
+        //when
+        selector.remove(2);
+        selector.remove(1);
+
+        //then
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, selector.select(), "Only the young zebra is left");
+        }
+        selector.remove(0);
+        assertEquals(-1, selector.select(), "No victim is left");
+    }
+
+    @Test
+    void testUniformSelect_whenVictimsKilled_thenOnlyRemainingChosen() {
+        //given
+        UniformVictimSelector selector = new UniformVictimSelector();
+        selector.prepare(List.of(youngZebra, oldZebra, hare));
+
+        //when
+        selector.remove(0);
+        selector.remove(0);
+        selector.remove(2);
+
+        //then
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1, selector.select(), "Only the old zebra is left");
+        }
+        selector.remove(1);
+        assertEquals(-1, selector.select(), "No victim is left");
+    }
+}